@@ -0,0 +1,204 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+
+
+/**
+ * Supplies the word lists that the benchmarks are run on: those in the word files at the root of
+ * the repository, and synthetic ones generated deterministically (so every run measures the same data).
+ 
+ * @author Kevin
+ */
+final class BenchmarkData 
+{
+    //The name of the system property denoting the directory containing the word files (the working directory by default)
+    static final String WORD_FILE_DIRECTORY_PROPERTY = "mdag.benchmark.dir";
+    
+    //The name of the word file containing the words in lexicographical order
+    static final String SORTED_WORD_FILE_NAME = "words.txt";
+    
+    //The name of the word file containing the words in random order
+    static final String UNSORTED_WORD_FILE_NAME = "words_unsorted.txt";
+    
+    //The name used in place of a word file name to denote the synthetic word list
+    static final String SYNTHETIC_WORD_LIST_NAME = "synthetic";
+    
+    //The number of words in the synthetic word list
+    private static final int SYNTHETIC_WORD_COUNT = 100000;
+    
+    //The char appended to the words in a list to create words which aren't in it (it follows all the chars used in the word lists)
+    private static final char MISS_CHAR = '{';
+    
+    
+    
+    private BenchmarkData(){}
+    
+    
+    
+    /**
+     * Retrieves a word list.
+     
+     * @param wordListName      a String of the name of a word file, or SYNTHETIC_WORD_LIST_NAME
+     * @return                  an ArrayList containing the words in the list, in the order they're listed 
+     *                          (synthetic words are in lexicographical order)
+     * @throws IOException      if the word file can't be read
+     */
+    static ArrayList<String> loadWords(String wordListName) throws IOException
+    {
+        if(SYNTHETIC_WORD_LIST_NAME.equals(wordListName))
+            return generateSyntheticWords(SYNTHETIC_WORD_COUNT, 0);
+        
+        File wordFile = new File(System.getProperty(WORD_FILE_DIRECTORY_PROPERTY, "."), wordListName);
+        ArrayList<String> wordArrayList = new ArrayList<String>(100000);
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(new FileInputStream(wordFile), Charset.forName("UTF-8")));
+        
+        try
+        {
+            String currentWord;
+            
+            while((currentWord = bufferedReader.readLine()) != null)
+                wordArrayList.add(currentWord);
+        }
+        finally
+        {
+            bufferedReader.close();
+        }
+        
+        return wordArrayList;
+    }
+    
+    
+    
+    /**
+     * Generates a list of distinct words whose lengths, prefixes and suffixes vary like those of natural language words: 
+     * each word is made of a prefix, stem and suffix taken from small randomly generated pools, followed by random chars.
+     
+     * @param wordCount     an int denoting the number of words to generate
+     * @param seed          a long used to seed the generator (the same seed always produces the same words)
+     * @return              an ArrayList containing {@code wordCount} distinct words in lexicographical order
+     */
+    static ArrayList<String> generateSyntheticWords(int wordCount, long seed)
+    {
+        Random random = new Random(seed);
+        String[] prefixArray = generateRandomStrings(random, 40, 0, 3);
+        String[] stemArray = generateRandomStrings(random, 2000, 2, 6);
+        String[] suffixArray = generateRandomStrings(random, 60, 0, 4);
+        
+        TreeSet<String> wordTreeSet = new TreeSet<String>();
+        StringBuilder wordBuilder = new StringBuilder();
+        
+        while(wordTreeSet.size() < wordCount)
+        {
+            wordBuilder.setLength(0);
+            wordBuilder.append(prefixArray[random.nextInt(prefixArray.length)]);
+            wordBuilder.append(stemArray[random.nextInt(stemArray.length)]);
+            wordBuilder.append(suffixArray[random.nextInt(suffixArray.length)]);
+            
+            for(int randomCharCount = random.nextInt(3); randomCharCount > 0; randomCharCount--)
+                wordBuilder.append((char)('a' + random.nextInt(26)));
+            
+            wordTreeSet.add(wordBuilder.toString());
+        }
+        
+        return new ArrayList<String>(wordTreeSet);
+    }
+    
+    
+    
+    /**
+     * Generates a number of random Strings of lowercase letters.
+     
+     * @param random            the Random used to generate the Strings
+     * @param count             an int denoting the number of Strings to generate
+     * @param minLength         an int denoting the minimum length of a String
+     * @param maxLength         an int denoting the maximum length of a String
+     * @return                  an array containing the generated Strings
+     */
+    private static String[] generateRandomStrings(Random random, int count, int minLength, int maxLength)
+    {
+        String[] strArray = new String[count];
+        char[] charArray = new char[maxLength];
+        
+        for(int i = 0; i < count; i++)
+        {
+            int length = minLength + random.nextInt(maxLength - minLength + 1);
+            
+            for(int j = 0; j < length; j++)
+                charArray[j] = (char)('a' + random.nextInt(26));
+            
+            strArray[i] = new String(charArray, 0, length);
+        }
+        
+        return strArray;
+    }
+    
+    
+    
+    /**
+     * Creates a list of words which aren't in a given list, but share all but their last char with words in it
+     * (so that lookups of them fail as late as possible).
+     
+     * @param wordList      a List of words
+     * @return              an ArrayList containing, for each word in {@code wordList}, the word followed by MISS_CHAR
+     */
+    static ArrayList<String> createMissWords(List<String> wordList)
+    {
+        ArrayList<String> missWordArrayList = new ArrayList<String>(wordList.size());
+        
+        for(String word : wordList)
+            missWordArrayList.add(word + MISS_CHAR);
+        
+        return missWordArrayList;
+    }
+    
+    
+    
+    /**
+     * Creates a copy of a list of words in random (but reproducible) order.
+     
+     * @param wordList      a List of words
+     * @param seed          a long used to seed the shuffle
+     * @return              an ArrayList containing the words in {@code wordList}, shuffled
+     */
+    static ArrayList<String> shuffle(List<String> wordList, long seed)
+    {
+        ArrayList<String> shuffledWordArrayList = new ArrayList<String>(wordList);
+        Collections.shuffle(shuffledWordArrayList, new Random(seed));
+        
+        return shuffledWordArrayList;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import com.BoxOfC.MDAG.MDAG;
+import com.BoxOfC.MDAGTest.ReferenceMDAG;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+
+/**
+ * Measures the time taken to create a MDAG (from sorted and unsorted word lists) and to simplify it,
+ * along with the time taken to create the reference MDAG and the java.util sets containing the same words.
+ 
+ * @author Kevin
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss16m", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ConstructionBenchmark 
+{
+    @Param({BenchmarkData.SORTED_WORD_FILE_NAME, BenchmarkData.UNSORTED_WORD_FILE_NAME, BenchmarkData.SYNTHETIC_WORD_LIST_NAME})
+    public String wordListName;
+    
+    private ArrayList<String> wordArrayList;
+    
+    private ArrayList<String> sortedWordArrayList;
+    
+    //The (unsimplified) MDAG that simplifyMDAG simplifies a copy of
+    private MDAG mdag;
+    
+    
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        wordArrayList = BenchmarkData.loadWords(wordListName);
+        sortedWordArrayList = new ArrayList<String>(new TreeSet<String>(wordArrayList));
+        mdag = new MDAG(wordArrayList);
+    }
+    
+    
+    
+    @Benchmark
+    public MDAG createMDAG()
+    {
+        return new MDAG(wordArrayList);
+    }
+    
+    
+    
+    @Benchmark
+    public MDAG createMDAGInParallel()
+    {
+        return new MDAG(wordArrayList, ForkJoinPool.commonPool());
+    }
+    
+    
+    
+    /**
+     * Creates and simplifies a MDAG. The time taken by simplification alone is the difference between
+     * this and {@link #createMDAG()} (simplification can't be undone, so each invocation needs a new MDAG).
+     */
+    @Benchmark
+    public MDAG createAndSimplifyMDAG()
+    {
+        MDAG createdMDAG = new MDAG(wordArrayList);
+        createdMDAG.simplify();
+        
+        return createdMDAG;
+    }
+    
+    
+    
+    /**
+     * Takes a snapshot of a MDAG, which unlike {@link MDAG#simplify()} leaves it unchanged. Each snapshot after the 
+     * first reuses the layout of the one before it, so this measures the cost of a snapshot of an unchanged MDAG.
+     */
+    @Benchmark
+    public MDAG snapshotMDAG()
+    {
+        return mdag.snapshot();
+    }
+    
+    
+    
+    /**
+     * Creates the reference MDAG, which (like the algorithm it implements) requires sorted input.
+     */
+    @Benchmark
+    public ReferenceMDAG createReferenceMDAG()
+    {
+        return new ReferenceMDAG(sortedWordArrayList);
+    }
+    
+    
+    
+    @Benchmark
+    public TreeSet<String> createTreeSet()
+    {
+        return new TreeSet<String>(wordArrayList);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> createHashSet()
+    {
+        return new HashSet<String>(wordArrayList);
+    }
+}
@@ -0,0 +1,219 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import com.BoxOfC.MDAG.MDAG;
+import com.BoxOfC.MDAGTest.ReferenceMDAG;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+
+/**
+ * Measures the time taken by each of the MDAG's enumeration queries (all Strings, and those with a given prefix, 
+ * substring or suffix) on both the mutable and simplified forms of the MDAG, with and without suffix and substring indexes.
+ * The reference MDAG and a TreeSet (scanned where it has no better means of answering the query) are measured as baselines.
+ 
+ * @author Kevin
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss16m", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class EnumerationBenchmark 
+{
+    //Denotes whether the queries of MDAG are carried out on a simplified MDAG
+    @Param({"false", "true"})
+    public boolean isSimplified;
+    
+    //Denotes whether MDAG has suffix and substring indexes
+    @Param({"false", "true"})
+    public boolean isIndexed;
+    
+    @Param({"con"})
+    public String prefixStr;
+    
+    @Param({"ment"})
+    public String substringStr;
+    
+    @Param({"ing"})
+    public String suffixStr;
+    
+    private MDAG mdag;
+    
+    private ReferenceMDAG referenceMDAG;
+    
+    private TreeSet<String> treeSet;
+    
+    
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(new TreeSet<String>(BenchmarkData.loadWords(BenchmarkData.SORTED_WORD_FILE_NAME)));
+        
+        mdag = new MDAG(sortedWordArrayList);
+        
+        if(isIndexed)
+        {
+            mdag.createSuffixIndex();
+            mdag.createSubstringIndex();
+        }
+        
+        if(isSimplified)
+            mdag.simplify();
+        
+        referenceMDAG = new ReferenceMDAG(sortedWordArrayList);
+        treeSet = new TreeSet<String>(sortedWordArrayList);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> getAllStrings()
+    {
+        return mdag.getAllStrings();
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> getStringsStartingWith()
+    {
+        return mdag.getStringsStartingWith(prefixStr);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> getStringsWithSubstring()
+    {
+        return mdag.getStringsWithSubstring(substringStr);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> getStringsEndingWith()
+    {
+        return mdag.getStringsEndingWith(suffixStr);
+    }
+    
+    
+    
+    @Benchmark
+    public ArrayList<String> referenceMDAGGetAllWords()
+    {
+        return referenceMDAG.getAllWords();
+    }
+    
+    
+    
+    @Benchmark
+    public ArrayList<String> referenceMDAGGetWordsStartingWith()
+    {
+        return referenceMDAG.getWordsStartingWith(prefixStr);
+    }
+    
+    
+    
+    @Benchmark
+    public ArrayList<String> referenceMDAGGetWordsWithSubstring()
+    {
+        return referenceMDAG.getWordsWithSubstring(substringStr);
+    }
+    
+    
+    
+    @Benchmark
+    public ArrayList<String> referenceMDAGGetWordsEndingWith()
+    {
+        return referenceMDAG.getWordsEndingWith(suffixStr);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> treeSetGetAllStrings()
+    {
+        return new HashSet<String>(treeSet);
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> treeSetGetStringsStartingWith()
+    {
+        return new HashSet<String>(treeSet.subSet(prefixStr, prefixStr + Character.MAX_VALUE));
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> treeSetGetStringsWithSubstring()
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        
+        for(String str : treeSet)
+        {
+            if(str.contains(substringStr))
+                strHashSet.add(str);
+        }
+        
+        return strHashSet;
+    }
+    
+    
+    
+    @Benchmark
+    public HashSet<String> treeSetGetStringsEndingWith()
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        
+        for(String str : treeSet)
+        {
+            if(str.endsWith(suffixStr))
+                strHashSet.add(str);
+        }
+        
+        return strHashSet;
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import com.BoxOfC.MDAG.MDAG;
+import com.BoxOfC.MDAGTest.ReferenceMDAG;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+
+/**
+ * Measures the latency of determining whether a MDAG contains a String, for Strings it contains (hits) and Strings that share
+ * all but their last char with ones it contains (misses), on both the mutable and simplified forms of the MDAG. The reference MDAG, 
+ * TreeSet and HashSet are measured as baselines. Each invocation looks up the next word of a shuffled list, so the
+ * lookups aren't predictable by the branch predictor or answered from the same cache lines each time.
+ 
+ * @author Kevin
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xss16m", "-Xmx4g"})
+@State(Scope.Thread)
+public class LookupBenchmark 
+{
+    @Param({BenchmarkData.SORTED_WORD_FILE_NAME, BenchmarkData.SYNTHETIC_WORD_LIST_NAME})
+    public String wordListName;
+    
+    //Denotes whether the lookups of MDAG are carried out on a simplified MDAG
+    @Param({"false", "true"})
+    public boolean isSimplified;
+    
+    private String[] hitWordArray;
+    
+    private String[] missWordArray;
+    
+    //The index in hitWordArray and missWordArray of the word to be looked up next
+    private int nextWordIndex;
+    
+    private MDAG mdag;
+    
+    private ReferenceMDAG referenceMDAG;
+    
+    private TreeSet<String> treeSet;
+    
+    private HashSet<String> hashSet;
+    
+    
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException
+    {
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(new TreeSet<String>(BenchmarkData.loadWords(wordListName)));
+        ArrayList<String> shuffledWordArrayList = BenchmarkData.shuffle(sortedWordArrayList, 0);
+        
+        hitWordArray = shuffledWordArrayList.toArray(new String[shuffledWordArrayList.size()]);
+        missWordArray = BenchmarkData.createMissWords(shuffledWordArrayList).toArray(new String[shuffledWordArrayList.size()]);
+        
+        mdag = new MDAG(sortedWordArrayList);
+        
+        if(isSimplified)
+            mdag.simplify();
+        
+        referenceMDAG = new ReferenceMDAG(sortedWordArrayList);
+        treeSet = new TreeSet<String>(sortedWordArrayList);
+        hashSet = new HashSet<String>(sortedWordArrayList);
+    }
+    
+    
+    
+    /**
+     * Retrieves the index of the word to be looked up, advancing to the next one.
+     
+     * @return      an int of the index in hitWordArray and missWordArray of the word to be looked up
+     */
+    private int nextWordIndex()
+    {
+        int wordIndex = nextWordIndex;
+        nextWordIndex = (wordIndex + 1 == hitWordArray.length ? 0 : wordIndex + 1);
+        
+        return wordIndex;
+    }
+    
+    
+    
+    @Benchmark
+    public boolean containsHit()
+    {
+        return mdag.contains(hitWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean containsMiss()
+    {
+        return mdag.contains(missWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean referenceMDAGContainsHit()
+    {
+        return referenceMDAG.contains(hitWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean referenceMDAGContainsMiss()
+    {
+        return referenceMDAG.contains(missWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean treeSetContainsHit()
+    {
+        return treeSet.contains(hitWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean treeSetContainsMiss()
+    {
+        return treeSet.contains(missWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean hashSetContainsHit()
+    {
+        return hashSet.contains(hitWordArray[nextWordIndex()]);
+    }
+    
+    
+    
+    @Benchmark
+    public boolean hashSetContainsMiss()
+    {
+        return hashSet.contains(missWordArray[nextWordIndex()]);
+    }
+}
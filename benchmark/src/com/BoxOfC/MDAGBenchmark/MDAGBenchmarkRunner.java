@@ -0,0 +1,70 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import java.io.IOException;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+
+/**
+ * Runs the benchmarks with allocation profiling enabled, so that the bytes allocated per operation
+ * (gc.alloc.rate.norm) are reported alongside the time taken. Any of the standard JMH command line
+ * options may be given (e.g. a regular expression selecting the benchmarks to run).
+ 
+ * @author Kevin
+ */
+public class MDAGBenchmarkRunner 
+{
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException
+    {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        
+        //Carry out the requests for information (rather than a run) that JMH's own launcher supports
+        if(commandLineOptions.shouldHelp())
+        {
+            commandLineOptions.showHelp();
+            return;
+        }
+        else if(commandLineOptions.shouldList())
+        {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+        
+        ChainedOptionsBuilder optionsBuilder = new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class);
+        
+        //Run all the benchmarks in this package if none have been selected
+        if(commandLineOptions.getIncludes().isEmpty())
+            optionsBuilder.include(MDAGBenchmarkRunner.class.getPackage().getName() + ".*");
+        
+        new Runner(optionsBuilder.build()).run();
+    }
+}
@@ -0,0 +1,198 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAGBenchmark;
+
+import com.BoxOfC.MDAG.MDAG;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+
+/**
+ * Measures the throughput of adding Strings to and removing Strings from a MDAG, one at a time and in batches,
+ * along with that of a TreeSet. Each invocation modifies a fresh copy of the data (created outside of the measurement) 
+ * with the same MODIFIED_WORD_COUNT randomly chosen words, and results are reported per word.
+ 
+ * @author Kevin
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss16m", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ModificationBenchmark 
+{
+    //The number of words added or removed by each invocation
+    private static final int MODIFIED_WORD_COUNT = 10000;
+    
+    @Param({BenchmarkData.SORTED_WORD_FILE_NAME, BenchmarkData.SYNTHETIC_WORD_LIST_NAME})
+    public String wordListName;
+    
+    //The words that the data structures contain before each invocation of a benchmark that adds words
+    private ArrayList<String> baseWordArrayList;
+    
+    //The words that are added (or removed), in random order
+    private List<String> modifiedWordList;
+    
+    //The words of wordListName in lexicographical order
+    private ArrayList<String> allWordArrayList;
+    
+    
+    
+    @Setup(Level.Trial)
+    public void setUpTrial() throws IOException
+    {
+        allWordArrayList = new ArrayList<String>(new TreeSet<String>(BenchmarkData.loadWords(wordListName)));
+        modifiedWordList = BenchmarkData.shuffle(allWordArrayList, 0).subList(0, MODIFIED_WORD_COUNT);
+        
+        TreeSet<String> baseWordTreeSet = new TreeSet<String>(allWordArrayList);
+        baseWordTreeSet.removeAll(modifiedWordList);
+        baseWordArrayList = new ArrayList<String>(baseWordTreeSet);
+    }
+    
+    
+    
+    /**
+     * A State containing the data structures that the words are added to, recreated before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class AdditionState
+    {
+        MDAG mdag;
+        TreeSet<String> treeSet;
+        
+        @Setup(Level.Invocation)
+        public void setUp(ModificationBenchmark benchmark)
+        {
+            mdag = new MDAG(benchmark.baseWordArrayList);
+            treeSet = new TreeSet<String>(benchmark.baseWordArrayList);
+        }
+    }
+    
+    
+    
+    /**
+     * A State containing the data structures that the words are removed from, recreated before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class RemovalState
+    {
+        MDAG mdag;
+        TreeSet<String> treeSet;
+        
+        @Setup(Level.Invocation)
+        public void setUp(ModificationBenchmark benchmark)
+        {
+            mdag = new MDAG(benchmark.allWordArrayList);
+            treeSet = new TreeSet<String>(benchmark.allWordArrayList);
+        }
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public MDAG addString(AdditionState state)
+    {
+        for(String word : modifiedWordList)
+            state.mdag.addString(word);
+        
+        return state.mdag;
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public MDAG applyBatchAddition(AdditionState state)
+    {
+        state.mdag.applyBatch(modifiedWordList, new ArrayList<String>());
+        
+        return state.mdag;
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public TreeSet<String> addStringToTreeSet(AdditionState state)
+    {
+        for(String word : modifiedWordList)
+            state.treeSet.add(word);
+        
+        return state.treeSet;
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public MDAG removeString(RemovalState state)
+    {
+        for(String word : modifiedWordList)
+            state.mdag.removeString(word);
+        
+        return state.mdag;
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public MDAG removeStrings(RemovalState state)
+    {
+        state.mdag.removeStrings(modifiedWordList);
+        
+        return state.mdag;
+    }
+    
+    
+    
+    @Benchmark
+    @OperationsPerInvocation(MODIFIED_WORD_COUNT)
+    public TreeSet<String> removeStringFromTreeSet(RemovalState state)
+    {
+        for(String word : modifiedWordList)
+            state.treeSet.remove(word);
+        
+        return state.treeSet;
+    }
+}
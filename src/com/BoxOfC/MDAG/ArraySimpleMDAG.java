@@ -0,0 +1,282 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+
+
+/**
+ * The class capable of representing a simplified MDAG using a set of parallel primitive arrays on the heap;
+ * objects of this class are created when a MDAG is simplified.
+
+ * @author Kevin
+ */
+class ArraySimpleMDAG extends SimpleMDAG
+{
+    //The int denoting the smallest transition set size for which a node (other than the source node) will be given a dense transition table
+    private static final int MIN_DENSE_TRANSITION_TABLE_TRANSITION_SET_SIZE = 32;
+
+    //The int denoting the largest ratio of label range span to transition set size that a dense transition table will be created for
+    private static final int MAX_DENSE_TRANSITION_TABLE_SPAN_RATIO = 4;
+
+    //The array containing the char labeling each transition (null if the letters are stored in byteLetterArray)
+    private final char[] letterArray;
+
+    //The array containing the (unsigned) rank in the MDAG's alphabet of the char labeling each transition, used in 
+    //place of letterArray when the alphabet is small enough for its ranks to fit in bytes (null if it isn't)
+    private final byte[] byteLetterArray;
+
+    //The array containing the index at which the transition set of each transition's target node begins
+    private final int[] transitionSetBeginIndexArray;
+
+    //The array containing the accept state status (highest bit) and outgoing transition
+    //set size or dense transition table index (remaining bits) of each transition's target node
+    private final int[] nodeDataArray;
+
+    //The array containing the dense transition tables of the MDAG's widest nodes, each of which consists of a header followed
+    //by the index of the transition labeled by each char in the table's label range (or -1 if there is no such transition),
+    //or if the letters are stored in byteLetterArray, the bitmap tables of the ranks labeling the transitions of its wide nodes
+    private int[] denseTransitionTableArray = new int[0];
+
+
+
+    /**
+     * Constructs an ArraySimpleMDAG capable of holding a given number of transitions.
+
+     * @param transitionCount           an int denoting the number of transitions in the MDAG to be represented
+     * @param sortedAlphabetArray       a char array containing the chars labeling the MDAG's transitions in ascending order,
+     *                                  whose ranks are to be stored in place of its letters (with bitmap tables), or null
+     *                                  if the letters are to be stored as chars (the alphabet is too large for byte ranks)
+     */
+    ArraySimpleMDAG(int transitionCount, char[] sortedAlphabetArray)
+    {
+        if(sortedAlphabetArray != null)
+            setAlphabet(sortedAlphabetArray);
+
+        letterArray = (sortedAlphabetArray == null ? new char[transitionCount + 1] : null);
+        byteLetterArray = (sortedAlphabetArray != null ? new byte[transitionCount + 1] : null);
+        transitionSetBeginIndexArray = new int[transitionCount + 1];
+        nodeDataArray = new int[transitionCount + 1];
+    }
+
+
+
+    /**
+     * Records the data of a transition and its target node.
+
+     * @param index                 an int denoting the index of the transition of interest
+     * @param letter                the char labeling the transition (which must be in the MDAG's alphabet if ranks are stored, 
+     *                              unless it is the dummy transition to the source node)
+     * @param isAcceptNode          a boolean representing the accept state status of the transition's target node
+     * @param transitionSetSize     an int denoting the size of the transition target node's outgoing transition set
+     */
+    void setNode(int index, char letter, boolean isAcceptNode, int transitionSetSize)
+    {
+        if(byteLetterArray != null)
+            byteLetterArray[index] = (byte)encodeLetter(letter);
+        else
+            letterArray[index] = letter;
+
+        nodeDataArray[index] = (isAcceptNode ? ACCEPT_STATE_FLAG : 0) | transitionSetSize;
+    }
+
+
+
+    /**
+     * Records the index at which the outgoing transition set of a transition's target node begins.
+
+     * @param index                         an int denoting the index of the transition of interest
+     * @param transitionSetBeginIndex       an int denoting the index at which the transition
+     *                                      target node's outgoing transition set begins
+     */
+    void setTransitionSetBeginIndex(int index, int transitionSetBeginIndex)
+    {
+        transitionSetBeginIndexArray[index] = transitionSetBeginIndex;
+    }
+
+
+
+    /**
+     * Records the data of the transitions (and their target nodes) at the beginning of another ArraySimpleMDAG.
+     * The data is recorded without dense transition tables, so {@link #createDenseTransitionTables()} 
+     * should be called once all the other transitions have been recorded.
+
+     * @param arraySimpleMDAG       the ArraySimpleMDAG containing the transitions to be recorded 
+     *                              (whose letters must be stored in the same fashion, and with the same alphabet, as those of this one)
+     * @param length                an int denoting the number of transitions (from index 0) to be recorded
+     */
+    void copyTransitions(ArraySimpleMDAG arraySimpleMDAG, int length)
+    {
+        if(byteLetterArray != null)
+            System.arraycopy(arraySimpleMDAG.byteLetterArray, 0, byteLetterArray, 0, length);
+        else
+            System.arraycopy(arraySimpleMDAG.letterArray, 0, letterArray, 0, length);
+
+        System.arraycopy(arraySimpleMDAG.transitionSetBeginIndexArray, 0, transitionSetBeginIndexArray, 0, length);
+
+        for(int i = 0; i < length; i++)
+            nodeDataArray[i] = (arraySimpleMDAG.nodeDataArray[i] & ACCEPT_STATE_FLAG) | arraySimpleMDAG.getOutgoingTransitionSetSize(i);
+    }
+
+
+
+    /**
+     * Creates dense transition tables for the source node and the other nodes with very wide transition sets
+     * (or if ranks are stored in place of the letters, bitmap tables for every node too wide to be searched linearly),
+     * flagging the data of every transition leading to such a node so that it is used during transitioning.
+     * This should be called once all the transitions have been recorded.
+     */
+    void createDenseTransitionTables()
+    {
+        HashMap<Integer, Integer> transitionSetBeginIndexTableIndexHashMap = new HashMap<Integer, Integer>();
+        int[] tableArray = new int[0];
+        int onePastLastTableIndex = 0;
+
+        //Loop through all of the transitions, creating a dense transition table for each distinct wide node they lead to (if
+        //its labels aren't too sparsely distributed) and pointing the data of the transition to the table of its target node
+        for(int i = 0; i < nodeDataArray.length; i++)
+        {
+            int transitionSetSize = nodeDataArray[i] & NODE_DATA_VALUE_MASK;
+            int minTableTransitionSetSize = (i == SOURCE_NODE_INDEX || hasBitmapTables() ? MAX_LINEAR_SEARCH_TRANSITION_SET_SIZE + 1 : MIN_DENSE_TRANSITION_TABLE_TRANSITION_SET_SIZE);
+
+            if(transitionSetSize >= minTableTransitionSetSize)
+            {
+                int transitionSetBeginIndex = transitionSetBeginIndexArray[i];
+                Integer tableIndex = transitionSetBeginIndexTableIndexHashMap.get(transitionSetBeginIndex);
+
+                if(tableIndex == null)
+                {
+                    int lowestLetterCode = getLetterCode(transitionSetBeginIndex);
+                    int span = getLetterCode(transitionSetBeginIndex + transitionSetSize - 1) - lowestLetterCode + 1;
+
+                    if(!hasBitmapTables() && span > transitionSetSize * MAX_DENSE_TRANSITION_TABLE_SPAN_RATIO)
+                        continue;
+
+                    tableIndex = onePastLastTableIndex;
+                    onePastLastTableIndex += (hasBitmapTables() ? getBitmapTableSize() : TABLE_HEADER_SIZE + span);
+
+                    if(onePastLastTableIndex > tableArray.length)
+                        tableArray = Arrays.copyOf(tableArray, Math.max(onePastLastTableIndex, tableArray.length * 2));
+
+                    tableArray[tableIndex + TABLE_TRANSITION_SET_SIZE_OFFSET] = transitionSetSize;
+
+                    if(hasBitmapTables())
+                    {
+                        //Set the bit of each rank labeling a transition in the set, then record
+                        //the number of bits set in the words preceding each bitmap word
+                        for(int j = transitionSetBeginIndex; j < transitionSetBeginIndex + transitionSetSize; j++)
+                            tableArray[tableIndex + BITMAP_TABLE_HEADER_SIZE + ((getLetterCode(j) >>> 5) << 1) + 1] |= 1 << getLetterCode(j);
+
+                        for(int k = tableIndex + BITMAP_TABLE_HEADER_SIZE, precedingBitCount = 0; k < onePastLastTableIndex; k += 2)
+                        {
+                            tableArray[k] = precedingBitCount;
+                            precedingBitCount += Integer.bitCount(tableArray[k + 1]);
+                        }
+                        /////
+                    }
+                    else
+                    {
+                        tableArray[tableIndex + TABLE_LOWEST_LETTER_OFFSET] = lowestLetterCode;
+                        tableArray[tableIndex + TABLE_SPAN_OFFSET] = span;
+                        Arrays.fill(tableArray, tableIndex + TABLE_HEADER_SIZE, onePastLastTableIndex, -1);
+
+                        for(int j = transitionSetBeginIndex; j < transitionSetBeginIndex + transitionSetSize; j++)
+                            tableArray[tableIndex + TABLE_HEADER_SIZE + (getLetterCode(j) - lowestLetterCode)] = j;
+                    }
+
+                    transitionSetBeginIndexTableIndexHashMap.put(transitionSetBeginIndex, tableIndex);
+                }
+
+                nodeDataArray[i] = (nodeDataArray[i] & ACCEPT_STATE_FLAG) | DENSE_TRANSITION_TABLE_FLAG | tableIndex;
+            }
+        }
+        /////
+
+        denseTransitionTableArray = Arrays.copyOf(tableArray, onePastLastTableIndex);
+    }
+
+
+
+    @Override
+    int getTransitionCount()
+    {
+        return nodeDataArray.length - 1;
+    }
+
+
+
+    @Override
+    int getLetterCode(int index)
+    {
+        return (byteLetterArray != null ? byteLetterArray[index] & 0xFF : letterArray[index]);
+    }
+
+
+
+    @Override
+    int getTransitionSetBeginIndex(int index)
+    {
+        return transitionSetBeginIndexArray[index];
+    }
+
+
+
+    @Override
+    int getNodeData(int index)
+    {
+        return nodeDataArray[index];
+    }
+
+
+
+    @Override
+    int getDenseTransitionTableArrayLength()
+    {
+        return denseTransitionTableArray.length;
+    }
+
+
+
+    @Override
+    int getDenseTransitionTableValue(int tableArrayIndex)
+    {
+        return denseTransitionTableArray[tableArrayIndex];
+    }
+
+
+
+    @Override
+    long estimateHeapBytes()
+    {
+        return MDAGMemoryReport.estimateInstanceBytes(ArraySimpleMDAG.class)
+                + (byteLetterArray != null ? MDAGMemoryReport.estimateArrayBytes(byte.class, byteLetterArray.length) 
+                                           : MDAGMemoryReport.estimateArrayBytes(char.class, letterArray.length))
+                + MDAGMemoryReport.estimateArrayBytes(int.class, transitionSetBeginIndexArray.length)
+                + MDAGMemoryReport.estimateArrayBytes(int.class, nodeDataArray.length)
+                + MDAGMemoryReport.estimateArrayBytes(int.class, denseTransitionTableArray.length)
+                + estimateAlphabetHeapBytes()
+                + estimateCacheHeapBytes();
+    }
+}
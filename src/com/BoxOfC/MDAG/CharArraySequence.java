@@ -0,0 +1,102 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.util.Arrays;
+
+
+
+/**
+ * The class whose objects are reusable, growable char sequences backed by a char array.
+ * These are used in place of Strings where a char sequence is repeatedly rebuilt (e.g while reading lines).
+
+ * @author Kevin
+ */
+class CharArraySequence implements CharSequence
+{
+    //The array containing the chars of the sequence (from index 0)
+    private char[] charArray = new char[64];
+    
+    //The int denoting the number of chars in the sequence
+    private int length = 0;
+    
+    
+    
+    /**
+     * Appends a char to the end of the sequence.
+     
+     * @param letter        the char to be appended
+     */
+    void append(char letter)
+    {
+        if(length == charArray.length)
+            charArray = Arrays.copyOf(charArray, charArray.length * 2);
+        
+        charArray[length++] = letter;
+    }
+    
+    
+    
+    /**
+     * Removes all the chars in the sequence.
+     */
+    void clear()
+    {
+        length = 0;
+    }
+    
+    
+    
+    @Override
+    public int length()
+    {
+        return length;
+    }
+    
+    
+    
+    @Override
+    public char charAt(int index)
+    {
+        if(index >= length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        
+        return charArray[index];
+    }
+    
+    
+    
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        return toString().substring(start, end);
+    }
+    
+    
+    
+    @Override
+    public String toString()
+    {
+        return new String(charArray, 0, length);
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+
+
+/**
+ * A MDAG which can be read by any number of threads without locking while it is modified.
+ * Modifications are made (one thread at a time) to a mutable master MDAG, and become visible
+ * to readers once they are published: publishing atomically replaces the simplified snapshot
+ * of the master that reads are carried out on. Each snapshot is immutable, so readers never
+ * wait on the writer, and a reader holding a snapshot sees a consistent set of Strings for as
+ * long as it holds it (replaced snapshots are reclaimed once no reader refers to them).
+
+ * @author Kevin
+ */
+public class ConcurrentMDAG
+{
+    //The mutable MDAG to which all modifications are made
+    private final MDAG masterMDAG;
+
+    //The simplified snapshot of masterMDAG that all reads are carried out on
+    private volatile MDAG publishedMDAG;
+
+    //The boolean denoting whether masterMDAG has been modified since publishedMDAG was created from it
+    private boolean hasUnpublishedModifications = false;
+
+
+
+    /**
+     * Creates a ConcurrentMDAG containing a Collection of Strings, all of which are published.
+
+     * @param strCollection     a {@link java.util.Collection} containing Strings that the ConcurrentMDAG will contain
+     */
+    public ConcurrentMDAG(Collection<String> strCollection)
+    {
+        masterMDAG = new MDAG(strCollection);
+        publishedMDAG = masterMDAG.snapshot();
+    }
+
+
+
+    /**
+     * Adds a String to the ConcurrentMDAG. The addition isn't visible to readers until {@link #publish()} is called.
+
+     * @param str       the String to be added
+     */
+    public synchronized void addString(String str)
+    {
+        masterMDAG.addString(str);
+        hasUnpublishedModifications = true;
+    }
+
+
+
+    /**
+     * Adds a Collection of Strings to the ConcurrentMDAG. The additions aren't visible to readers until {@link #publish()} is called.
+
+     * @param strCollection     a {@link java.util.Collection} containing the Strings to be added
+     */
+    public synchronized void addStrings(Collection<String> strCollection)
+    {
+        masterMDAG.addStrings(strCollection);
+        hasUnpublishedModifications = true;
+    }
+
+
+
+    /**
+     * Removes a String from the ConcurrentMDAG. The removal isn't visible to readers until {@link #publish()} is called.
+
+     * @param str       the String to be removed
+     */
+    public synchronized void removeString(String str)
+    {
+        masterMDAG.removeString(str);
+        hasUnpublishedModifications = true;
+    }
+
+
+
+    /**
+     * Creates a suffix index (see {@link MDAG#createSuffixIndex()}), which is included in every snapshot published from here on.
+     */
+    public synchronized void createSuffixIndex()
+    {
+        masterMDAG.createSuffixIndex();
+        hasUnpublishedModifications = true;
+    }
+
+
+
+    /**
+     * Creates a substring index (see {@link MDAG#createSubstringIndex()}), which is included in every snapshot published from here on.
+     */
+    public synchronized void createSubstringIndex()
+    {
+        masterMDAG.createSubstringIndex();
+        hasUnpublishedModifications = true;
+    }
+
+
+
+    /**
+     * Makes all the modifications made since the last publication visible to readers, by atomically replacing the
+     * snapshot that reads are carried out on with a new one. Reads that are in progress finish on the snapshot they began on.
+
+     * @return      the published snapshot, a simplified MDAG
+     */
+    public synchronized MDAG publish()
+    {
+        if(hasUnpublishedModifications)
+        {
+            publishedMDAG = masterMDAG.snapshot();
+            hasUnpublishedModifications = false;
+        }
+
+        return publishedMDAG;
+    }
+
+
+
+    /**
+     * Retrieves the most recently published snapshot. All of the MDAG's query methods can be called on it from any thread;
+     * callers that carry out several queries which must agree with each other should do so on the same snapshot.
+
+     * @return      the most recently published snapshot, a simplified MDAG
+     */
+    public MDAG getPublishedMDAG()
+    {
+        return publishedMDAG;
+    }
+
+
+
+    /**
+     * Determines whether a String is in the most recently published snapshot.
+
+     * @param str       the String to be searched for
+     * @return          true if {@code str} has been published, and false otherwise
+     */
+    public boolean contains(String str)
+    {
+        return publishedMDAG.contains(str);
+    }
+
+
+
+    /**
+     * Retrieves the number of Strings in the most recently published snapshot.
+
+     * @return      an int denoting the number of published Strings
+     */
+    public int size()
+    {
+        return publishedMDAG.size();
+    }
+
+
+
+    /**
+     * Counts the Strings in the most recently published snapshot that begin with a given String.
+
+     * @param prefixStr     a String that is the prefix for all the Strings to be counted
+     * @return              an int denoting the number of published Strings that begin with {@code prefixStr}
+     */
+    public int countStringsStartingWith(String prefixStr)
+    {
+        return publishedMDAG.countStringsStartingWith(prefixStr);
+    }
+
+
+
+    /**
+     * Hands all the Strings in the most recently published snapshot that begin with a given String to a visitor,
+     * in lexicographical order, as they are found.
+
+     * @param prefixStr     a String that is the prefix for all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     */
+    public boolean visitStringsStartingWith(String prefixStr, MDAGVisitor visitor)
+    {
+        return publishedMDAG.visitStringsStartingWith(prefixStr, visitor);
+    }
+
+
+
+    /**
+     * Retrieves all the Strings in the most recently published snapshot that begin with a given String.
+
+     * @param prefixStr     a String that is the prefix for all the desired Strings
+     * @return              a HashSet containing all the published Strings that begin with {@code prefixStr}
+     */
+    public HashSet<String> getStringsStartingWith(String prefixStr)
+    {
+        return publishedMDAG.getStringsStartingWith(prefixStr);
+    }
+}
@@ -0,0 +1,525 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+
+
+/**
+ * A MDAG which combines the memory usage and lookup speed of a simplified MDAG with support for modification.
+ * The Strings are stored in a simplified base MDAG along with a small mutable delta consisting of a MDAG of the Strings
+ * added since the base was created, and a MDAG of the Strings in the base that have since been removed (tombstones).
+ * Queries merge the base and delta, and once the delta grows past a threshold it is compacted: a new base containing
+ * the merged Strings is created (in the background if an Executor is supplied), and the delta is emptied.
+
+ * All methods are synchronized; a compaction in the background only holds the lock while it captures the
+ * Strings to be merged and while it installs the new base, so modifications and queries continue during it.
+
+ * @author Kevin
+ */
+public class DeltaMDAG
+{
+    /**
+     * The class whose objects hand the Strings they are handed, other than those in a tombstone MDAG, to another MDAGVisitor.
+     */
+    private static final class TombstoneFilteringVisitor implements MDAGVisitor
+    {
+        //The MDAG containing the Strings which aren't to be handed to visitor
+        private final MDAG tombstoneMDAG;
+
+        //The MDAGVisitor that the Strings not in tombstoneMDAG are to be handed to
+        private final MDAGVisitor visitor;
+
+
+
+        /**
+         * Constructs a TombstoneFilteringVisitor.
+
+         * @param tombstoneMDAG     the MDAG containing the Strings which aren't to be handed to {@code visitor}
+         * @param visitor           the MDAGVisitor that the Strings not in {@code tombstoneMDAG} are to be handed to
+         */
+        TombstoneFilteringVisitor(MDAG tombstoneMDAG, MDAGVisitor visitor)
+        {
+            this.tombstoneMDAG = tombstoneMDAG;
+            this.visitor = visitor;
+        }
+
+
+
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            return (tombstoneMDAG.contains(charArray, length) || visitor.visit(charArray, length));
+        }
+    }
+    /////
+
+
+
+    /**
+     * The class whose objects record a modification made to a DeltaMDAG during a compaction,
+     * so that it can be made again to the delta of the new base.
+     */
+    private static final class Modification
+    {
+        //The String that was added or removed
+        final String str;
+
+        //The boolean denoting whether str was added (or removed)
+        final boolean isAddition;
+
+
+
+        /**
+         * Constructs a Modification.
+
+         * @param str           the String that was added or removed
+         * @param isAddition    true if {@code str} was added, false if it was removed
+         */
+        Modification(String str, boolean isAddition)
+        {
+            this.str = str;
+            this.isAddition = isAddition;
+        }
+    }
+    /////
+
+
+
+    //The simplified MDAG containing the Strings present when the last compaction began (or the DeltaMDAG was created)
+    private MDAG baseMDAG;
+
+    //The MDAG containing the Strings added since baseMDAG was created which aren't in it
+    private MDAG addedMDAG = new MDAG(new ArrayList<String>());
+
+    //The MDAG containing the Strings in baseMDAG which have been removed since it was created
+    private MDAG removedMDAG = new MDAG(new ArrayList<String>());
+
+    //The int denoting the number of Strings in addedMDAG and removedMDAG at which a compaction is carried out
+    private final int compactionThreshold;
+
+    //The Executor that compactions are carried out on (compactions are carried out by the modifying thread if this is null)
+    private final Executor compactionExecutor;
+
+    //The ArrayList containing the modifications made since the ongoing compaction captured the delta (null if there is no ongoing compaction)
+    private ArrayList<Modification> compactionModificationList;
+
+
+
+    /**
+     * Creates a DeltaMDAG, compacting its delta on the modifying thread.
+
+     * @param baseMDAG                  a MDAG containing the initial Strings (a snapshot is taken if it isn't simplified)
+     * @param compactionThreshold       an int denoting the number of Strings in the delta at which it is compacted
+     */
+    public DeltaMDAG(MDAG baseMDAG, int compactionThreshold)
+    {
+        this(baseMDAG, compactionThreshold, null);
+    }
+
+
+
+    /**
+     * Creates a DeltaMDAG, compacting its delta in the background.
+
+     * @param baseMDAG                  a MDAG containing the initial Strings (a snapshot is taken if it isn't simplified)
+     * @param compactionThreshold       an int denoting the number of Strings in the delta at which it is compacted
+     * @param compactionExecutor        the Executor that compactions are to be carried out on, or null if they are to be
+     *                                  carried out on the modifying thread (as are those the Executor rejects)
+     */
+    public DeltaMDAG(MDAG baseMDAG, int compactionThreshold, Executor compactionExecutor)
+    {
+        if(compactionThreshold < 1)
+            throw new IllegalArgumentException("Compaction threshold must be positive: " + compactionThreshold);
+
+        this.baseMDAG = baseMDAG.snapshot();
+        this.compactionThreshold = compactionThreshold;
+        this.compactionExecutor = compactionExecutor;
+    }
+
+
+
+    /**
+     * Adds a String to the DeltaMDAG.
+
+     * @param str       the String to be added
+     */
+    public synchronized void addString(String str)
+    {
+        if(compactionModificationList != null)
+            compactionModificationList.add(new Modification(str, true));
+
+        applyAddition(str);
+        compactIfNecessary();
+    }
+
+
+
+    /**
+     * Removes a String from the DeltaMDAG.
+
+     * @param str       the String to be removed
+     */
+    public synchronized void removeString(String str)
+    {
+        if(compactionModificationList != null)
+            compactionModificationList.add(new Modification(str, false));
+
+        applyRemoval(str);
+        compactIfNecessary();
+    }
+
+
+
+    /**
+     * Records the addition of a String in the delta.
+
+     * @param str       the String that was added
+     */
+    private void applyAddition(String str)
+    {
+        if(baseMDAG.contains(str))
+        {
+            if(removedMDAG.contains(str))
+                removedMDAG.removeString(str);
+        }
+        else if(!addedMDAG.contains(str))
+            addedMDAG.addString(str);
+    }
+
+
+
+    /**
+     * Records the removal of a String in the delta.
+
+     * @param str       the String that was removed
+     */
+    private void applyRemoval(String str)
+    {
+        if(addedMDAG.contains(str))
+            addedMDAG.removeString(str);
+        else if(baseMDAG.contains(str) && !removedMDAG.contains(str))
+            removedMDAG.addString(str);
+    }
+
+
+
+    /**
+     * Retrieves the number of Strings in the delta (those added to or removed from the base).
+
+     * @return      an int denoting the number of Strings in the delta
+     */
+    public synchronized int getDeltaSize()
+    {
+        return addedMDAG.size() + removedMDAG.size();
+    }
+
+
+
+    /**
+     * Starts a compaction if the delta has reached the compaction threshold and one isn't already in progress.
+     * If the compaction Executor rejects it, the compaction is carried out on the calling thread instead.
+     */
+    private void compactIfNecessary()
+    {
+        if(compactionModificationList == null && getDeltaSize() >= compactionThreshold)
+        {
+            final MDAG[] capturedMDAGArray = captureForCompaction();
+
+            if(compactionExecutor == null)
+                completeCompaction(capturedMDAGArray);
+            else
+            {
+                try
+                {
+                    compactionExecutor.execute(new Runnable() {
+                        public void run()
+                        {
+                            completeCompaction(capturedMDAGArray);
+                        }
+                    });
+                }
+                catch(RejectedExecutionException e)
+                {
+                    completeCompaction(capturedMDAGArray);
+                }
+            }
+        }
+    }
+
+
+
+    /**
+     * Folds the delta in to a new simplified base, unless a compaction is already in progress. The modifications 
+     * made while the new base is created are made again to its (empty) delta once it is installed.
+     */
+    public void compact()
+    {
+        MDAG[] capturedMDAGArray;
+
+        synchronized(this)
+        {
+            if(compactionModificationList != null)
+                return;
+
+            capturedMDAGArray = captureForCompaction();
+        }
+
+        completeCompaction(capturedMDAGArray);
+    }
+
+
+
+    /**
+     * Captures the Strings to be merged by a compaction, and begins recording the modifications made until it completes.
+
+     * @return      an array containing the base MDAG, and snapshots of the added String and removed String MDAGs
+     */
+    private MDAG[] captureForCompaction()
+    {
+        compactionModificationList = new ArrayList<Modification>();
+        return new MDAG[]{baseMDAG, addedMDAG.snapshot(), removedMDAG.snapshot()};
+    }
+
+
+
+    /**
+     * Creates a new simplified base from the Strings captured for a compaction without holding the lock, then installs it
+     * (with an empty delta) and makes the modifications recorded since the capture to it.
+
+     * @param capturedMDAGArray     an array containing the base MDAG, and snapshots of the added String
+     *                              and removed String MDAGs, captured for the compaction
+     */
+    private void completeCompaction(MDAG[] capturedMDAGArray)
+    {
+        MDAG compactedBaseMDAG = null;
+
+        try
+        {
+            ArrayList<String> mergedStrArrayList = new ArrayList<String>(capturedMDAGArray[0].size() + capturedMDAGArray[1].size());
+            capturedMDAGArray[0].visitAllStrings(new TombstoneFilteringVisitor(capturedMDAGArray[2], new MDAG.CollectionPopulatingVisitor(mergedStrArrayList)));
+            capturedMDAGArray[1].visitAllStrings(new MDAG.CollectionPopulatingVisitor(mergedStrArrayList));
+            Collections.sort(mergedStrArrayList);
+
+            compactedBaseMDAG = new MDAG(mergedStrArrayList, capturedMDAGArray[0].getLabelEncoding());
+            compactedBaseMDAG.simplify();
+        }
+        finally
+        {
+            synchronized(this)
+            {
+                ArrayList<Modification> modificationList = compactionModificationList;
+                compactionModificationList = null;
+
+                //Install the new base, and make the modifications recorded since the capture to its delta (the final
+                //outcome of a sequence of additions and removals is the same whether or not the base already reflects them).
+                //They're made directly to the delta so that no compaction can begin part way through; the threshold is checked once they all are
+                if(compactedBaseMDAG != null)
+                {
+                    baseMDAG = compactedBaseMDAG;
+                    addedMDAG = new MDAG(new ArrayList<String>());
+                    removedMDAG = new MDAG(new ArrayList<String>());
+
+                    for(Modification modification : modificationList)
+                    {
+                        if(modification.isAddition)
+                            applyAddition(modification.str);
+                        else
+                            applyRemoval(modification.str);
+                    }
+
+                    compactIfNecessary();
+                }
+                /////
+            }
+        }
+    }
+
+
+
+    /**
+     * Determines whether a String is in the DeltaMDAG.
+
+     * @param str       the String to be searched for
+     * @return          true if {@code str} is present, and false otherwise
+     */
+    public synchronized boolean contains(String str)
+    {
+        return addedMDAG.contains(str) || (baseMDAG.contains(str) && !removedMDAG.contains(str));
+    }
+
+
+
+    /**
+     * Retrieves the number of Strings in the DeltaMDAG.
+
+     * @return      an int denoting the number of Strings present
+     */
+    public synchronized int size()
+    {
+        return baseMDAG.size() - removedMDAG.size() + addedMDAG.size();
+    }
+
+
+
+    /**
+     * Counts the Strings in the DeltaMDAG that begin with a given String.
+
+     * @param prefixStr     a String that is the prefix for all the Strings to be counted
+     * @return              an int denoting the number of Strings present that begin with {@code prefixStr}
+     */
+    public synchronized int countStringsStartingWith(String prefixStr)
+    {
+        return baseMDAG.countStringsStartingWith(prefixStr) - removedMDAG.countStringsStartingWith(prefixStr) + addedMDAG.countStringsStartingWith(prefixStr);
+    }
+
+
+
+    /**
+     * Hands all the Strings in the DeltaMDAG to a visitor as they are found. Those in the base
+     * are found (in lexicographical order) before those added to it (in lexicographical order).
+
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the Strings were handed to {@code visitor}, false if it stopped the traversal
+     */
+    public synchronized boolean visitAllStrings(MDAGVisitor visitor)
+    {
+        return baseMDAG.visitAllStrings(new TombstoneFilteringVisitor(removedMDAG, visitor)) && addedMDAG.visitAllStrings(visitor);
+    }
+
+
+
+    /**
+     * Hands all the Strings in the DeltaMDAG that begin with a given String to a visitor as they are found.
+     * Those in the base are found (in lexicographical order) before those added to it (in lexicographical order).
+
+     * @param prefixStr     a String that is the prefix for all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     */
+    public synchronized boolean visitStringsStartingWith(String prefixStr, MDAGVisitor visitor)
+    {
+        return baseMDAG.visitStringsStartingWith(prefixStr, new TombstoneFilteringVisitor(removedMDAG, visitor))
+                && addedMDAG.visitStringsStartingWith(prefixStr, visitor);
+    }
+
+
+
+    /**
+     * Hands all the Strings in the DeltaMDAG that contain a given String to a visitor as they are found.
+     * Those in the base are found before those added to it.
+
+     * @param str           a String that is contained in all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     */
+    public synchronized boolean visitStringsWithSubstring(String str, MDAGVisitor visitor)
+    {
+        return baseMDAG.visitStringsWithSubstring(str, new TombstoneFilteringVisitor(removedMDAG, visitor))
+                && addedMDAG.visitStringsWithSubstring(str, visitor);
+    }
+
+
+
+    /**
+     * Hands all the Strings in the DeltaMDAG that end with a given String to a visitor as they are found.
+     * Those in the base are found before those added to it.
+
+     * @param suffixStr     a String that is the suffix for all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     */
+    public synchronized boolean visitStringsEndingWith(String suffixStr, MDAGVisitor visitor)
+    {
+        return baseMDAG.visitStringsEndingWith(suffixStr, new TombstoneFilteringVisitor(removedMDAG, visitor))
+                && addedMDAG.visitStringsEndingWith(suffixStr, visitor);
+    }
+
+
+
+    /**
+     * Retrieves all the Strings in the DeltaMDAG.
+
+     * @return      a HashSet containing all the Strings present
+     */
+    public HashSet<String> getAllStrings()
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitAllStrings(new MDAG.CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+
+
+
+    /**
+     * Retrieves all the Strings in the DeltaMDAG that begin with a given String.
+
+     * @param prefixStr     a String that is the prefix for all the desired Strings
+     * @return              a HashSet containing all the Strings present that begin with {@code prefixStr}
+     */
+    public HashSet<String> getStringsStartingWith(String prefixStr)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsStartingWith(prefixStr, new MDAG.CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+
+
+
+    /**
+     * Retrieves all the Strings in the DeltaMDAG that contain a given String.
+
+     * @param str       a String that is contained in all the desired Strings
+     * @return          a HashSet containing all the Strings present that contain {@code str}
+     */
+    public HashSet<String> getStringsWithSubstring(String str)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsWithSubstring(str, new MDAG.CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+
+
+
+    /**
+     * Retrieves all the Strings in the DeltaMDAG that end with a given String.
+
+     * @param suffixStr     a String that is the suffix for all the desired Strings
+     * @return              a HashSet containing all the Strings present that end with {@code suffixStr}
+     */
+    public HashSet<String> getStringsEndingWith(String suffixStr)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsEndingWith(suffixStr, new MDAG.CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+}
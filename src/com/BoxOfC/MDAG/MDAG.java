@@ -22,18 +22,32 @@
 
 package com.BoxOfC.MDAG;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
-
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map.Entry;
+import java.util.IdentityHashMap;
+import java.util.RandomAccess;
+import java.util.Set;
 import java.util.Stack;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 
 
@@ -47,16 +61,13 @@ public class MDAG
     //MDAGNode from which all others in the structure are reachable (all manipulation and non-simplified MDAG search operations begin from this).
     private MDAGNode sourceNode = new MDAGNode(false);
     
-    //SimpleMDAGNode from which all others in the structure are reachable (will be defined if this MDAG is simplified)
-    private SimpleMDAGNode simplifiedSourceNode;
+    //SimpleMDAG containing the space-saving version of the MDAG's data (will be defined if this MDAG is simplified)
+    private SimpleMDAG simplifiedMDAG;
     
-    //HashMap which contains the MDAGNodes collectively representing the all unique equivalence classes in the MDAG. 
+    //MDAGNodeRegister which contains the MDAGNodes collectively representing the all unique equivalence classes in the MDAG. 
     //Uniqueness is defined by the types of transitions allowed from, and number and type of nodes reachable
     //from the node of interest. Since there are no duplicate nodes in an MDAG, # of equivalence classes == # of nodes. 
-    private HashMap<MDAGNode, MDAGNode> equivalenceClassMDAGNodeHashMap = new HashMap<MDAGNode, MDAGNode>();
-    
-    //Array that will contain a space-saving version of the MDAG after a call to simplify().
-    private SimpleMDAGNode[] mdagDataArray;
+    private MDAGNodeRegister equivalenceClassMDAGNodeRegister = new MDAGNodeRegister();
     
     //HashSet which will contain the set of unique characters used as transition labels in the MDAG
     private TreeSet<Character> charTreeSet = new TreeSet<Character>();
@@ -64,34 +75,92 @@ public class MDAG
     //An int denoting the total number of transitions between the nodes of the MDAG
     private int transitionCount;
     
+    //An int denoting the number of nodes in the MDAG other than sourceNode (-1 if it hasn't been counted since the MDAG was loaded from a file)
+    private int nodeCount;
+    
+    //An int denoting the number of Strings in the MDAG (-1 if they haven't been counted since the MDAG was loaded from a file)
+    private int stringCount;
+    
+    //MDAG containing the reversals of the Strings in this MDAG, used to answer suffix queries (will be defined if a suffix index has been created)
+    private MDAG reversedMDAG;
+    
+    //MDAG containing the rotations of the Strings in this MDAG, used to answer substring queries (will be defined if a substring index has been created)
+    private MDAG rotatedMDAG;
+    
+    //The ArraySimpleMDAG most recently created by snapshot(), in which the transition set of each node that hasn't been changed 
+    //since is at the index recorded in the node (will be defined if a snapshot has been created since the last simplification)
+    private ArraySimpleMDAG snapshotSimpleMDAG;
+    
+    //The MDAGBuildListener notified of the work carried out as the MDAG is modified and simplified (null if there is none)
+    private MDAGBuildListener buildListener;
+    
+    //The LabelEncoding denoting how the MDAG's Strings are represented by its transition labels
+    private LabelEncoding labelEncoding = LabelEncoding.UTF16;
+    
+    //The (reused) array containing the nodes in the transition path of the String most recently added to the MDAG, or undergoing
+    //minimization processing; the node at index i is the one reached from sourceNode by transitioning on the first i chars of the String
+    private MDAGNode[] transitionPathNodeArray = new MDAGNode[32];
+    
+    //The char which separates the end and beginning of a String in each of its rotations in a substring index
+    private static final char ROTATION_SEPARATOR_CHAR = '\uFFFF';
+    
+    //The int denoting the largest ratio of the number of transitions in an incrementally created snapshot to the number of transitions
+    //in the MDAG (the excess being those left unreachable by changes); once exceeded, the snapshot is instead created from scratch
+    private static final int MAX_SNAPSHOT_TRANSITION_COUNT_RATIO = 2;
+    
+    //The int denoting the size (in bytes) of the buffer used to read the contents of a file that the MDAG is created from
+    private static final int FILE_READ_BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * The encodings in which the Strings in a MDAG can be represented by its transition labels.
+     */
+    public static enum LabelEncoding {
+        
+        //Each transition is labeled with a char, so each String is represented by the chars it consists of (surrogate pairs included)
+        UTF16,
+        
+        //Each transition is labeled with a byte (held in the char with the same unsigned value), so each String is represented 
+        //by the bytes of its UTF-8 encoding. Labels are stored in single bytes once the MDAG is simplified, and Strings are
+        //ordered by code point rather than by char. A UTF-8 encoded MDAG cannot be searched by edit distance or pattern.
+        UTF8;
+    };
+    /////
+    
+    
+    
     //Enum containing fields collectively denoting the set of all conditions that can be applied to a search on the MDAG
     private static enum SearchCondition {
         NO_SEARCH_CONDITION, PREFIX_SEARCH_CONDITION, SUBSTRING_SEARCH_CONDITION, SUFFIX_SEARCH_CONDITION; 
         
         /**
-        * Determines whether two Strings have a given type of relationship.
-
-        * @param processingString      a String       
-        * @param conditionString       a String      
-        * @param searchCondition       an int denoting the type of condition to be satisfied
-        * @return                      true if {@code processingString} has a relationship with 
-        *                              {@code conditionString} described by the condition 
-        *                              represented by {@code searchCondition}
+        * Determines whether a char sequence has a given type of relationship with a String.
+
+        * @param charArray             a char array containing the char sequence of interest
+        * @param length                an int denoting the number of chars (from the beginning of {@code charArray}) in the char sequence
+        * @param conditionString       a String
+        * @return                      true if the char sequence has a relationship with {@code conditionString}
+        *                              described by the condition represented by this SearchCondition
         */
-        public boolean satisfiesCondition(String str1, String str2)
+        public boolean satisfiesCondition(char[] charArray, int length, String conditionString)
         {
             boolean satisfiesSearchCondition;
          
             switch(this)
             {
                 case PREFIX_SEARCH_CONDITION:
-                    satisfiesSearchCondition = (str1.startsWith(str2));
+                    satisfiesSearchCondition = regionMatches(charArray, length, 0, conditionString);
                     break;
                 case SUBSTRING_SEARCH_CONDITION:
-                    satisfiesSearchCondition = (str1.contains(str2));
+                {
+                    satisfiesSearchCondition = false;
+                    
+                    for(int i = 0; i <= length - conditionString.length() && !satisfiesSearchCondition; i++)
+                        satisfiesSearchCondition = regionMatches(charArray, length, i, conditionString);
+                    
                     break;
+                }
                 case SUFFIX_SEARCH_CONDITION:
-                    satisfiesSearchCondition = (str1.endsWith(str2));
+                    satisfiesSearchCondition = regionMatches(charArray, length, length - conditionString.length(), conditionString);
                     break;
                 default:
                     satisfiesSearchCondition = true;
@@ -100,685 +169,3287 @@ public class MDAG
 
             return satisfiesSearchCondition;
         }
+        
+        
+        
+        /**
+         * Determines whether a region of a char sequence is equal to a String.
+         
+         * @param charArray     a char array containing the char sequence of interest
+         * @param length        an int denoting the number of chars (from the beginning of {@code charArray}) in the char sequence
+         * @param offset        an int denoting the index in the char sequence which begins the region of interest
+         * @param str           a String
+         * @return              true if the chars in the char sequence beginning at {@code offset} are equal to those of {@code str}
+         */
+        private static boolean regionMatches(char[] charArray, int length, int offset, String str)
+        {
+            int strLength = str.length();
+            
+            if(offset < 0 || offset + strLength > length)
+                return false;
+            
+            for(int i = 0; i < strLength; i++)
+            {
+                if(charArray[offset + i] != str.charAt(i))
+                    return false;
+            }
+            
+            return true;
+        }
     };
     /////
     
-
+    
     
     /**
-     * Creates an MDAG from a newline delimited file containing the data of interest.
-     
-     * @param dataFile          a {@link java.io.File} representation of a file
-     *                          containing the Strings that the MDAG will contain 
-     * @throws IOException      if {@code datafile} cannot be opened, or a read operation on it cannot be carried out
+     * The class whose objects hold the state of a traversal of the MDAG which hands the Strings
+     * corresponding to the traversed transition paths that satisfy a search condition to an MDAGVisitor.
+     */
+    private static final class VisitingTraversal
+    {
+        //The MDAGVisitor that the Strings satisfying the search condition are to be handed to
+        private final MDAGVisitor visitor;
+        
+        //The SearchCondition that Strings must satisfy with searchConditionString in order to be handed to visitor
+        private final SearchCondition searchCondition;
+        
+        //The String that Strings must be related with in the fashion denoted by searchCondition in order to be handed to visitor
+        private final String searchConditionString;
+        
+        //The (reused) char array containing the String corresponding to the currently traversed transition path
+        private char[] charArray;
+        
+        
+        
+        /**
+         * Constructs a VisitingTraversal.
+         
+         * @param visitor                   the MDAGVisitor to hand Strings to
+         * @param searchCondition           the SearchCondition that Strings must satisfy in order to be handed to {@code visitor}
+         * @param searchConditionString     the String that Strings must be related with in the fashion denoted by {@code searchCondition}
+         * @param prefixString              the String corresponding to the transition path the traversal begins from
+         */
+        VisitingTraversal(MDAGVisitor visitor, SearchCondition searchCondition, String searchConditionString, String prefixString)
+        {
+            this.visitor = visitor;
+            this.searchCondition = searchCondition;
+            this.searchConditionString = searchConditionString;
+            
+            charArray = new char[Math.max(16, prefixString.length() * 2)];
+            prefixString.getChars(0, prefixString.length(), charArray, 0);
+        }
+        
+        
+        
+        /**
+         * Sets a char in the String corresponding to the currently traversed transition path.
+         
+         * @param index     an int denoting the index of the char to be set
+         * @param letter    the char to set at {@code index}
+         */
+        void setChar(int index, char letter)
+        {
+            if(index == charArray.length)
+                charArray = Arrays.copyOf(charArray, charArray.length * 2);
+            
+            charArray[index] = letter;
+        }
+        
+        
+        
+        /**
+         * Hands the String corresponding to the currently traversed transition path 
+         * to the visitor if it satisfies the traversal's search condition.
+         
+         * @param length    an int denoting the length of the String corresponding to the currently traversed transition path
+         * @return          true if the traversal should continue, false if it has been stopped by the visitor
+         */
+        boolean visit(int length)
+        {
+            return (!searchCondition.satisfiesCondition(charArray, length, searchConditionString) || visitor.visit(charArray, length));
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects insert the Strings they are handed in to a Collection.
+     */
+    static final class CollectionPopulatingVisitor implements MDAGVisitor
+    {
+        //The Collection that the Strings handed to this visitor are to be inserted in to
+        private final Collection<String> strCollection;
+        
+        
+        
+        /**
+         * Constructs a CollectionPopulatingVisitor.
+         
+         * @param strCollection     the Collection that the Strings handed to this visitor are to be inserted in to
+         */
+        CollectionPopulatingVisitor(Collection<String> strCollection)
+        {
+            this.strCollection = strCollection;
+        }
+        
+        
+        
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            strCollection.add(new String(charArray, 0, length));
+            return true;
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects count the Strings they are handed.
+     */
+    private static final class CountingVisitor implements MDAGVisitor
+    {
+        //The int denoting the number of Strings that have been handed to this visitor
+        private int count = 0;
+        
+        
+        
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            count++;
+            return true;
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects restore the Strings that the rotations they are handed (which begin with a given String) were 
+     * created from, and hand them to another MDAGVisitor. Since a String may have several rotations beginning with the
+     * given String, a String is only handed over for the rotation that begins with the first occurrence of the given String in it.
+     */
+    private static final class RotationRestoringVisitor implements MDAGVisitor
+    {
+        //The String that each rotation handed to this visitor begins with
+        private final String substring;
+        
+        //The MDAGVisitor that the restored Strings are to be handed to
+        private final MDAGVisitor visitor;
+        
+        //The (reused) char array containing the most recently restored String
+        private char[] restoredCharArray = new char[16];
+        
+        
+        
+        /**
+         * Constructs a RotationRestoringVisitor.
+         
+         * @param substring     the String that each rotation handed to this visitor begins with
+         * @param visitor       the MDAGVisitor that the restored Strings are to be handed to
+         */
+        RotationRestoringVisitor(String substring, MDAGVisitor visitor)
+        {
+            this.substring = substring;
+            this.visitor = visitor;
+        }
+        
+        
+        
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            int separatorIndex = substring.length();
+            while(charArray[separatorIndex] != ROTATION_SEPARATOR_CHAR)
+                separatorIndex++;
+            
+            //The restored String consists of the part of the rotation after the separator followed by the part before it
+            int restoredLength = length - 1;
+            int rotationOffset = restoredLength - separatorIndex;
+            
+            if(restoredLength > restoredCharArray.length)
+                restoredCharArray = new char[Math.max(restoredLength, restoredCharArray.length * 2)];
+            
+            System.arraycopy(charArray, separatorIndex + 1, restoredCharArray, 0, rotationOffset);
+            System.arraycopy(charArray, 0, restoredCharArray, rotationOffset, separatorIndex);
+            /////
+            
+            //Hand over the restored String only if the rotation begins with the first occurrence of substring in it
+            for(int i = 0; i < rotationOffset; i++)
+            {
+                if(SearchCondition.regionMatches(restoredCharArray, restoredLength, i, substring))
+                    return true;
+            }
+            /////
+            
+            return visitor.visit(restoredCharArray, restoredLength);
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects are lists of the rotations of the Strings in a collection, in lexicographical order (the order 
+     * in which they are most quickly added to a MDAG). A rotation of a String is created for each of its (non-empty) suffixes, 
+     * and consists of the suffix followed by the separator char and the rest of the String. Each rotation is kept as the indices 
+     * of its String and suffix, and is only created when it is retrieved, so the rotations can be added to a MDAG one at a time.
+     */
+    private static final class RotationList extends AbstractList<String> implements RandomAccess
+    {
+        //The array containing the Strings whose rotations are in the list
+        private final String[] strArray;
+        
+        //The array containing the rotations in the list, in lexicographical order, each as the index of its 
+        //String in strArray (in the upper 32 bits) and the index of its suffix in that String (in the lower 32 bits)
+        private final long[] rotationArray;
+        
+        
+        
+        /**
+         * Constructs a RotationList.
+         
+         * @param strCollection                 a {@link java.util.Collection} of Strings
+         * @throws IllegalArgumentException     if a String in {@code strCollection} contains the separator char
+         */
+        RotationList(Collection<String> strCollection)
+        {
+            strArray = strCollection.toArray(new String[strCollection.size()]);
+            int rotationCount = 0;
+            
+            for(String str : strArray)
+            {
+                if(str.indexOf(ROTATION_SEPARATOR_CHAR) != -1)
+                    throw new IllegalArgumentException("String contains the substring index separator char (\\uFFFF): " + str);
+                
+                rotationCount += str.length();
+            }
+            /////
+            
+            rotationArray = new long[rotationCount];
+            int rotationIndex = 0;
+            
+            for(int i = 0; i < strArray.length; i++)
+            {
+                int charCount = strArray[i].length();
+                for(int j = 0; j < charCount; j++)
+                    rotationArray[rotationIndex++] = ((long)i << 32) | j;
+            }
+            /////
+            
+            sortRotations(new long[rotationCount], 0, rotationCount);
+        }
+        
+        
+        
+        /**
+         * Sorts a range of the rotations in rotationArray (a merge sort, since the rotations are compared by their chars).
+         
+         * @param bufferArray       a long array the size of rotationArray, used to hold the rotations being merged
+         * @param beginIndex        an int denoting the index in rotationArray of the first rotation in the range
+         * @param endIndex          an int denoting the index in rotationArray one past that of the last rotation in the range
+         */
+        private void sortRotations(long[] bufferArray, int beginIndex, int endIndex)
+        {
+            if(endIndex - beginIndex < 2)
+                return;
+            
+            int middleIndex = (beginIndex + endIndex) >>> 1;
+            sortRotations(bufferArray, beginIndex, middleIndex);
+            sortRotations(bufferArray, middleIndex, endIndex);
+            
+            if(compareRotations(rotationArray[middleIndex - 1], rotationArray[middleIndex]) <= 0)
+                return;
+            
+            System.arraycopy(rotationArray, beginIndex, bufferArray, beginIndex, endIndex - beginIndex);
+            
+            //Merge the sorted halves of the range back in to rotationArray
+            for(int i = beginIndex, leftIndex = beginIndex, rightIndex = middleIndex; i < endIndex; i++)
+            {
+                if(rightIndex == endIndex || (leftIndex < middleIndex && compareRotations(bufferArray[leftIndex], bufferArray[rightIndex]) <= 0))
+                    rotationArray[i] = bufferArray[leftIndex++];
+                else
+                    rotationArray[i] = bufferArray[rightIndex++];
+            }
+            /////
+        }
+        
+        
+        
+        /**
+         * Lexicographically compares two rotations without creating them.
+         
+         * @param rotation1     a long denoting a rotation (see rotationArray)
+         * @param rotation2     a long denoting a rotation (see rotationArray)
+         * @return              an int less than, equal to, or greater than 0 if {@code rotation1} 
+         *                      is less than, equal to, or greater than {@code rotation2} respectively
+         */
+        private int compareRotations(long rotation1, long rotation2)
+        {
+            int length1 = strArray[(int)(rotation1 >>> 32)].length() + 1;
+            int length2 = strArray[(int)(rotation2 >>> 32)].length() + 1;
+            int minLength = Math.min(length1, length2);
+            
+            for(int i = 0; i < minLength; i++)
+            {
+                char char1 = rotationCharAt(rotation1, i);
+                char char2 = rotationCharAt(rotation2, i);
+                
+                if(char1 != char2)
+                    return char1 - char2;
+            }
+            /////
+            
+            return length1 - length2;
+        }
+        
+        
+        
+        /**
+         * Retrieves a char of a rotation without creating it.
+         
+         * @param rotation      a long denoting a rotation (see rotationArray)
+         * @param index         an int denoting the index of the desired char in {@code rotation}
+         * @return              the char at {@code index} in {@code rotation}
+         */
+        private char rotationCharAt(long rotation, int index)
+        {
+            String str = strArray[(int)(rotation >>> 32)];
+            int suffixLength = str.length() - (int)rotation;
+            
+            if(index < suffixLength)
+                return str.charAt((int)rotation + index);
+            else if(index == suffixLength)
+                return ROTATION_SEPARATOR_CHAR;
+            else
+                return str.charAt(index - suffixLength - 1);
+        }
+        
+        
+        
+        @Override
+        public String get(int index)
+        {
+            long rotation = rotationArray[index];
+            String str = strArray[(int)(rotation >>> 32)];
+            int suffixIndex = (int)rotation;
+            
+            return str.substring(suffixIndex) + ROTATION_SEPARATOR_CHAR + str.substring(0, suffixIndex);
+        }
+        
+        
+        
+        @Override
+        public int size()
+        {
+            return rotationArray.length;
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects reverse the Strings they are handed before handing them to another MDAGVisitor.
+     */
+    private static final class ReversingVisitor implements MDAGVisitor
+    {
+        //The MDAGVisitor that the reversed Strings are to be handed to
+        private final MDAGVisitor visitor;
+        
+        //The (reused) char array containing the most recently reversed String
+        private char[] reversedCharArray = new char[16];
+        
+        
+        
+        /**
+         * Constructs a ReversingVisitor.
+         
+         * @param visitor       the MDAGVisitor that the reversed Strings are to be handed to
+         */
+        ReversingVisitor(MDAGVisitor visitor)
+        {
+            this.visitor = visitor;
+        }
+        
+        
+        
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            if(length > reversedCharArray.length)
+                reversedCharArray = new char[Math.max(length, reversedCharArray.length * 2)];
+            
+            for(int i = 0; i < length; i++)
+                reversedCharArray[i] = charArray[length - 1 - i];
+            
+            return visitor.visit(reversedCharArray, length);
+        }
+    }
+    
+    
+    
+    /**
+     * The class whose objects decode the label sequences of a UTF-8 encoded MDAG that they are 
+     * handed in to the Strings they represent, before handing them to another MDAGVisitor.
+     */
+    private static final class UTF8DecodingVisitor implements MDAGVisitor
+    {
+        //The MDAGVisitor that the decoded Strings are to be handed to
+        private final MDAGVisitor visitor;
+        
+        //The (reused) char array containing the most recently decoded String
+        private char[] decodedCharArray = new char[16];
+        
+        
+        
+        /**
+         * Constructs a UTF8DecodingVisitor.
+         
+         * @param visitor       the MDAGVisitor that the decoded Strings are to be handed to
+         */
+        UTF8DecodingVisitor(MDAGVisitor visitor)
+        {
+            this.visitor = visitor;
+        }
+        
+        
+        
+        @Override
+        public boolean visit(char[] charArray, int length)
+        {
+            if(length > decodedCharArray.length)
+                decodedCharArray = new char[Math.max(length, decodedCharArray.length * 2)];
+            
+            return visitor.visit(decodedCharArray, UTF8LabelCodec.decode(charArray, length, decodedCharArray));
+        }
+    }
+    
+    
+    
+    /**
+     * The class whose objects track, char by char, the length of the longest prefix of a given String
+     * that is a suffix of the chars processed so far (using the Knuth-Morris-Pratt failure function),
+     * so that the Strings in a MDAG which contain or end with the String can be counted.
+     */
+    private static final class SubstringMatchingAutomaton
+    {
+        //The String being matched
+        private final String str;
+        
+        //The array containing, for each prefix of str, the length of the longest proper prefix of str that is a suffix of it
+        private final int[] failureArray;
+        
+        
+        
+        /**
+         * Constructs a SubstringMatchingAutomaton.
+         
+         * @param str       the non-empty String to be matched
+         */
+        SubstringMatchingAutomaton(String str)
+        {
+            this.str = str;
+            failureArray = new int[str.length()];
+            
+            for(int i = 1, matchLength = 0; i < failureArray.length; i++)
+            {
+                while(matchLength > 0 && str.charAt(i) != str.charAt(matchLength))
+                    matchLength = failureArray[matchLength - 1];
+                
+                if(str.charAt(i) == str.charAt(matchLength))
+                    matchLength++;
+                
+                failureArray[i] = matchLength;
+            }
+        }
+        
+        
+        
+        /**
+         * Retrieves the number of states of the automaton.
+         
+         * @return      an int denoting the number of states (the possible match lengths) of the automaton
+         */
+        int getStateCount()
+        {
+            return str.length() + 1;
+        }
+        
+        
+        
+        /**
+         * Determines whether a state denotes a complete match.
+         
+         * @param state     an int denoting a state of the automaton
+         * @return          true if the matched String is a suffix of the chars processed to reach {@code state}, false otherwise
+         */
+        boolean isMatchState(int state)
+        {
+            return (state == str.length());
+        }
+        
+        
+        
+        /**
+         * Determines the state reached by processing a char.
+         
+         * @param state     an int denoting the current state of the automaton
+         * @param letter    the char to be processed
+         * @return          an int denoting the state of the automaton after processing {@code letter}
+         */
+        int transition(int state, char letter)
+        {
+            if(state == str.length())
+                state = failureArray[state - 1];
+            
+            while(state > 0 && str.charAt(state) != letter)
+                state = failureArray[state - 1];
+            
+            return (str.charAt(state) == letter ? state + 1 : state);
+        }
+    }
+    /////
+    
+
+    
+    /**
+     * The class whose objects hold the state of a traversal of a MDAG which hands the Strings within a given edit distance 
+     * of a query String to a visitor. The traversal simulates a Levenshtein automaton by keeping, for the String corresponding
+     * to each transition path prefix, a row of the dynamic programming matrix of its edit distances from the prefixes of the query.
+     */
+    private static final class EditDistanceTraversal
+    {
+        //The MDAGVisitor that the Strings within maxEditCount edits of queryString are to be handed to
+        private final MDAGVisitor visitor;
+        
+        //The String that Strings must be within maxEditCount edits of in order to be handed to visitor
+        private final String queryString;
+        
+        //The int denoting the largest number of insertions, deletions and substitutions that a handed String may differ from queryString by
+        private final int maxEditCount;
+        
+        //The (reused) char array containing the String corresponding to the currently traversed transition path
+        private char[] charArray = new char[16];
+        
+        //The (reused) array containing, for each prefix of the String in charArray, the edit distances
+        //between it and each prefix of queryString (the row of a prefix of length n is at index n)
+        private int[][] editDistanceRowArray;
+        
+        
+        
+        /**
+         * Constructs an EditDistanceTraversal.
+         
+         * @param visitor           the MDAGVisitor to hand Strings to
+         * @param queryString       the String that Strings must be within {@code maxEditCount} edits of to be handed to {@code visitor}
+         * @param maxEditCount      an int denoting the largest number of edits a handed String may differ from {@code queryString} by
+         */
+        EditDistanceTraversal(MDAGVisitor visitor, String queryString, int maxEditCount)
+        {
+            this.visitor = visitor;
+            this.queryString = queryString;
+            this.maxEditCount = maxEditCount;
+            
+            int columnCount = queryString.length() + 1;
+            editDistanceRowArray = new int[16][columnCount];
+            
+            for(int j = 0; j < columnCount; j++)
+                editDistanceRowArray[0][j] = j;
+        }
+        
+        
+        
+        /**
+         * Sets a char in the String corresponding to the currently traversed transition path,
+         * and calculates the edit distance row of the prefix of the String that it ends.
+         
+         * @param index     an int denoting the index of the char to be set
+         * @param letter    the char to set at {@code index}
+         * @return          true if a String beginning with the prefix ending with {@code letter} can be 
+         *                  within the traversal's maximum edit distance of its query String, false otherwise
+         */
+        boolean setChar(int index, char letter)
+        {
+            if(index == charArray.length)
+                charArray = Arrays.copyOf(charArray, charArray.length * 2);
+            
+            if(index + 1 == editDistanceRowArray.length)
+            {
+                int prevLength = editDistanceRowArray.length;
+                editDistanceRowArray = Arrays.copyOf(editDistanceRowArray, prevLength * 2);
+                
+                for(int i = prevLength; i < editDistanceRowArray.length; i++)
+                    editDistanceRowArray[i] = new int[queryString.length() + 1];
+            }
+            
+            charArray[index] = letter;
+            
+            int[] prevRow = editDistanceRowArray[index];
+            int[] row = editDistanceRowArray[index + 1];
+            int minEditDistance = row[0] = index + 1;
+            
+            //Calculate the distance between the prefix and each prefix of queryString, using those of the prefix without letter
+            for(int j = 1; j < row.length; j++)
+            {
+                int substitutionEditDistance = prevRow[j - 1] + (queryString.charAt(j - 1) == letter ? 0 : 1);
+                row[j] = Math.min(substitutionEditDistance, Math.min(prevRow[j], row[j - 1]) + 1);
+                minEditDistance = Math.min(minEditDistance, row[j]);
+            }
+            /////
+            
+            //Appending chars to the prefix can't decrease any of the distances
+            return (minEditDistance <= maxEditCount);
+        }
+        
+        
+        
+        /**
+         * Hands the String corresponding to the currently traversed transition path 
+         * to the visitor if it is within the traversal's maximum edit distance of its query String.
+         
+         * @param length    an int denoting the length of the String corresponding to the currently traversed transition path
+         * @return          true if the traversal should continue, false if it has been stopped by the visitor
+         */
+        boolean visit(int length)
+        {
+            return (editDistanceRowArray[length][queryString.length()] > maxEditCount || visitor.visit(charArray, length));
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * Creates an MDAG from a newline delimited file containing the data of interest,
+     * decoded using the platform's default charset.
+     
+     * @param dataFile          a {@link java.io.File} representation of a file
+     *                          containing the Strings that the MDAG will contain 
+     * @throws IOException      if {@code datafile} cannot be opened, or a read operation on it cannot be carried out
+     */
+    public MDAG(File dataFile) throws IOException
+    {
+        this(dataFile.toPath(), Charset.defaultCharset());
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a newline delimited file containing the data of interest. Lines (terminated by
+     * a line feed, a carriage return, or a carriage return followed by a line feed) are decoded in to a reused 
+     * buffer and added to the MDAG directly from it, without the creation of a String for each. The MDAG
+     * is built fastest (and with the least memory) if the lines are in lexicographical order.
+     
+     * @param dataFilePath      a {@link java.nio.file.Path} of a file containing the Strings that the MDAG will contain 
+     * @param charset           the Charset that the contents of the file are encoded in. Malformed or unmappable
+     *                          input is replaced with the charset's replacement String.
+     * @throws IOException      if the file cannot be opened, or a read operation on it cannot be carried out
+     */
+    public MDAG(Path dataFilePath, Charset charset) throws IOException
+    {
+        readLines(dataFilePath, charset, new LineAdder());
+    }
+    
+    
+    
+    /**
+     * Reads the lines of a newline delimited file, supplying its decoded chars to a LineSplitter.
+     
+     * @param dataFilePath      a {@link java.nio.file.Path} of a newline delimited file
+     * @param charset           the Charset that the contents of the file are encoded in. Malformed or unmappable
+     *                          input is replaced with the charset's replacement String.
+     * @param lineSplitter      the LineSplitter that the lines of the file are to be supplied to
+     * @throws IOException      if the file cannot be opened, or a read operation on it cannot be carried out
+     */
+    private static void readLines(Path dataFilePath, Charset charset, LineSplitter lineSplitter) throws IOException
+    {
+        FileChannel fileChannel = FileChannel.open(dataFilePath, StandardOpenOption.READ);
+        
+        try
+        {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(FILE_READ_BUFFER_SIZE);
+            String charsetName = charset.name();
+            
+            //If each byte in the file is a char (ASCII or Latin-1), convert the read bytes directly in to chars.
+            //Otherwise, decode the read bytes in to chars (in batches) using a decoder for the file's charset.
+            if(charsetName.equals("US-ASCII") || charsetName.equals("ISO-8859-1"))
+            {
+                boolean isASCII = charsetName.equals("US-ASCII");
+                byte[] byteArray = byteBuffer.array();
+                int byteCount;
+                
+                while((byteCount = fileChannel.read(byteBuffer)) != -1)
+                {
+                    for(int i = 0; i < byteCount; i++)
+                    {
+                        byte currentByte = byteArray[i];
+                        lineSplitter.add(isASCII && currentByte < 0 ? '\uFFFD' : (char)(currentByte & 0xFF));
+                    }
+                    
+                    byteBuffer.clear();
+                }
+            }
+            else
+            {
+                CharsetDecoder charsetDecoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+                CharBuffer charBuffer = CharBuffer.allocate(FILE_READ_BUFFER_SIZE);
+                boolean isEndOfInput = false;
+                
+                while(!isEndOfInput)
+                {
+                    isEndOfInput = (fileChannel.read(byteBuffer) == -1);
+                    byteBuffer.flip();
+                    
+                    CoderResult coderResult;
+                    do
+                    {
+                        coderResult = charsetDecoder.decode(byteBuffer, charBuffer, isEndOfInput);
+                        
+                        if(isEndOfInput && coderResult.isUnderflow())
+                            coderResult = charsetDecoder.flush(charBuffer);
+                        
+                        lineSplitter.add(charBuffer);
+                    }
+                    while(coderResult.isOverflow());
+                    
+                    byteBuffer.compact();
+                }
+            }
+            /////
+            
+            lineSplitter.finish();
+        }
+        finally
+        {
+            fileChannel.close();
+        }
+    }
+    
+    
+    
+    /**
+     * The class whose objects split the chars of a newline delimited file (supplied one at a time) in to lines, 
+     * accumulating each in a reused buffer. A line is terminated by a line feed, a carriage return, or a carriage 
+     * return followed by a line feed; the last line of the file needn't be terminated.
+     */
+    private static abstract class LineSplitter
+    {
+        //The CharArraySequence containing the line currently being read
+        CharArraySequence currentLine = new CharArraySequence();
+        
+        //The boolean denoting whether the most recently supplied char was a carriage return
+        private boolean isAfterCarriageReturn = false;
+        
+        
+        
+        /**
+         * Processes the next char in the file.
+         
+         * @param currentChar       the next char in the file
+         */
+        void add(char currentChar)
+        {
+            if(currentChar == '\n' || currentChar == '\r')
+            {
+                //A line feed directly following a carriage return doesn't terminate another line
+                if(currentChar == '\r' || !isAfterCarriageReturn)
+                    addCurrentLine();
+                
+                isAfterCarriageReturn = (currentChar == '\r');
+            }
+            else
+            {
+                currentLine.append(currentChar);
+                isAfterCarriageReturn = false;
+            }
+        }
+        
+        
+        
+        /**
+         * Processes the decoded chars in a CharBuffer, leaving it empty.
+         
+         * @param charBuffer        a CharBuffer (in write mode) containing decoded chars from the file
+         */
+        void add(CharBuffer charBuffer)
+        {
+            char[] charArray = charBuffer.array();
+            int charCount = charBuffer.position();
+            
+            for(int i = 0; i < charCount; i++)
+                add(charArray[i]);
+            
+            charBuffer.clear();
+        }
+        
+        
+        
+        /**
+         * Processes the last line of the file if it isn't terminated.
+         */
+        void finish()
+        {
+            if(currentLine.length() > 0)
+                addCurrentLine();
+        }
+        
+        
+        
+        /**
+         * Processes the line currently being read, leaving currentLine empty so that the next line can be read in to it.
+         */
+        abstract void addCurrentLine();
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects add the lines of a newline delimited file to the MDAG in the same fashion 
+     * as addStrings, holding the current and previous lines in a pair of reused buffers.
+     */
+    private final class LineAdder extends LineSplitter
+    {
+        //The CharArraySequence containing the line most recently added to the MDAG
+        private CharArraySequence previousLine = new CharArraySequence();
+        
+        
+        
+        /**
+         * Adds the line currently being read to the MDAG, after performing minimization processing on the transition path 
+         * of the previously added line where necessary (as done in addStrings), and begins reading the next line.
+         */
+        @Override
+        void addCurrentLine()
+        {
+            int mpsIndex = calculateMinimizationProcessingStartIndex(previousLine, currentLine);
+            
+            if(mpsIndex != -1)
+                replaceOrRegister(previousLine, mpsIndex, previousLine.length());
+            
+            addStringInternal(currentLine);
+            
+            CharArraySequence addedLine = currentLine;
+            currentLine = previousLine;
+            previousLine = addedLine;
+            currentLine.clear();
+        }
+        
+        
+        
+        /**
+         * Adds the last line of the file to the MDAG if it isn't terminated, 
+         * and performs minimization processing on the last added line.
+         */
+        @Override
+        void finish()
+        {
+            super.finish();
+            replaceOrRegister(previousLine, 0, previousLine.length());
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class whose objects collect the lines of a newline delimited file in to a list of Strings.
+     */
+    private static final class LineCollector extends LineSplitter
+    {
+        //The ArrayList containing the lines read so far, in order
+        final ArrayList<String> lineArrayList = new ArrayList<String>();
+        
+        
+        
+        @Override
+        void addCurrentLine()
+        {
+            lineArrayList.add(currentLine.toString());
+            currentLine.clear();
+        }
+    }
+    /////
+    
+    
+    
+     /**
+     * Creates an MDAG from a collection of Strings.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings that the MDAG will contain
+     */
+    public MDAG(Collection<String> strCollection)
+    {
+        addStrings(strCollection);
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a collection of Strings, notifying a listener of the work carried out in doing so.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings that the MDAG will contain
+     * @param buildListener     the MDAGBuildListener to be notified of the work carried out as the MDAG is built (and later modified)
+     */
+    public MDAG(Collection<String> strCollection, MDAGBuildListener buildListener)
+    {
+        this.buildListener = buildListener;
+        addStrings(strCollection);
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a collection of Strings, representing them with a given encoding (see {@link LabelEncoding}).
+     * A UTF-8 encoded MDAG stores each of its labels in a single byte once simplified, which shrinks lexicons consisting mostly 
+     * of ASCII chars, represents each supplementary code point with a single transition path instead of a surrogate pair, 
+     * and can be searched for the raw UTF-8 bytes of a String with {@link #contains(byte[], int, int)}.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings that the MDAG will contain
+     * @param labelEncoding     the LabelEncoding that the Strings are to be represented with
+     */
+    public MDAG(Collection<String> strCollection, LabelEncoding labelEncoding)
+    {
+        this.labelEncoding = labelEncoding;
+        addStrings(strCollection);
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a collection of Strings, building the parts of it containing the Strings
+     * that begin with each char concurrently. This is fastest when the Strings are in lexicographical order.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings that the MDAG will contain
+     * @param forkJoinPool      the ForkJoinPool that the parts of the MDAG are to be built on
+     */
+    public MDAG(Collection<String> strCollection, ForkJoinPool forkJoinPool)
+    {
+        TreeMap<Character, ArrayList<String>> leadingCharStrArrayListTreeMap = new TreeMap<Character, ArrayList<String>>();
+        
+        //Partition the Strings in strCollection by their first chars (preserving their order)
+        for(String str : strCollection)
+        {
+            if(!str.isEmpty())
+            {
+                ArrayList<String> strArrayList = leadingCharStrArrayListTreeMap.get(str.charAt(0));
+                
+                if(strArrayList == null)
+                {
+                    strArrayList = new ArrayList<String>();
+                    leadingCharStrArrayListTreeMap.put(str.charAt(0), strArrayList);
+                }
+                
+                strArrayList.add(str);
+            }
+            else if(!sourceNode.isAcceptNode())
+            {
+                sourceNode.setAcceptStateStatus(true);
+                stringCount++;
+            }
+        }
+        /////
+        
+        //Build a separate MDAG (with its own register) out of each partition on forkJoinPool
+        ArrayList<PartitionBuildTask> partitionBuildTaskArrayList = new ArrayList<PartitionBuildTask>(leadingCharStrArrayListTreeMap.size());
+        for(ArrayList<String> strArrayList : leadingCharStrArrayListTreeMap.values())
+        {
+            PartitionBuildTask partitionBuildTask = new PartitionBuildTask(strArrayList);
+            forkJoinPool.execute(partitionBuildTask);
+            partitionBuildTaskArrayList.add(partitionBuildTask);
+        }
+        /////
+        
+        //Move the outgoing transitions of the source node of each partition MDAG on to sourceNode
+        for(PartitionBuildTask partitionBuildTask : partitionBuildTaskArrayList)
+        {
+            MDAG partitionMDAG = partitionBuildTask.join();
+            MDAGNode partitionSourceNode = partitionMDAG.sourceNode;
+            int partitionSourceTransitionCount = partitionSourceNode.getOutgoingTransitionCount();
+            
+            for(int i = 0; i < partitionSourceTransitionCount; i++)
+                sourceNode.addOutgoingTransition(partitionSourceNode.getOutgoingTransitionLabel(i), partitionSourceNode.getOutgoingTransitionTargetNode(i));
+            
+            partitionSourceNode.decrementTargetIncomingTransitionCounts();
+            transitionCount += partitionMDAG.transitionCount;
+            nodeCount += partitionMDAG.nodeCount;
+            stringCount += partitionMDAG.stringCount;
+            charTreeSet.addAll(partitionMDAG.charTreeSet);
+        }
+        /////
+        
+        //Each partition is minimal, but equivalent nodes (e.g those of common suffixes) may exist in different ones.
+        //Register the nodes of all the partitions in equivalenceClassMDAGNodeRegister, merging those that are equivalent.
+        int sourceTransitionCount = sourceNode.getOutgoingTransitionCount();
+        for(int i = 0; i < sourceTransitionCount; i++)
+            replaceOrRegisterTransitionTarget(sourceNode, i);
+        /////
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a newline delimited file containing the data of interest, decoded using the platform's 
+     * default charset, building the parts of it containing the Strings that begin with each char concurrently. 
+     * This is fastest when the Strings are in lexicographical order.
+     
+     * @param dataFile          a {@link java.io.File} representation of a file
+     *                          containing the Strings that the MDAG will contain 
+     * @param forkJoinPool      the ForkJoinPool that the parts of the MDAG are to be built on
+     * @throws IOException      if {@code datafile} cannot be opened, or a read operation on it cannot be carried out
+     */
+    public MDAG(File dataFile, ForkJoinPool forkJoinPool) throws IOException
+    {
+        this(dataFile.toPath(), Charset.defaultCharset(), forkJoinPool);
+    }
+    
+    
+    
+    /**
+     * Creates an MDAG from a newline delimited file containing the data of interest, building the parts of 
+     * it containing the Strings that begin with each char concurrently. The file is split in to lines and decoded 
+     * exactly as it is by {@link #MDAG(Path, Charset)}. This is fastest when the Strings are in lexicographical order.
+     
+     * @param dataFilePath      a {@link java.nio.file.Path} of a file containing the Strings that the MDAG will contain 
+     * @param charset           the Charset that the contents of the file are encoded in. Malformed or unmappable
+     *                          input is replaced with the charset's replacement String.
+     * @param forkJoinPool      the ForkJoinPool that the parts of the MDAG are to be built on
+     * @throws IOException      if the file cannot be opened, or a read operation on it cannot be carried out
+     */
+    public MDAG(Path dataFilePath, Charset charset, ForkJoinPool forkJoinPool) throws IOException
+    {
+        this(readLines(dataFilePath, charset), forkJoinPool);
+    }
+    
+    
+    
+    /**
+     * Reads the lines of a newline delimited file.
+     
+     * @param dataFilePath      a {@link java.nio.file.Path} of a newline delimited file
+     * @param charset           the Charset that the contents of the file are encoded in
+     * @return                  an ArrayList containing the lines of the file, in order
+     * @throws IOException      if the file cannot be opened, or a read operation on it cannot be carried out
+     */
+    private static ArrayList<String> readLines(Path dataFilePath, Charset charset) throws IOException
+    {
+        LineCollector lineCollector = new LineCollector();
+        readLines(dataFilePath, charset, lineCollector);
+        
+        return lineCollector.lineArrayList;
+    }
+    
+    
+    
+    /**
+     * The class whose objects build a MDAG out of a list of Strings on a ForkJoinPool.
+     */
+    private static final class PartitionBuildTask extends RecursiveTask<MDAG>
+    {
+        private static final long serialVersionUID = 1L;
+        
+        //The ArrayList containing the Strings that the built MDAG is to contain
+        private final ArrayList<String> strArrayList;
+        
+        
+        
+        /**
+         * Constructs a PartitionBuildTask.
+         
+         * @param strArrayList      an ArrayList containing the Strings that the built MDAG is to contain
+         */
+        PartitionBuildTask(ArrayList<String> strArrayList)
+        {
+            this.strArrayList = strArrayList;
+        }
+        
+        
+        
+        @Override
+        protected MDAG compute()
+        {
+            return new MDAG(strArrayList);
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * Creates a simplified MDAG from an existing simplified representation of its data.
+     
+     * @param simplifiedMDAG        a SimpleMDAG containing the data of the MDAG
+     * @param charTreeSet           a TreeSet of the chars which collectively label the transitions in {@code simplifiedMDAG}
+     * @param labelEncoding         the LabelEncoding denoting how the MDAG's Strings are represented by its transition labels
+     */
+    private MDAG(SimpleMDAG simplifiedMDAG, TreeSet<Character> charTreeSet, LabelEncoding labelEncoding)
+    {
+        this.simplifiedMDAG = simplifiedMDAG;
+        this.charTreeSet = charTreeSet;
+        this.labelEncoding = labelEncoding;
+        transitionCount = simplifiedMDAG.getTransitionCount();
+        nodeCount = -1;
+        stringCount = -1;
+        
+        sourceNode = null;
+        equivalenceClassMDAGNodeRegister = null;
+        transitionPathNodeArray = null;
+    }
+    
+    
+    
+    /**
+     * Adds a Collection of Strings to the MDAG.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings to be added to the MDAG
+     */
+    public final void addStrings(Collection<String> strCollection)
+    {
+        if(sourceNode != null)
+        {
+            //Create the rotations of the Strings before any are added, so the MDAG 
+            //is unchanged if one of them can't be added to the substring index
+            RotationList rotationList = (rotatedMDAG != null ? new RotationList(strCollection) : null);
+            String previousString = ""; 
+        
+            //Add all the Strings in strCollection to the MDAG.
+            for(String str : strCollection)
+            {
+                String currentString = toLabelString(str);
+                int mpsIndex = calculateMinimizationProcessingStartIndex(previousString, currentString);
+
+                //If the transition path of the previousString needs to be examined for minimization or 
+                //equivalence class representation after a certain point, call replaceOrRegister to do so.
+                if(mpsIndex != -1)
+                    replaceOrRegister(previousString, mpsIndex, previousString.length());
+                /////
+
+                addStringInternal(currentString);
+                previousString = currentString;
+            }
+            /////
+
+            //Since we delay the minimization of the previously-added String
+            //until after we read the next one, we need to have a seperate
+            //statement to minimize the absolute last String.
+            replaceOrRegister(previousString, 0, previousString.length());
+            
+            if(reversedMDAG != null)
+                reversedMDAG.addStrings(reverseStrings(strCollection));
+            
+            if(rotatedMDAG != null)
+                rotatedMDAG.addStrings(rotationList);
+        }
+        else
+            throw new UnsupportedOperationException("MDAG is simplified. Unable to add additional Strings.");  
+    }
+    
+    
+    
+    /**
+     * Adds a string to the MDAG.
+     
+     * @param str       the String to be added to the MDAG 
+     */
+    public void addString(String str)
+    {
+        if(sourceNode != null)
+        {
+            RotationList rotationList = (rotatedMDAG != null ? new RotationList(Collections.singleton(str)) : null);
+            
+            String labelStr = toLabelString(str);
+            addStringInternal(labelStr);
+            replaceOrRegister(labelStr, 0, labelStr.length());
+            
+            if(reversedMDAG != null)
+                reversedMDAG.addString(reverseString(str));
+            
+            if(rotatedMDAG != null)
+                rotatedMDAG.addStrings(rotationList);
+        }
+        else
+            throw new UnsupportedOperationException("MDAG is simplified. Unable to add additional Strings.");  
+    }
+    
+    
+    
+    /**
+     * Removes a String from the MDAG. Nothing is done if the MDAG doesn't contain the String.
+     
+     * @param str       the String to be removed from the MDAG 
+     */
+    public void removeString(String str)
+    {
+        if(sourceNode != null)
+        {
+            String labelStr = toLabelString(str);
+            int transitionPathLength = removeStringInternal(labelStr);
+            
+            if(transitionPathLength != -1)
+            {
+                replaceOrRegister(labelStr, 0, transitionPathLength);
+
+                if(reversedMDAG != null)
+                    reversedMDAG.removeString(reverseString(str));
+
+                if(rotatedMDAG != null)
+                {
+                    for(String rotatedStr : new RotationList(Collections.singleton(str)))
+                        rotatedMDAG.removeString(rotatedStr);
+                }
+            }
+        }
+        else
+            throw new UnsupportedOperationException("MDAG is simplified. Unable to remove any Strings.");
+    }
+    
+    
+    
+    /**
+     * Removes a Collection of Strings from the MDAG. Strings that the MDAG doesn't contain are ignored.
+     
+     * @param strCollection     a {@link java.util.Collection} containing Strings to be removed from the MDAG
+     */
+    public void removeStrings(Collection<String> strCollection)
+    {
+        applyBatch(Collections.<String>emptyList(), strCollection);
+    }
+    
+    
+    
+    /**
+     * Adds one Collection of Strings to, and removes another from the MDAG. The result is the same as 
+     * that of removing the Strings in {@code removedStrCollection} and then adding those in {@code addedStrCollection}
+     * (so a String in both Collections is contained in the MDAG afterwards).
+     *
+     * The Strings of both Collections are processed together in lexicographical order, so the nodes in the transition path
+     * shared by consecutive Strings are only isolated and unregistered once, and each node is only minimized once, after the 
+     * last String whose transition path it is in has been processed (as is the case with additions in {@link #addStrings}).
+     
+     * @param addedStrCollection        a {@link java.util.Collection} containing Strings to be added to the MDAG
+     * @param removedStrCollection      a {@link java.util.Collection} containing Strings to be removed from the MDAG
+     *                                  (those that the MDAG doesn't contain are ignored)
+     */
+    public void applyBatch(Collection<String> addedStrCollection, Collection<String> removedStrCollection)
+    {
+        if(sourceNode != null)
+        {
+            //Create the rotations of the Strings before any are added, so the MDAG 
+            //is unchanged if one of them can't be added to the substring index
+            RotationList addedRotationList = (rotatedMDAG != null ? new RotationList(addedStrCollection) : null);
+            RotationList removedRotationList = (rotatedMDAG != null ? new RotationList(removedStrCollection) : null);
+            
+            ArrayList<String> addedStrArrayList = toLabelStrings(addedStrCollection);
+            ArrayList<String> removedStrArrayList = toLabelStrings(removedStrCollection);
+            Collections.sort(addedStrArrayList);
+            Collections.sort(removedStrArrayList);
+            
+            int addedStrCount = addedStrArrayList.size();
+            int removedStrCount = removedStrArrayList.size();
+            String previousString = "";
+            int previousTransitionPathLength = 0;   //The length of the part of previousString's transition path that is in the MDAG
+                                                    //and hasn't been processed for minimization yet (all of its nodes are unregistered)
+            
+            //Merge the sorted Strings to be added and removed, processing them in lexicographical order (a String to be removed 
+            //preceding its equal in the Strings to be added). As in addStrings, the minimization of each String's transition path
+            //is deferred until the next String is read, and only carried out on the part that isn't shared with the next String.
+            for(int addedStrIndex = 0, removedStrIndex = 0; addedStrIndex < addedStrCount || removedStrIndex < removedStrCount;)
+            {
+                boolean isRemoval = (addedStrIndex == addedStrCount 
+                                     || (removedStrIndex < removedStrCount && removedStrArrayList.get(removedStrIndex).compareTo(addedStrArrayList.get(addedStrIndex)) <= 0));
+                String currentString = (isRemoval ? removedStrArrayList.get(removedStrIndex++) : addedStrArrayList.get(addedStrIndex++));
+                
+                int mpsIndex = calculateMinimizationProcessingStartIndex(previousString, currentString);
+                
+                if(mpsIndex != -1)
+                {
+                    replaceOrRegister(previousString, mpsIndex, previousTransitionPathLength);
+                    previousTransitionPathLength = Math.min(mpsIndex, previousTransitionPathLength);
+                }
+                
+                if(isRemoval)
+                {
+                    int transitionPathLength = removeStringInternal(currentString);
+                    
+                    //If currentString isn't in the MDAG, nothing has been changed; transitionPathNodeArray still contains
+                    //the unprocessed part of previousString's transition path, since it is shared with currentString
+                    if(transitionPathLength != -1)
+                        previousTransitionPathLength = transitionPathLength;
+                }
+                else
+                {
+                    addStringInternal(currentString);
+                    previousTransitionPathLength = currentString.length();
+                }
+                
+                previousString = currentString;
+            }
+            /////
+
+            replaceOrRegister(previousString, 0, previousTransitionPathLength);
+            
+            if(reversedMDAG != null)
+                reversedMDAG.applyBatch(reverseStrings(addedStrCollection), reverseStrings(removedStrCollection));
+            
+            if(rotatedMDAG != null)
+                rotatedMDAG.applyBatch(addedRotationList, removedRotationList);
+        }
+        else
+            throw new UnsupportedOperationException("MDAG is simplified. Unable to add or remove any Strings.");
+    }
+    
+    
+    
+    /**
+     * Determines the start index of the substring in the String most recently added to the MDAG
+     * that corresponds to the transition path that will be next up for minimization processing.
+     *
+     * The "minimization processing start index" is defined as the index in {@code prevStr} which starts the substring
+     * corresponding to the transition path that doesn't have its right language extended by {@code currStr}. The transition path of
+     * the substring before this point is not considered for minimization in order to limit the amount of times the
+     * equivalence classes of its nodes will need to be reassigned during the processing of Strings which share prefixes.
+     
+     * @param prevStr       the CharSequence of the String most recently added to the MDAG
+     * @param currStr       the CharSequence of the String next to be added to the MDAG
+     * @return              an int of the index in {@code prevStr} that starts the substring corresponding
+     *                      to the transition path next up for minimization processing 
+     */
+    public int calculateMinimizationProcessingStartIndex(CharSequence prevStr, CharSequence currStr)
+    {   
+        int mpsIndex;
+        
+        //Loop through the corresponding indices of both Strings in search of the first index containing differing characters.
+        //The transition path of the substring of prevStr from this point will need to be submitted for minimization processing.
+        //The substring before this point, however, does not, since currStr will simply be extending the right languages of the 
+        //nodes on its transition path.
+        int shortestStringLength = Math.min(prevStr.length(), currStr.length());
+        for(mpsIndex = 0; mpsIndex < shortestStringLength && prevStr.charAt(mpsIndex) == currStr.charAt(mpsIndex); mpsIndex++){};
+        /////
+        
+        if(mpsIndex == prevStr.length())                    
+            mpsIndex =  -1;    //If the prevStr is a prefix of currStr, then currStr simply extends the right language of the transition path of prevStr. 
+        
+        return mpsIndex;    
+    }
+    
+    
+    
+    /**
+     * Determines the longest prefix of a given String that is
+     * the prefix of another String previously added to the MDAG.
+     
+     * @param str       the String to be processed 
+     * @return          a String of the longest prefix of {@code str} 
+     *                  that is also a prefix of a String contained in the MDAG
+     */
+    public String determineLongestPrefixInMDAG(String str)
+    {
+        str = toLabelString(str);
+        MDAGNode currentNode = sourceNode;
+        int numberOfChars = str.length();
+        int onePastPrefixEndIndex = 0;
+        
+        //Loop through the characters in str, using them in sequence to transition
+        //through the MDAG until the currently processing node doesn't have a transition
+        //labeled with the current processing char, or there are no more characters to process. 
+        for(int i = 0; i < numberOfChars; i++, onePastPrefixEndIndex++)
+        {
+            char currentChar = str.charAt(i);
+            if(currentNode.hasOutgoingTransition(currentChar))
+                currentNode = currentNode.transition(currentChar);
+            else
+                break;
+        }
+        /////
+        
+        return fromLabelString(str.substring(0, onePastPrefixEndIndex));
+    }
+    
+    
+    
+    /**
+     * Determines and retrieves data related to the first confluence node 
+     * (defined as a node with two or more incoming transitions) of a
+     * transition path corresponding to a given String from a given node.
+     
+     * @param originNode        the MDAGNode from which the transition path corresponding to str starts from
+     * @param str               a String corresponding to a transition path in the MDAG
+     * @return                  a HashMap of Strings to Objects containing:
+     *                              - an int denoting the length of the path to the first confluence node in the transition path of interest
+     *                              - the MDAGNode which is the first confluence node in the transition path of interest (or null if one does not exist)
+     */
+    public HashMap<String, Object> getTransitionPathFirstConfluenceNodeData(MDAGNode originNode, String str)
+    {
+        int currentIndex = 0;
+        int charCount = str.length();
+        MDAGNode currentNode = originNode;
+        
+        //Loop thorugh the characters in str, sequentially using them to transition through the MDAG in search of
+        //(and breaking upon reaching) the first node that is the target of two or more transitions. The loop is 
+        //also broken from if the currently processing node doesn't have a transition labeled with the currently processing char.
+        for(; currentIndex < charCount; currentIndex++)
+        {
+            char currentChar = str.charAt(currentIndex);
+            currentNode = (currentNode.hasOutgoingTransition(currentChar) ? currentNode.transition(currentChar) : null);
+            
+            if(currentNode == null || currentNode.isConfluenceNode())
+                break;
+        }
+        /////
+        
+        boolean noConfluenceNode = (currentNode == originNode  || currentIndex == charCount);
+        
+        //Create a HashMap containing the index of the last char in the substring corresponding
+        //to the transitoin path to the confluence node, as well as the actual confluence node
+        HashMap<String, Object> confluenceNodeDataHashMap = new HashMap<String, Object>(2);
+        confluenceNodeDataHashMap.put("toConfluenceNodeTransitionCharIndex", (noConfluenceNode ? null : currentIndex));
+        confluenceNodeDataHashMap.put("confluenceNode", noConfluenceNode ? null : currentNode);
+        /////
+
+        return confluenceNodeDataHashMap;
+    }
+
+
+
+    /**
+     * Performs minimization processing on a section of the transition path recorded in transitionPathNodeArray.
+     *
+     * This entails either replacing a node in the path with one that has an equivalent right language/equivalence class
+     * (defined as set of transition paths that can be traversed and nodes able to be reached from it), or making it
+     * a representative of a right language/equivalence class if a such a node does not already exist.
+     
+     * @param str               a CharSequence corresponding to the transition path recorded in transitionPathNodeArray
+     * @param beginIndex        an int of the index in {@code str} of the char labeling the first transition of the section to be processed
+     * @param endIndex          an int of one past the index in {@code str} of the char labeling the last transition of the section to be processed
+     */
+    private void replaceOrRegister(CharSequence str, int beginIndex, int endIndex)
+    {
+        if(beginIndex >= endIndex)
+            return;
+        
+        long beginTimeNanos = (buildListener != null ? System.nanoTime() : 0);
+        
+        //Determine the depth of the deepest node in the section of the transition path to be processed; the nodes past 
+        //one without outgoing transitions (if any) are not in the MDAG (e.g they've been removed along with a String)
+        int deepestNodeIndex = beginIndex + 1;
+        while(deepestNodeIndex < endIndex && transitionPathNodeArray[deepestNodeIndex].hasOutgoingTransitions())
+            deepestNodeIndex++;
+        /////
+        
+        //Process the nodes in the section from the deepest to the shallowest, so that the targets of a node's
+        //outgoing transitions have already been processed by the time the node itself is processed
+        for(int i = deepestNodeIndex; i > beginIndex; i--)
+        {
+            MDAGNode originNode = transitionPathNodeArray[i - 1];
+            MDAGNode relevantTargetNode = transitionPathNodeArray[i];
+            
+            //Get the node representing the equivalence class that relevantTargetNode belongs to. Since the targets of relevantTargetNode's
+            //outgoing transitions have been processed at this point, nodes with the same equivalence class as relevantTargetNode are those
+            //with the same accept state status and outgoing transitions (same labels and target nodes) as it.
+            MDAGNode equivalentNode = getEquivalentRegisteredNode(relevantTargetNode);
+
+            if(equivalentNode == null)  //if there is no node with the same right language as relevantTargetNode
+                registerNode(relevantTargetNode);
+            else if(equivalentNode != relevantTargetNode)   //if there is another node with the same right language as relevantTargetNode, reassign the  
+            {                                               //transition between originNode and relevantTargetNode, to originNode and the node representing the equivalence class of interest
+                relevantTargetNode.decrementTargetIncomingTransitionCounts();
+                nodeCount--;
+                transitionCount -= relevantTargetNode.getOutgoingTransitionCount(); //Since the deeper nodes have been processed, the outgoing transitions of all of relevantTargetNode's child nodes have 
+                                                                                    //already been reassigned, so we only need to decrement the transition count by the relevantTargetNode's outgoing transition count
+                originNode.reassignOutgoingTransition(str.charAt(i - 1), relevantTargetNode, equivalentNode);
+                transitionPathNodeArray[i] = equivalentNode;
+            }
+        }
+        /////
+        
+        if(buildListener != null)
+            buildListener.phaseCompleted(MDAGBuildListener.Phase.MINIMIZATION, System.nanoTime() - beginTimeNanos);
+    }
+    
+    
+    
+    /**
+     * Replaces the target of one of a node's outgoing transitions with the node representing its equivalence class
+     * (registering the target as such a node if there is none), first doing the same for the outgoing transitions
+     * of the target (and so on, recursively) if they haven't been processed yet.
+     
+     * @param originNode            an MDAGNode
+     * @param transitionIndex       an int denoting the position of the transition of interest in {@code originNode}'s outgoing transition set
+     */
+    private void replaceOrRegisterTransitionTarget(MDAGNode originNode, int transitionIndex)
+    {
+        MDAGNode relevantTargetNode = originNode.getOutgoingTransitionTargetNode(transitionIndex);
+        
+        //Registered nodes only have registered nodes as the targets of their transitions; a node that doesn't have an equivalent
+        //node in the register may therefore have unprocessed targets, which must be processed before it can itself be processed
+        MDAGNode equivalentNode = getEquivalentRegisteredNode(relevantTargetNode);
+        if(equivalentNode == null)
+        {
+            int relevantTargetTransitionCount = relevantTargetNode.getOutgoingTransitionCount();
+            for(int i = 0; i < relevantTargetTransitionCount; i++)
+                replaceOrRegisterTransitionTarget(relevantTargetNode, i);
+            
+            equivalentNode = getEquivalentRegisteredNode(relevantTargetNode);
+            
+            if(equivalentNode == null)
+            {
+                registerNode(relevantTargetNode);
+                equivalentNode = relevantTargetNode;
+            }
+        }
+        /////
+        
+        //If there is another node with the same right language as relevantTargetNode, reassign the transition between originNode
+        //and relevantTargetNode to it, discarding relevantTargetNode if this was the last transition that targeted it
+        if(equivalentNode != relevantTargetNode)
+        {
+            originNode.reassignOutgoingTransition(originNode.getOutgoingTransitionLabel(transitionIndex), relevantTargetNode, equivalentNode);
+            
+            if(relevantTargetNode.getIncomingTransitionCount() == 0)
+            {
+                relevantTargetNode.decrementTargetIncomingTransitionCounts();
+                transitionCount -= relevantTargetNode.getOutgoingTransitionCount();
+                nodeCount--;
+            }
+        }
+        /////
+    }
+    
+    
+    
+    /**
+     * Records in transitionPathNodeArray the nodes in the transition path from sourceNode corresponding to a given String
+     * (or the longest prefix of it that corresponds to a transition path in the MDAG).
+     
+     * @param str       a CharSequence of a String
+     * @return          an int denoting the length of the longest prefix of {@code str} that 
+     *                  corresponds to a transition path from sourceNode in the MDAG
+     */
+    private int recordTransitionPathNodes(CharSequence str)
+    {
+        int charCount = str.length();
+        
+        if(transitionPathNodeArray.length <= charCount)
+            transitionPathNodeArray = new MDAGNode[Math.max(charCount + 1, transitionPathNodeArray.length * 2)];
+        
+        MDAGNode currentNode = sourceNode;
+        transitionPathNodeArray[0] = currentNode;
+        int prefixLength = 0;
+        
+        //Loop through the characters in str, using them in sequence to transition through the MDAG (recording each node 
+        //reached in transitionPathNodeArray) until the currently processing node doesn't have a transition labeled 
+        //with the current processing char, or there are no more characters to process. 
+        for(; prefixLength < charCount; prefixLength++)
+        {
+            currentNode = currentNode.transition(str.charAt(prefixLength));
+            
+            if(currentNode == null)
+                break;
+            
+            transitionPathNodeArray[prefixLength + 1] = currentNode;
+        }
+        /////
+        
+        return prefixLength;
+    }
+    
+    
+    
+    /**
+     * Prepares the nodes in a section of the transition path recorded in transitionPathNodeArray to be changed.
+     *
+     * This entails removing the register entries (and reachable graph data) of all the nodes in the section up to the first 
+     * confluence node (a node with two or more incoming transitions). Those past the confluence node will not need to be removed since 
+     * they are cloned (each clone taking the place of its original in the transition of the previous node in the path), ensuring 
+     * that the other transition paths containing the confluence node are not disturbed by changes to the section.
+     
+     * @param str                       a CharSequence corresponding to the transition path recorded in transitionPathNodeArray
+     * @param transitionPathLength      an int denoting the number of transitions in the section (which starts from sourceNode)
+     */
+    private void isolateTransitionPath(CharSequence str, int transitionPathLength)
+    {
+        sourceNode.clearReachableGraphData();
+        int firstConfluenceNodeIndex = 1;
+        for(; firstConfluenceNodeIndex <= transitionPathLength && !transitionPathNodeArray[firstConfluenceNodeIndex].isConfluenceNode(); firstConfluenceNodeIndex++)
+        {
+            unregisterNode(transitionPathNodeArray[firstConfluenceNodeIndex]);
+            transitionPathNodeArray[firstConfluenceNodeIndex].clearReachableGraphData();
+        }
+        /////
+        
+        for(int i = firstConfluenceNodeIndex; i <= transitionPathLength; i++)
+        {
+            MDAGNode clonedNode = transitionPathNodeArray[i].clone(transitionPathNodeArray[i - 1], str.charAt(i - 1));
+            transitionCount += clonedNode.getOutgoingTransitionCount();
+            nodeCount++;
+            
+            if(buildListener != null)
+                buildListener.nodeCloned(transitionPathNodeArray[i], clonedNode);
+            
+            transitionPathNodeArray[i] = clonedNode;
+        }
+        /////
+    }
+    
+    
+    
+    /**
+     * Removes a String from the MDAG (called by removeString and applyBatch to do actual MDAG manipulation). The nodes in 
+     * what remains of the transition path of the String are left in transitionPathNodeArray, for use in its subsequent minimization processing.
+     
+     * @param str       a String to be removed from the MDAG
+     * @return          an int denoting the length of the part of {@code str}'s transition path that remains in the MDAG,
+     *                  or -1 if the MDAG doesn't contain {@code str} (in which case it is left unchanged)
+     */
+    private int removeStringInternal(String str)
+    {
+        int charCount = str.length();
+        
+        if(recordTransitionPathNodes(str) != charCount || !transitionPathNodeArray[charCount].isAcceptNode())
+            return -1;
+        
+        long beginTimeNanos = (buildListener != null ? System.nanoTime() : 0);
+        isolateTransitionPath(str, charCount);
+        transitionPathNodeArray[charCount].setAcceptStateStatus(false);
+        stringCount--;
+        
+        //Remove the transitions to the nodes at the end of the (now isolated) transition path that are neither 
+        //accept nodes nor have outgoing transitions, since no String corresponds to a transition path through them
+        int transitionPathLength = charCount;
+        for(; transitionPathLength > 0 && !transitionPathNodeArray[transitionPathLength].isAcceptNode() 
+                && !transitionPathNodeArray[transitionPathLength].hasOutgoingTransitions(); transitionPathLength--, transitionCount--, nodeCount--)
+            transitionPathNodeArray[transitionPathLength - 1].removeOutgoingTransition(str.charAt(transitionPathLength - 1));
+        /////
+        
+        if(buildListener != null)
+            buildListener.phaseCompleted(MDAGBuildListener.Phase.MODIFICATION, System.nanoTime() - beginTimeNanos);
+        
+        return transitionPathLength;
+    }
+    
+    
+    
+    /**
+     * Adds a String to the MDAG (called by addString to do actual MDAG manipulation). The nodes in the transition 
+     * path of the String are left in transitionPathNodeArray, for use in its subsequent minimization processing.
+     
+     * @param str       a CharSequence of the String to be added to the MDAG
+     */
+    private void addStringInternal(CharSequence str)
+    {
+        long beginTimeNanos = (buildListener != null ? System.nanoTime() : 0);
+        int charCount = str.length();
+        int prefixLength = recordTransitionPathNodes(str);
+        
+        //Isolate the transition path of the prefix of str in the MDAG, so that the suffix can be added to
+        //the end of it (and the accept status of its last node changed) without affecting other Strings 
+        isolateTransitionPath(str, prefixLength);
+        
+        //Add the transition path based on the suffix to the end of the (possibly duplicated) transition path corresponding to the prefix
+        MDAGNode currentNode = transitionPathNodeArray[prefixLength];
+        if(prefixLength < charCount || !currentNode.isAcceptNode())
+            stringCount++;
+        
+        if(prefixLength == charCount)
+            currentNode.setAcceptStateStatus(true);
+        
+        for(int i = prefixLength; i < charCount; i++, transitionCount++, nodeCount++)
+        {
+            char currentChar = str.charAt(i);
+            currentNode = currentNode.addOutgoingTransition(currentChar, i == charCount - 1);
+            transitionPathNodeArray[i + 1] = currentNode;
+            
+            charTreeSet.add(currentChar);
+            
+            if(buildListener != null)
+                buildListener.nodeCreated(currentNode);
+        }
+        /////
+        
+        if(buildListener != null)
+            buildListener.phaseCompleted(MDAGBuildListener.Phase.MODIFICATION, System.nanoTime() - beginTimeNanos);
+    }
+    
+    
+    
+    /**
+     * Searches equivalenceClassMDAGNodeRegister for the node representing the equivalence class of a given node.
+     
+     * @param node      an MDAGNode whose outgoing transitions target equivalence class representatives
+     * @return          the registered MDAGNode equivalent to {@code node} (which may be {@code node} itself), 
+     *                  or null if there is no such node
+     */
+    private MDAGNode getEquivalentRegisteredNode(MDAGNode node)
+    {
+        MDAGNode equivalentNode = equivalenceClassMDAGNodeRegister.get(node);
+        
+        if(buildListener != null)
+            buildListener.registerLookup(node, equivalentNode != null);
+        
+        return equivalentNode;
+    }
+    
+    
+    
+    /**
+     * Registers a node in equivalenceClassMDAGNodeRegister as the representative of its equivalence class.
+     
+     * @param node      an MDAGNode without an equivalent registered node
+     */
+    private void registerNode(MDAGNode node)
+    {
+        equivalenceClassMDAGNodeRegister.add(node);
+        
+        if(buildListener != null)
+            buildListener.registerAddition(node);
+    }
+    
+    
+    
+    /**
+     * Removes a node from equivalenceClassMDAGNodeRegister, if it is registered.
+     
+     * @param node      an MDAGNode
+     */
+    private void unregisterNode(MDAGNode node)
+    {
+        boolean wasRegistered = equivalenceClassMDAGNodeRegister.remove(node);
+        
+        if(buildListener != null)
+            buildListener.registerRemoval(node, wasRegistered);
+    }
+    
+
+
+    /**
+     * Creates a simplified version of an MDAGNode's outgoing transition set in a SimpleMDAG.
+     
+     * @param node                                      the MDAGNode containing the transition set to be inserted in to {@code simpleMDAG}
+     * @param simpleMDAG                                an ArraySimpleMDAG containing a subset of the data of the MDAG
+     * @param onePastLastCreatedConnectionSetIndex      an int of the index in {@code simpleMDAG} that the outgoing transition set of {@code node} is to start from 
+     * @return                                          an int of one past the end of the transition set located farthest in {@code simpleMDAG}
+     */
+    private int createSimpleMDAGTransitionSet(MDAGNode node, ArraySimpleMDAG simpleMDAG, int onePastLastCreatedTransitionSetIndex)
+    {   
+        int pivotIndex = onePastLastCreatedTransitionSetIndex;
+        node.setTransitionSetBeginIndex(pivotIndex);
+        
+        onePastLastCreatedTransitionSetIndex += node.getOutgoingTransitionCount(); 
+
+        //Create a SimpleMDAGNode representing each transition label/target combo in node's transition set, recursively calling this method (if necessary)
+        //to set indices in these SimpleMDAGNodes that the set of transitions emitting from their respective transition targets starts from.
+        int transitionSetSize = node.getOutgoingTransitionCount();
+        for(int i = 0; i < transitionSetSize; i++)
+        {
+            //Use the current transition's label and target node to record the
+            //(space-saving representation of the) transition in simpleMDAG
+            char transitionLabelChar = node.getOutgoingTransitionLabel(i);
+            MDAGNode transitionTargetNode = node.getOutgoingTransitionTargetNode(i);
+            simpleMDAG.setNode(pivotIndex, transitionLabelChar, transitionTargetNode.isAcceptNode(), transitionTargetNode.getOutgoingTransitionCount());
+            /////
+            
+            //If targetTransitionNode's outgoing transition set hasn't been inserted in to simpleMDAG yet (or is outdated), call this method on it to do so. 
+            //After this call returns, transitionTargetNode will contain the index in simpleMDAG that its transition set starts from
+            if(transitionTargetNode.getTransitionSetBeginIndex() < 0)
+                onePastLastCreatedTransitionSetIndex = createSimpleMDAGTransitionSet(transitionTargetNode, simpleMDAG, onePastLastCreatedTransitionSetIndex);
+            
+            simpleMDAG.setTransitionSetBeginIndex(pivotIndex++, transitionTargetNode.getTransitionSetBeginIndex());
+        }
+        /////
+        
+        return onePastLastCreatedTransitionSetIndex;
+    }
+
+    
+    
+    /**
+     * Creates a simplified representation of the MDAG. This records the index that the transition set of each node 
+     * begins at in the simplified representation in the node.
+     
+     * @return      an ArraySimpleMDAG representing the MDAG
+     */
+    private ArraySimpleMDAG createArraySimpleMDAG()
+    {
+        ArraySimpleMDAG arraySimpleMDAG = new ArraySimpleMDAG(transitionCount, createAlphabetArray());
+        arraySimpleMDAG.setNode(SimpleMDAG.SOURCE_NODE_INDEX, '\0', sourceNode.isAcceptNode(), sourceNode.getOutgoingTransitionCount());
+        arraySimpleMDAG.setTransitionSetBeginIndex(SimpleMDAG.SOURCE_NODE_INDEX, SimpleMDAG.SOURCE_NODE_INDEX + 1);
+        createSimpleMDAGTransitionSet(sourceNode, arraySimpleMDAG, SimpleMDAG.SOURCE_NODE_INDEX + 1);
+        arraySimpleMDAG.createDenseTransitionTables();
+        
+        return arraySimpleMDAG;
+    }
+    
+    
+    
+    /**
+     * Creates the alphabet that the ranks stored in place of the letters of a simplified representation of the MDAG refer to.
+     * Since the MDAG's alphabet only grows, the ranks of a representation remain valid for as long as the alphabet's size is unchanged.
+     
+     * @return      a char array containing the chars labeling the MDAG's transitions in ascending order, or null 
+     *              if there are too many of them for their ranks to be stored in bytes
+     */
+    private char[] createAlphabetArray()
+    {
+        if(charTreeSet.size() > SimpleMDAG.MAX_BYTE_LETTER_ALPHABET_SIZE)
+            return null;
+        
+        char[] alphabetArray = new char[charTreeSet.size()];
+        int i = 0;
+        
+        for(char letter : charTreeSet)
+            alphabetArray[i++] = letter;
+        
+        return alphabetArray;
+    }
+    
+    
+    
+    /**
+     * Resets the transition set begin indices recorded in all the nodes in the MDAG.
+     */
+    private void clearTransitionSetBeginIndices()
+    {
+        Set<MDAGNode> visitedNodeSet = Collections.newSetFromMap(new IdentityHashMap<MDAGNode, Boolean>());
+        Stack<MDAGNode> nodeStack = new Stack<MDAGNode>();
+        nodeStack.push(sourceNode);
+        visitedNodeSet.add(sourceNode);
+        
+        while(!nodeStack.isEmpty())
+        {
+            MDAGNode currentNode = nodeStack.pop();
+            currentNode.setTransitionSetBeginIndex(-1);
+            
+            int transitionSetSize = currentNode.getOutgoingTransitionCount();
+            for(int i = 0; i < transitionSetSize; i++)
+            {
+                MDAGNode targetNode = currentNode.getOutgoingTransitionTargetNode(i);
+                
+                if(visitedNodeSet.add(targetNode))
+                    nodeStack.push(targetNode);
+            }
+        }
+        /////
+    }
+    
+    
+    
+    /**
+     * Flags the nodes reachable from a given node whose transition sets aren't in snapshotSimpleMDAG
+     * (those created or changed since it was created), by setting their recorded transition set begin indices to -2.
+     
+     * @param node      an MDAGNode whose transition set isn't in snapshotSimpleMDAG
+     * @return          an int denoting the number of transitions in the transition sets of the flagged nodes
+     */
+    private int flagUnsnapshottedTransitionSets(MDAGNode node)
+    {
+        node.setTransitionSetBeginIndex(-2);
+        int transitionSetSize = node.getOutgoingTransitionCount();
+        int unsnapshottedTransitionCount = transitionSetSize;
+        
+        for(int i = 0; i < transitionSetSize; i++)
+        {
+            MDAGNode targetNode = node.getOutgoingTransitionTargetNode(i);
+            
+            if(targetNode.getTransitionSetBeginIndex() == -1)
+                unsnapshottedTransitionCount += flagUnsnapshottedTransitionSets(targetNode);
+        }
+        
+        return unsnapshottedTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Creates an independent, simplified copy of the MDAG (along with its suffix and substring indexes, if it has them), 
+     * leaving the MDAG unchanged and still modifiable. The copy cannot be modified, and can be safely queried by any 
+     * number of threads at once, so it is suitable for publishing to readers while the MDAG continues to be modified.
+     * A simplified MDAG is its own snapshot.
+     
+     * The MDAG remembers the layout of the last snapshot created from it. The next snapshot copies that layout wholesale 
+     * and only lays out the transition sets of the nodes created or changed in the meantime, so it doesn't traverse the 
+     * unchanged parts of the MDAG. The transitions made unreachable by the changes are carried over until they make up 
+     * half of the snapshot, at which point it is laid out from scratch. Use {@link #simplify()} for the most compact form.
+     
+     * @return      a simplified MDAG containing the Strings currently in this MDAG
+     */
+    public MDAG snapshot()
+    {
+        if(sourceNode == null)
+            return this;
+        
+        long beginTimeNanos = (buildListener != null ? System.nanoTime() : 0);
+        
+        //If the MDAG hasn't been changed since the last snapshot, share its (immutable) simplified representation
+        ArraySimpleMDAG arraySimpleMDAG = snapshotSimpleMDAG;
+        
+        if(arraySimpleMDAG == null)
+            arraySimpleMDAG = createArraySimpleMDAG();
+        else if(sourceNode.getTransitionSetBeginIndex() == -1)
+        {
+            int snapshotTransitionArrayLength = snapshotSimpleMDAG.getTransitionCount() + 1;
+            int unsnapshottedTransitionCount = flagUnsnapshottedTransitionSets(sourceNode);
+            
+            //The snapshot is laid out from scratch if too many of its transitions are unreachable, 
+            //or if chars added to the alphabet have changed the ranks stored in place of its letters
+            if(snapshotTransitionArrayLength + unsnapshottedTransitionCount > MAX_SNAPSHOT_TRANSITION_COUNT_RATIO * (transitionCount + 1)
+               || (snapshotSimpleMDAG.hasByteLetters() && snapshotSimpleMDAG.getAlphabetSize() != charTreeSet.size()))
+            {
+                clearTransitionSetBeginIndices();
+                arraySimpleMDAG = createArraySimpleMDAG();
+            }
+            else
+            {
+                //Copy the last snapshot, and append the transition sets of the nodes created or changed since
+                arraySimpleMDAG = new ArraySimpleMDAG(snapshotTransitionArrayLength - 1 + unsnapshottedTransitionCount, createAlphabetArray());
+                arraySimpleMDAG.copyTransitions(snapshotSimpleMDAG, snapshotTransitionArrayLength);
+                createSimpleMDAGTransitionSet(sourceNode, arraySimpleMDAG, snapshotTransitionArrayLength);
+                arraySimpleMDAG.setNode(SimpleMDAG.SOURCE_NODE_INDEX, '\0', sourceNode.isAcceptNode(), sourceNode.getOutgoingTransitionCount());
+                arraySimpleMDAG.setTransitionSetBeginIndex(SimpleMDAG.SOURCE_NODE_INDEX, sourceNode.getTransitionSetBeginIndex());
+                arraySimpleMDAG.createDenseTransitionTables();
+                /////
+            }
+        }
+        
+        snapshotSimpleMDAG = arraySimpleMDAG;
+        
+        if(buildListener != null)
+            buildListener.phaseCompleted(MDAGBuildListener.Phase.SNAPSHOT, System.nanoTime() - beginTimeNanos);
+        
+        MDAG snapshotMDAG = new MDAG(arraySimpleMDAG, new TreeSet<Character>(charTreeSet), labelEncoding);
+        snapshotMDAG.transitionCount = transitionCount;
+        snapshotMDAG.nodeCount = nodeCount;
+        snapshotMDAG.stringCount = stringCount;
+        
+        if(reversedMDAG != null)
+            snapshotMDAG.reversedMDAG = reversedMDAG.snapshot();
+        
+        if(rotatedMDAG != null)
+            snapshotMDAG.rotatedMDAG = rotatedMDAG.snapshot();
+        
+        return snapshotMDAG;
+    }
+    
+    
+    
+    /**
+     * Creates a space-saving version of the MDAG in the form of a set of parallel primitive arrays. If no more than 256
+     * chars label the MDAG's transitions, each label is stored as its rank among them in a single byte, and each node too
+     * wide to be searched linearly is given a bitmap of the ranks labeling its transitions, which is used to both test for
+     * and locate a transition. Once the MDAG is simplified, Strings can no longer be added to or removed from it.
+     */
+    public void simplify()
+    {
+        if(sourceNode != null)
+        {
+            long beginTimeNanos = (buildListener != null ? System.nanoTime() : 0);
+            
+            if(snapshotSimpleMDAG != null)
+                clearTransitionSetBeginIndices();
+            
+            simplifiedMDAG = createArraySimpleMDAG();
+            
+            if(buildListener != null)
+                buildListener.phaseCompleted(MDAGBuildListener.Phase.SIMPLIFICATION, System.nanoTime() - beginTimeNanos);
+
+            //Mark the previous MDAG data structure, equivalenceClassMDAGNodeRegister and 
+            //transitionPathNodeArray for garbage collection since they are no longer needed.
+            sourceNode = null;
+            equivalenceClassMDAGNodeRegister = null;
+            transitionPathNodeArray = null;
+            snapshotSimpleMDAG = null;
+            /////
+            
+            if(reversedMDAG != null)
+                reversedMDAG.simplify();
+            
+            if(rotatedMDAG != null)
+                rotatedMDAG.simplify();
+        }
+    }
+    
+    
+    
+    /**
+     * Sets the listener to be notified of the work carried out as the MDAG (and its suffix and substring indexes, 
+     * if any) is modified and simplified from here on.
+     
+     * @param buildListener     the MDAGBuildListener to be notified, or null to stop notifications
+     */
+    public void setBuildListener(MDAGBuildListener buildListener)
+    {
+        this.buildListener = buildListener;
+        
+        if(reversedMDAG != null)
+            reversedMDAG.setBuildListener(buildListener);
+        
+        if(rotatedMDAG != null)
+            rotatedMDAG.setBuildListener(buildListener);
+    }
+    
+    
+    
+    /**
+     * Creates a suffix index for the MDAG: a companion MDAG containing the reversals of its Strings, which allows 
+     * the Strings ending with a given String to be found in time proportional to its length and the number of matches 
+     * (instead of the size of the lexicon). Once created, the index is kept up to date as Strings are added to or removed 
+     * from the MDAG, and is simplified along with it. The index is not written to simplified MDAG files.
+     */
+    public void createSuffixIndex()
+    {
+        if(reversedMDAG == null)
+        {
+            ArrayList<String> strArrayList = new ArrayList<String>();
+            visitAllStrings(new CollectionPopulatingVisitor(strArrayList));
+            
+            MDAG newReversedMDAG = new MDAG(reverseStrings(strArrayList), buildListener);
+            
+            if(sourceNode == null)      //if the MDAG has been simplified
+                newReversedMDAG.simplify();
+            
+            reversedMDAG = newReversedMDAG;
+        }
+    }
+    
+    
+    
+    /**
+     * Determines whether the MDAG has a suffix index.
+     
+     * @return      true if {@link #createSuffixIndex()} has been called on this MDAG, false otherwise
+     */
+    public boolean hasSuffixIndex()
+    {
+        return (reversedMDAG != null);
+    }
+    
+    
+    
+    /**
+     * Creates a substring index for the MDAG: a companion MDAG containing every rotation of each of its (non-empty) Strings 
+     * in which the String's end and beginning are joined by a separator char ('\uFFFF'). A String contains a given 
+     * String if and only if one of its rotations begins with it, so the Strings containing a given String can be found 
+     * without traversing those that don't. Once created, the index is kept up to date as Strings are added to or removed 
+     * from the MDAG, and is simplified along with it. The index is not written to simplified MDAG files.
+     *
+     * The index contains a transition path for each char of each String, and shares far less of its structure than the MDAG,
+     * so it is typically more than ten times the MDAG's size: for a lexicon of about 100,000 English words (830,000 chars), 
+     * it takes up about 51 MB (9.5 MB once simplified) against the MDAG's 4.4 MB (0.7 MB), and is built in about 2 seconds. 
+     * Its size for a given lexicon is reported by {@link #memoryReport()}.
+     
+     * @throws IllegalArgumentException     if a String in the MDAG contains the separator char
+     */
+    public void createSubstringIndex()
+    {
+        if(rotatedMDAG == null)
+        {
+            ArrayList<String> strArrayList = new ArrayList<String>();
+            visitAllStrings(new CollectionPopulatingVisitor(strArrayList));
+            
+            MDAG newRotatedMDAG = new MDAG(new RotationList(strArrayList), buildListener);
+            
+            if(sourceNode == null)      //if the MDAG has been simplified
+                newRotatedMDAG.simplify();
+            
+            rotatedMDAG = newRotatedMDAG;
+        }
+    }
+    
+    
+    
+    /**
+     * Determines whether the MDAG has a substring index.
+     
+     * @return      true if {@link #createSubstringIndex()} has been called on this MDAG, false otherwise
+     */
+    public boolean hasSubstringIndex()
+    {
+        return (rotatedMDAG != null);
+    }
+    
+    
+    
+    /**
+     * Reverses the order of the chars in a String.
+     
+     * @param str       a String
+     * @return          a String containing the chars of {@code str} in reverse order
+     */
+    private static String reverseString(String str)
+    {
+        int charCount = str.length();
+        char[] reversedCharArray = new char[charCount];
+        
+        for(int i = 0; i < charCount; i++)
+            reversedCharArray[i] = str.charAt(charCount - 1 - i);
+        
+        return new String(reversedCharArray);
+    }
+    
+    
+    
+    /**
+     * Reverses each String in a collection.
+     
+     * @param strCollection     a {@link java.util.Collection} of Strings
+     * @return                  an ArrayList containing the reversals of the Strings in {@code strCollection}, 
+     *                          in lexicographical order (the order in which they are most quickly added to a MDAG)
+     */
+    private static ArrayList<String> reverseStrings(Collection<String> strCollection)
+    {
+        ArrayList<String> reversedStrArrayList = new ArrayList<String>(strCollection.size());
+        
+        for(String str : strCollection)
+            reversedStrArrayList.add(reverseString(str));
+        
+        Collections.sort(reversedStrArrayList);
+        return reversedStrArrayList;
+    }
+    
+    
+    
+    /**
+     * Creates the sequence of labels which represents a String in the MDAG (see {@link LabelEncoding}).
+     
+     * @param str       a String
+     * @return          a String containing the labels of the transition path which represents {@code str} in the MDAG
+     */
+    private String toLabelString(String str)
+    {
+        return (labelEncoding == LabelEncoding.UTF8 ? UTF8LabelCodec.encode(str) : str);
+    }
+    
+    
+    
+    /**
+     * Creates the sequences of labels which represent each String in a collection in the MDAG.
+     
+     * @param strCollection     a {@link java.util.Collection} of Strings
+     * @return                  an ArrayList containing the label sequences of the Strings in {@code strCollection}, in the same order
+     */
+    private ArrayList<String> toLabelStrings(Collection<String> strCollection)
+    {
+        ArrayList<String> labelStrArrayList = new ArrayList<String>(strCollection.size());
+        
+        for(String str : strCollection)
+            labelStrArrayList.add(toLabelString(str));
+        
+        return labelStrArrayList;
+    }
+    
+    
+    
+    /**
+     * Determines the String that a sequence of labels in the MDAG represents (see {@link LabelEncoding}).
+     
+     * @param labelStr      a String containing the labels of a transition path in the MDAG
+     * @return              the String represented by {@code labelStr} (any incomplete 
+     *                      UTF-8 encoded code point at its end is ignored)
+     */
+    private String fromLabelString(String labelStr)
+    {
+        return (labelEncoding == LabelEncoding.UTF8 ? UTF8LabelCodec.decode(labelStr) : labelStr);
+    }
+    
+    
+    
+    /**
+     * Creates the visitor that the label sequences of the Strings in the MDAG are to be handed to in order to hand the Strings 
+     * to a given visitor (the visitor itself, or one that decodes the label sequences if the MDAG is UTF-8 encoded).
+     
+     * @param visitor       the MDAGVisitor that the Strings are to be handed to
+     * @return              an MDAGVisitor which hands the Strings represented by the label sequences handed to it to {@code visitor}
+     */
+    private MDAGVisitor createLabelDecodingVisitor(MDAGVisitor visitor)
+    {
+        return (labelEncoding == LabelEncoding.UTF8 ? new UTF8DecodingVisitor(visitor) : visitor);
+    }
+    
+    
+    
+    /**
+     * Writes the simplified version of the MDAG to a compact, versioned and checksummed
+     * binary file, which can later be memory mapped as an MDAG with {@link #load(File)}.
+     
+     * @param simplifiedMDAGFile                a File to write the simplified MDAG to
+     * @throws IOException                      if {@code simplifiedMDAGFile} cannot be opened, or a write operation on it cannot be carried out
+     * @throws UnsupportedOperationException    if the MDAG has not been simplified
+     */
+    public void save(File simplifiedMDAGFile) throws IOException
+    {
+        if(simplifiedMDAG != null)
+            simplifiedMDAG.write(simplifiedMDAGFile, charTreeSet, labelEncoding == LabelEncoding.UTF8);
+        else
+            throw new UnsupportedOperationException("MDAG is not simplified. Unable to save it.");
+    }
+    
+    
+    
+    /**
+     * Creates a simplified MDAG from a simplified MDAG file written by {@link #save(File)}, verifying the file's checksum.
+     * The file is memory mapped and searched in place, so no part of the MDAG's data is copied on to the heap.
+     
+     * @param simplifiedMDAGFile        a File containing a simplified MDAG
+     * @return                          a simplified MDAG backed by the memory mapped contents of {@code simplifiedMDAGFile}
+     * @throws IOException              if {@code simplifiedMDAGFile} cannot be opened or mapped, is not a valid
+     *                                  simplified MDAG file of a supported version, or fails checksum verification
+     */
+    public static MDAG load(File simplifiedMDAGFile) throws IOException
+    {
+        return load(simplifiedMDAGFile, true);
+    }
+    
+    
+    
+    /**
+     * Creates a simplified MDAG from a simplified MDAG file written by {@link #save(File)}.
+     * The file is memory mapped and searched in place, so no part of the MDAG's data is copied on to the heap.
+     
+     * @param simplifiedMDAGFile        a File containing a simplified MDAG
+     * @param verifyChecksum            true if the checksum of the file should be verified (which requires reading all of it), false otherwise
+     * @return                          a simplified MDAG backed by the memory mapped contents of {@code simplifiedMDAGFile}
+     * @throws IOException              if {@code simplifiedMDAGFile} cannot be opened or mapped, is not a valid simplified
+     *                                  MDAG file of a supported version, or fails checksum verification (if requested)
+     */
+    public static MDAG load(File simplifiedMDAGFile, boolean verifyChecksum) throws IOException
+    {
+        MappedSimpleMDAG mappedSimpleMDAG = new MappedSimpleMDAG(simplifiedMDAGFile, verifyChecksum);
+        LabelEncoding labelEncoding = (mappedSimpleMDAG.hasUTF8Labels() ? LabelEncoding.UTF8 : LabelEncoding.UTF16);
+        return new MDAG(mappedSimpleMDAG, mappedSimpleMDAG.getTransitionLabelSet(), labelEncoding);
+    }
+    
+    
+    
+    /**
+     * Determines whether a String is present in the MDAG.
+     
+     * @param str       the String to be searched for
+     * @return          true if {@code str} is present in the MDAG, and false otherwise
+     */
+    public boolean contains(String str)
+    {
+        return contains((CharSequence)str);
+    }
+    
+    
+    
+    /**
+     * Determines whether the String made up of the chars of a CharSequence is present in the MDAG. 
+     * If the MDAG is UTF-8 encoded, the chars are encoded as they are transitioned on, so nothing is allocated.
+     
+     * @param charSequence      the CharSequence containing the chars of the String to be searched for
+     * @return                  true if the String is present in the MDAG, and false otherwise
+     */
+    public boolean contains(CharSequence charSequence)
+    {
+        int charCount = charSequence.length();
+        
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+        {
+            MDAGNode currentNode = sourceNode;
+            
+            //Transition through the MDAG using the chars (or the UTF-8 encodings of the code points) in charSequence
+            for(int i = 0; i < charCount && currentNode != null;)
+            {
+                if(labelEncoding == LabelEncoding.UTF16)
+                    currentNode = currentNode.transition(charSequence.charAt(i++));
+                else
+                {
+                    int codePoint = Character.codePointAt(charSequence, i);
+                    currentNode = transition(currentNode, codePoint);
+                    i += Character.charCount(codePoint);
+                }
+            }
+            /////
+            
+            return (currentNode != null && currentNode.isAcceptNode());
+        }
+        else
+        {
+            int currentNodeIndex = SimpleMDAG.SOURCE_NODE_INDEX;
+            
+            //Transition through the MDAG using the chars (or the UTF-8 encodings of the code points) in charSequence
+            for(int i = 0; i < charCount && currentNodeIndex != -1;)
+            {
+                if(labelEncoding == LabelEncoding.UTF16)
+                    currentNodeIndex = simplifiedMDAG.transition(currentNodeIndex, charSequence.charAt(i++));
+                else
+                {
+                    int codePoint = Character.codePointAt(charSequence, i);
+                    currentNodeIndex = transition(currentNodeIndex, codePoint);
+                    i += Character.charCount(codePoint);
+                }
+            }
+            /////
+            
+            return (currentNodeIndex != -1 && simplifiedMDAG.isAcceptNode(currentNodeIndex));
+        }
+    }
+    
+    
+    
+    /**
+     * Determines whether the String whose UTF-8 encoding is in a region of a byte array is present in the MDAG. If the MDAG
+     * is UTF-8 encoded, the bytes are transitioned on directly; otherwise, they are decoded as they are transitioned on. 
+     * Either way, nothing is allocated, so raw UTF-8 input (e.g that read from a network) can be searched for as is.
+     
+     * @param byteArray     a byte array containing the UTF-8 encoding of the String to be searched for
+     * @param offset        an int denoting the index in {@code byteArray} that the encoding begins at
+     * @param length        an int denoting the number of bytes in the encoding
+     * @return              true if the String is present in the MDAG, and false otherwise 
+     *                      (including if the bytes are not well-formed UTF-8)
+     */
+    public boolean contains(byte[] byteArray, int offset, int length)
+    {
+        int onePastEndIndex = offset + length;
+        
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+        {
+            MDAGNode currentNode = sourceNode;
+            
+            //Transition through the MDAG using the bytes (or the chars of the decoded code points) in the region
+            for(int i = offset; i < onePastEndIndex && currentNode != null;)
+            {
+                if(labelEncoding == LabelEncoding.UTF8)
+                    currentNode = currentNode.transition((char)(byteArray[i++] & 0xFF));
+                else
+                {
+                    int codePoint = UTF8LabelCodec.decodeCodePoint(byteArray, i, onePastEndIndex);
+                    
+                    if(codePoint == -1)
+                        return false;
+                    
+                    currentNode = transition(currentNode, codePoint);
+                    i += UTF8LabelCodec.getEncodedLength(codePoint);
+                }
+            }
+            /////
+            
+            return (currentNode != null && currentNode.isAcceptNode());
+        }
+        else
+        {
+            int currentNodeIndex = SimpleMDAG.SOURCE_NODE_INDEX;
+            
+            //Transition through the MDAG using the bytes (or the chars of the decoded code points) in the region
+            for(int i = offset; i < onePastEndIndex && currentNodeIndex != -1;)
+            {
+                if(labelEncoding == LabelEncoding.UTF8)
+                    currentNodeIndex = simplifiedMDAG.transition(currentNodeIndex, (char)(byteArray[i++] & 0xFF));
+                else
+                {
+                    int codePoint = UTF8LabelCodec.decodeCodePoint(byteArray, i, onePastEndIndex);
+                    
+                    if(codePoint == -1)
+                        return false;
+                    
+                    currentNodeIndex = transition(currentNodeIndex, codePoint);
+                    i += UTF8LabelCodec.getEncodedLength(codePoint);
+                }
+            }
+            /////
+            
+            return (currentNodeIndex != -1 && simplifiedMDAG.isAcceptNode(currentNodeIndex));
+        }
+    }
+    
+    
+    
+    /**
+     * Follows the transition path representing a code point from a node of the (unsimplified) MDAG: the UTF-8 encoding 
+     * of the code point if the MDAG is UTF-8 encoded, or its char (or surrogate pair) otherwise.
+     
+     * @param node          the MDAGNode the transition path begins from
+     * @param codePoint     an int denoting the code point of interest
+     * @return              the MDAGNode at the end of the transition path representing {@code codePoint}, or null if there is no such path
+     */
+    private MDAGNode transition(MDAGNode node, int codePoint)
+    {
+        if(labelEncoding == LabelEncoding.UTF8)
+        {
+            int encodedLength = UTF8LabelCodec.getEncodedLength(codePoint);
+            
+            for(int i = 0; i < encodedLength && node != null; i++)
+                node = node.transition(UTF8LabelCodec.getEncodedByte(codePoint, encodedLength, i));
+            
+            return node;
+        }
+        else if(Character.isSupplementaryCodePoint(codePoint))
+        {
+            node = node.transition(Character.highSurrogate(codePoint));
+            return (node != null ? node.transition(Character.lowSurrogate(codePoint)) : null);
+        }
+        else
+            return node.transition((char)codePoint);
+    }
+    
+    
+    
+    /**
+     * Follows the transition path representing a code point from a node of the simplified MDAG: the UTF-8 encoding 
+     * of the code point if the MDAG is UTF-8 encoded, or its char (or surrogate pair) otherwise.
+     
+     * @param nodeIndex     an int denoting the index of a transition leading to the node the transition path begins from
+     * @param codePoint     an int denoting the code point of interest
+     * @return              an int denoting the index of the transition leading to the node at the end of the 
+     *                      transition path representing {@code codePoint}, or -1 if there is no such path
+     */
+    private int transition(int nodeIndex, int codePoint)
+    {
+        if(labelEncoding == LabelEncoding.UTF8)
+        {
+            int encodedLength = UTF8LabelCodec.getEncodedLength(codePoint);
+            
+            for(int i = 0; i < encodedLength && nodeIndex != -1; i++)
+                nodeIndex = simplifiedMDAG.transition(nodeIndex, UTF8LabelCodec.getEncodedByte(codePoint, encodedLength, i));
+            
+            return nodeIndex;
+        }
+        else if(Character.isSupplementaryCodePoint(codePoint))
+        {
+            nodeIndex = simplifiedMDAG.transition(nodeIndex, Character.highSurrogate(codePoint));
+            return (nodeIndex != -1 ? simplifiedMDAG.transition(nodeIndex, Character.lowSurrogate(codePoint)) : -1);
+        }
+        else
+            return simplifiedMDAG.transition(nodeIndex, (char)codePoint);
+    }
+
+    
+    
+    /**
+     * Determines whether the String made up of the chars at the beginning of a char array is in the MDAG.
+     
+     * @param charArray     a char array whose first {@code length} chars are those of the String to be searched for
+     * @param length        an int denoting the length of the String to be searched for
+     * @return              true if the String is present in the MDAG, and false otherwise
+     */
+    boolean contains(char[] charArray, int length)
+    {
+        if(labelEncoding == LabelEncoding.UTF8)
+            return contains(CharBuffer.wrap(charArray, 0, length));
+        else if(sourceNode != null)      //if the MDAG hasn't been simplified
+        {
+            MDAGNode currentNode = sourceNode;
+            
+            for(int i = 0; i < length && currentNode != null; i++)
+                currentNode = currentNode.transition(charArray[i]);
+            
+            return (currentNode != null && currentNode.isAcceptNode());
+        }
+        else
+        {
+            int currentNodeIndex = SimpleMDAG.SOURCE_NODE_INDEX;
+            
+            for(int i = 0; i < length && currentNodeIndex != -1; i++)
+                currentNodeIndex = simplifiedMDAG.transition(currentNodeIndex, charArray[i]);
+            
+            return (currentNodeIndex != -1 && simplifiedMDAG.isAcceptNode(currentNodeIndex));
+        }
+    }
+    
+    
+    
+    /**
+     * Determines the position of a String in the lexicographically ordered set of Strings in the MDAG. Together with 
+     * {@link #stringAt(int)}, this forms a minimal perfect hash between the Strings in the MDAG and the ints from 0 (inclusive) 
+     * to the number of Strings in the MDAG (exclusive). The first call on a MDAG (after its creation, simplification, or 
+     * modification) calculates the number of Strings reachable from each node it traverses, and is therefore slower.
+     
+     * @param str       a String
+     * @return          an int denoting the position of {@code str} in the lexicographically ordered
+     *                  set of Strings in the MDAG, or -1 if {@code str} is not in the MDAG
+     */
+    public int indexOf(String str)
+    {
+        str = toLabelString(str);
+        int index = 0;
+        int charCount = str.length();
+        
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+        {
+            MDAGNode currentNode = sourceNode;
+            
+            //Transition through the MDAG using the chars in str, counting the Strings that precede str: the String ending
+            //at each accept node passed through, and those reachable through transitions with labels less than str's chars
+            for(int i = 0; i < charCount; i++)
+            {
+                char currentChar = str.charAt(i);
+                int transitionCount = currentNode.getOutgoingTransitionCount();
+                int j = 0;
+                
+                if(currentNode.isAcceptNode())
+                    index++;
+                
+                for(; j < transitionCount && currentNode.getOutgoingTransitionLabel(j) < currentChar; j++)
+                    index += currentNode.getOutgoingTransitionTargetNode(j).getRightLanguageSize();
+                
+                if(j == transitionCount || currentNode.getOutgoingTransitionLabel(j) != currentChar)
+                    return -1;
+                
+                currentNode = currentNode.getOutgoingTransitionTargetNode(j);
+            }
+            /////
+            
+            return (currentNode.isAcceptNode() ? index : -1);
+        }
+        else
+        {
+            int currentNodeIndex = SimpleMDAG.SOURCE_NODE_INDEX;
+            
+            //Transition through the MDAG using the chars in str, counting the Strings that precede str: the String ending
+            //at each accept node passed through, and those reachable through transitions with labels less than str's chars
+            for(int i = 0; i < charCount; i++)
+            {
+                char currentChar = str.charAt(i);
+                int transitionSetBeginIndex = simplifiedMDAG.getTransitionSetBeginIndex(currentNodeIndex);
+                int onePastTransitionSetEndIndex = transitionSetBeginIndex + simplifiedMDAG.getOutgoingTransitionSetSize(currentNodeIndex);
+                int j = transitionSetBeginIndex;
+                
+                if(simplifiedMDAG.isAcceptNode(currentNodeIndex))
+                    index++;
+                
+                for(; j < onePastTransitionSetEndIndex && simplifiedMDAG.getLetter(j) < currentChar; j++)
+                    index += simplifiedMDAG.getRightLanguageSize(j);
+                
+                if(j == onePastTransitionSetEndIndex || simplifiedMDAG.getLetter(j) != currentChar)
+                    return -1;
+                
+                currentNodeIndex = j;
+            }
+            /////
+            
+            return (simplifiedMDAG.isAcceptNode(currentNodeIndex) ? index : -1);
+        }
+    }
+    
+    
+    
+    /**
+     * Retrieves the String at a given position in the lexicographically ordered set of Strings in the MDAG.
+     * This is the inverse of {@link #indexOf(String)}.
+     
+     * @param index                         an int denoting the position of the desired String
+     * @return                              the String at {@code index} in the lexicographically ordered set of Strings in the MDAG
+     * @throws IndexOutOfBoundsException    if {@code index} is negative or not less than the number of Strings in the MDAG
      */
-    public MDAG(File dataFile) throws IOException
+    public String stringAt(int index)
     {
-        BufferedReader dataFileBufferedReader = new BufferedReader(new FileReader(dataFile));
-        String currentString = "";
-        String previousString = "";
+        StringBuilder strBuilder = new StringBuilder();
         
-        //Read all the lines in dataFile and add the String contained in each to the MDAG.
-        while((currentString = dataFileBufferedReader.readLine()) != null)
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
         {
-            int mpsIndex = calculateMinimizationProcessingStartIndex(previousString, currentString);
+            MDAGNode currentNode = sourceNode;
             
-            //If the transition path of the previousString needs to be examined for minimization or 
-            //equivalence class representation after a certain point, call replaceOrRegister to do so.
-            if(mpsIndex != -1)
+            if(index < 0 || index >= currentNode.getRightLanguageSize())
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentNode.getRightLanguageSize());
+            
+            //Transition through the MDAG, skipping past the Strings that precede the desired one: the String ending at each 
+            //accept node passed through, and those reachable through transitions whose target's right languages don't contain it
+            while(!currentNode.isAcceptNode() || index-- != 0)
             {
-                String transitionSubstring = previousString.substring(0, mpsIndex);
-                String minimizationProcessingSubstring = previousString.substring(mpsIndex);
-                replaceOrRegister(sourceNode.transition(transitionSubstring), minimizationProcessingSubstring);
+                int j = 0;
+                
+                for(int rightLanguageSize; index >= (rightLanguageSize = currentNode.getOutgoingTransitionTargetNode(j).getRightLanguageSize()); j++)
+                    index -= rightLanguageSize;
+                
+                strBuilder.append(currentNode.getOutgoingTransitionLabel(j));
+                currentNode = currentNode.getOutgoingTransitionTargetNode(j);
             }
             /////
-
-            addStringInternal(currentString); 
-            previousString = currentString;  
         }
-        /////
-
-        //Since we delay the minimization of the previously-added String
-        //until after we read the next one, we need to have a seperate
-        //statement to minimize the absolute last String.
-        replaceOrRegister(sourceNode, previousString);
+        else
+        {
+            int currentNodeIndex = SimpleMDAG.SOURCE_NODE_INDEX;
+            
+            if(index < 0 || index >= simplifiedMDAG.getRightLanguageSize(currentNodeIndex))
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + simplifiedMDAG.getRightLanguageSize(currentNodeIndex));
+            
+            //Transition through the MDAG, skipping past the Strings that precede the desired one: the String ending at each 
+            //accept node passed through, and those reachable through transitions whose target's right languages don't contain it
+            while(!simplifiedMDAG.isAcceptNode(currentNodeIndex) || index-- != 0)
+            {
+                int j = simplifiedMDAG.getTransitionSetBeginIndex(currentNodeIndex);
+                
+                for(int rightLanguageSize; index >= (rightLanguageSize = simplifiedMDAG.getRightLanguageSize(j)); j++)
+                    index -= rightLanguageSize;
+                
+                strBuilder.append(simplifiedMDAG.getLetter(j));
+                currentNodeIndex = j;
+            }
+            /////
+        }
+        
+        return fromLabelString(strBuilder.toString());
     }
     
     
     
-     /**
-     * Creates an MDAG from a collection of Strings.
+    /**
+     * Retrieves the number of Strings in the MDAG.
      
-     * @param strCollection     a {@link java.util.Collection} containing Strings that the MDAG will contain
+     * @return      an int denoting the number of Strings in the MDAG (including the empty String, if it has been added)
      */
-    public MDAG(Collection<String> strCollection)
+    public int size()
     {
-        addStrings(strCollection);
+        if(stringCount == -1)   //if the MDAG has been loaded from a file and its Strings haven't been counted yet
+            stringCount = simplifiedMDAG.getRightLanguageSize(SimpleMDAG.SOURCE_NODE_INDEX);
+        
+        return stringCount;
     }
     
     
     
     /**
-     * Adds a Collection of Strings to the MDAG.
+     * Counts the Strings in the MDAG that begin with a given String, without creating them. 
+     * This takes time proportional to the length of {@code prefixStr}, as the number of Strings 
+     * reachable from each node is calculated once and kept until the MDAG is changed.
      
-     * @param strCollection     a {@link java.util.Collection} containing Strings to be added to the MDAG
+     * @param prefixStr     a String that is the prefix for all the Strings to be counted
+     * @return              an int denoting the number of Strings in the MDAG that begin with {@code prefixStr}
      */
-    public final void addStrings(Collection<String> strCollection)
+    public int countStringsStartingWith(String prefixStr)
     {
-        if(sourceNode != null)
-        {
-            String previousString = ""; 
+        prefixStr = toLabelString(prefixStr);
         
-            //Add all the Strings in strCollection to the MDAG.
-            for(String currentString : strCollection)
-            {
-                int mpsIndex = calculateMinimizationProcessingStartIndex(previousString, currentString);
-
-                //If the transition path of the previousString needs to be examined for minimization or 
-                //equivalence class representation after a certain point, call replaceOrRegister to do so.
-                if(mpsIndex != -1)
-                {
-
-                    String transitionSubstring = previousString.substring(0, mpsIndex);
-                    String minimizationProcessingSubString = previousString.substring(mpsIndex);
-                    replaceOrRegister(sourceNode.transition(transitionSubstring), minimizationProcessingSubString);      
-                }
-                /////
-
-                addStringInternal(currentString);
-                previousString = currentString;
-            }
-            /////
-
-            //Since we delay the minimization of the previously-added String
-            //until after we read the next one, we need to have a seperate
-            //statement to minimize the absolute last String.
-            replaceOrRegister(sourceNode, previousString);
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+        {
+            MDAGNode originNode = sourceNode.transition(prefixStr);
+            return (originNode != null ? originNode.getRightLanguageSize() : 0);
         }
         else
-            throw new UnsupportedOperationException("MDAG is simplified. Unable to add additional Strings.");  
+        {
+            int originNodeIndex = simplifiedMDAG.transition(SimpleMDAG.SOURCE_NODE_INDEX, prefixStr);
+            return (originNodeIndex != -1 ? simplifiedMDAG.getRightLanguageSize(originNodeIndex) : 0);
+        }
     }
     
     
     
     /**
-     * Adds a string to the MDAG.
+     * Counts the Strings in the MDAG that end with a given String, without creating them. If the MDAG has a suffix index,
+     * this takes time proportional to the length of {@code suffixStr}; otherwise, the number of matching Strings reachable from 
+     * each node (in each state of the match) is calculated once per call, so shared parts of the MDAG are only counted once.
      
-     * @param str       the String to be added to the MDAG 
+     * @param suffixStr     a String that is the suffix for all the Strings to be counted
+     * @return              an int denoting the number of Strings in the MDAG that end with {@code suffixStr}
      */
-    public void addString(String str)
+    public int countStringsEndingWith(String suffixStr)
     {
-        if(sourceNode != null)
+        if(reversedMDAG != null)
+            return reversedMDAG.countStringsStartingWith(reverseString(suffixStr));
+        else if(suffixStr.isEmpty())
+            return size();
+        else
+            return countMatchingStrings(new SubstringMatchingAutomaton(toLabelString(suffixStr)), false);
+    }
+    
+    
+    
+    /**
+     * Counts the Strings in the MDAG that contain a given String, without creating them. If the MDAG has a substring index, 
+     * only the rotations in it beginning with {@code str} are traversed (they can't merely be counted, since a String 
+     * containing {@code str} several times has a rotation beginning with each occurrence). Otherwise, the number of matching 
+     * Strings reachable from each node (in each state of the match) is calculated once per call, so shared parts of the MDAG 
+     * are only counted once, and the Strings reachable from a node after a match has been found are counted in constant time.
+     
+     * @param str       a String that is contained in all the Strings to be counted
+     * @return          an int denoting the number of Strings in the MDAG that contain {@code str}
+     */
+    public int countStringsWithSubstring(String str)
+    {
+        if(rotatedMDAG != null && !str.isEmpty() && str.indexOf(ROTATION_SEPARATOR_CHAR) == -1)
         {
-            addStringInternal(str);
-            replaceOrRegister(sourceNode, str);
+            CountingVisitor countingVisitor = new CountingVisitor();
+            rotatedMDAG.visitStringsStartingWith(str, new RotationRestoringVisitor(str, countingVisitor));
+            return countingVisitor.count;
         }
+        else if(str.isEmpty())
+            return size();
         else
-            throw new UnsupportedOperationException("MDAG is simplified. Unable to add additional Strings.");  
+            return countMatchingStrings(new SubstringMatchingAutomaton(toLabelString(str)), true);
+    }
+    
+    
+    
+    /**
+     * Counts the Strings in the MDAG that a SubstringMatchingAutomaton finishes in, or passes through, a match state for.
+     
+     * @param automaton             the SubstringMatchingAutomaton of the String to be matched
+     * @param isMatchStateFinal     true if every String reaching a match state is to be counted (substring matching),
+     *                              false if only those ending in one are (suffix matching)
+     * @return                      an int denoting the number of Strings in the MDAG that are matched
+     */
+    private int countMatchingStrings(SubstringMatchingAutomaton automaton, boolean isMatchStateFinal)
+    {
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+            return countMatchingStrings(sourceNode, 0, automaton, isMatchStateFinal, new IdentityHashMap<MDAGNode, int[]>());
+        else
+            return countMatchingStrings(SimpleMDAG.SOURCE_NODE_INDEX, 0, automaton, isMatchStateFinal, new HashMap<Integer, int[]>());
     }
     
     
     
-    private void splitTransitionPath(MDAGNode originNode, String storedStringSubstr)
+    /**
+     * Counts the Strings reachable from a node that, when appended to the String leading to it, 
+     * are matched by a SubstringMatchingAutomaton.
+     
+     * @param node                  the MDAGNode of interest
+     * @param state                 an int denoting the state of {@code automaton} upon reaching {@code node}
+     * @param automaton             the SubstringMatchingAutomaton of the String to be matched
+     * @param isMatchStateFinal     true if every String reaching a match state is to be counted (substring matching),
+     *                              false if only those ending in one are (suffix matching)
+     * @param countArrayHashMap     an IdentityHashMap containing, for each node with outgoing transitions that has been 
+     *                              counted, its count in each state of {@code automaton} (or -1 for uncounted states)
+     * @return                      an int denoting the number of matched Strings reachable from {@code node} in {@code state}
+     */
+    private int countMatchingStrings(MDAGNode node, int state, SubstringMatchingAutomaton automaton, 
+                                        boolean isMatchStateFinal, IdentityHashMap<MDAGNode, int[]> countArrayHashMap)
     {
-        HashMap<String, Object> firstConfluenceNodeDataHashMap = getTransitionPathFirstConfluenceNodeData(originNode, storedStringSubstr);
-        Integer toFirstConfluenceNodeTransitionCharIndex = (Integer)firstConfluenceNodeDataHashMap.get("toConfluenceNodeTransitionCharIndex");
-        MDAGNode firstConfluenceNode = (MDAGNode)firstConfluenceNodeDataHashMap.get("confluenceNode");
+        if(isMatchStateFinal && automaton.isMatchState(state))
+            return node.getRightLanguageSize();
         
-        if(firstConfluenceNode != null)
+        int transitionCount = node.getOutgoingTransitionCount();
+        int[] countArray = null;
+        
+        if(transitionCount > 0)
         {
-            MDAGNode firstConfluenceNodeParent = originNode.transition(storedStringSubstr.substring(0, toFirstConfluenceNodeTransitionCharIndex));
-
-            MDAGNode firstConfluenceNodeClone = firstConfluenceNode.clone(firstConfluenceNodeParent, storedStringSubstr.charAt(toFirstConfluenceNodeTransitionCharIndex)); 
-
-            transitionCount += firstConfluenceNodeClone.getOutgoingTransitionCount();
-
-            String unprocessedSubString = storedStringSubstr.substring(toFirstConfluenceNodeTransitionCharIndex + 1);
-            splitTransitionPath(firstConfluenceNodeClone, unprocessedSubString);
+            countArray = countArrayHashMap.get(node);
+            
+            if(countArray == null)
+            {
+                countArray = new int[automaton.getStateCount()];
+                Arrays.fill(countArray, -1);
+                countArrayHashMap.put(node, countArray);
+            }
+            else if(countArray[state] != -1)
+                return countArray[state];
+        }
+        
+        int count = (node.isAcceptNode() && automaton.isMatchState(state) ? 1 : 0);
+        
+        for(int i = 0; i < transitionCount; i++)
+        {
+            int nextState = automaton.transition(state, node.getOutgoingTransitionLabel(i));
+            count += countMatchingStrings(node.getOutgoingTransitionTargetNode(i), nextState, automaton, isMatchStateFinal, countArrayHashMap);
         }
+        
+        if(countArray != null)
+            countArray[state] = count;
+        
+        return count;
     }
     
     
     
     /**
-     * Calculates the length of the the sub-path in a transition path, that is used only by a given string.
+     * Counts the Strings reachable from a node in the simplified MDAG that, when appended to the String 
+     * leading to it, are matched by a SubstringMatchingAutomaton.
      
-     * @param str       a String corresponding to a transition path from sourceNode
-     * @return          an int denoting the size of the sub-path in the transition path
-     *                  corresponding to {@code str} that is only used by {@code str}
+     * @param nodeIndex             an int denoting the index of a transition leading to the node of interest
+     * @param state                 an int denoting the state of {@code automaton} upon reaching the node
+     * @param automaton             the SubstringMatchingAutomaton of the String to be matched
+     * @param isMatchStateFinal     true if every String reaching a match state is to be counted (substring matching),
+     *                              false if only those ending in one are (suffix matching)
+     * @param countArrayHashMap     a HashMap containing, for the transition set begin index of each node with outgoing transitions 
+     *                              that has been counted, its count in each state of {@code automaton} (or -1 for uncounted states)
+     * @return                      an int denoting the number of matched Strings reachable from the node in {@code state}
      */
-    private int calculateSoleTransitionPathLength(String str)
+    private int countMatchingStrings(int nodeIndex, int state, SubstringMatchingAutomaton automaton, 
+                                        boolean isMatchStateFinal, HashMap<Integer, int[]> countArrayHashMap)
     {
-        Stack<MDAGNode> transitionPathNodeStack = sourceNode.getTransitionPathNodes(str);
-        transitionPathNodeStack.pop();  //The MDAGNode at the top of the stack is not needed
-                                        //(we are processing the outgoing transitions of nodes inside str's transition path,
-                                        //the outgoing transitions of the MDAGNode at the top of the stack are outside this path)
+        if(isMatchStateFinal && automaton.isMatchState(state))
+            return simplifiedMDAG.getRightLanguageSize(nodeIndex);
         
-        transitionPathNodeStack.trimToSize();
-
-        //Process each node in transitionPathNodeStack, using each to determine whether the
-        //transition path corresponding to str is only used by str.  This is true if and only if
-        //each node in the transition path has a single outgoing transition and is not an accept state.
-        while(!transitionPathNodeStack.isEmpty())
+        int transitionSetSize = simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
+        int transitionSetBeginIndex = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
+        int[] countArray = null;
+        
+        //The transition set begin indices of nodes without outgoing transitions aren't unique, so they aren't memoized
+        if(transitionSetSize > 0)
         {
-            MDAGNode currentNode = transitionPathNodeStack.peek();
-            if(currentNode.getOutgoingTransitions().size() <= 1 && !currentNode.isAcceptNode())
-                transitionPathNodeStack.pop();
-            else
-                break;
+            countArray = countArrayHashMap.get(transitionSetBeginIndex);
+            
+            if(countArray == null)
+            {
+                countArray = new int[automaton.getStateCount()];
+                Arrays.fill(countArray, -1);
+                countArrayHashMap.put(transitionSetBeginIndex, countArray);
+            }
+            else if(countArray[state] != -1)
+                return countArray[state];
         }
-        /////
         
-        return (transitionPathNodeStack.capacity() - transitionPathNodeStack.size());
+        int count = (simplifiedMDAG.isAcceptNode(nodeIndex) && automaton.isMatchState(state) ? 1 : 0);
+        
+        for(int i = transitionSetBeginIndex; i < transitionSetBeginIndex + transitionSetSize; i++)
+        {
+            int nextState = automaton.transition(state, simplifiedMDAG.getLetter(i));
+            count += countMatchingStrings(i, nextState, automaton, isMatchStateFinal, countArrayHashMap);
+        }
+        
+        if(countArray != null)
+            countArray[state] = count;
+        
+        return count;
     }
     
     
     
     /**
-     * Removes a String from the MDAG.
+     * Traverses all the valid transition paths from a given node, handing the corresponding Strings
+     * which satisfy a traversal's search condition to the traversal's visitor.
      
-     * @param str       the String to be removed from the MDAG 
+     * @param traversal         the VisitingTraversal containing the search condition, visitor, and the 
+     *                          char array holding the String corresponding to the currently traversed transition path
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param node              the MDAGNode at the end of the currently traversed transition path
+     * @return                  true if the traversal of the transition paths from {@code node} was completed,
+     *                          false if it was stopped by the traversal's visitor
      */
-    public void removeString(String str)
+    private boolean visitStrings(VisitingTraversal traversal, int prefixLength, MDAGNode node)
     {
-        if(sourceNode != null)
+        //Traverse all the valid transition paths beginning from each transition in node's transition set, handing the
+        //corresponding Strings that satisfy the traversal's search condition to its visitor (until it requests a stop)
+        int transitionSetSize = node.getOutgoingTransitionCount();
+        for(int i = 0; i < transitionSetSize; i++)
         {
-            //Split the transition path corresponding to str to ensure that
-            //any other transition paths sharing nodes with it are not affected
-            splitTransitionPath(sourceNode, str);
-
-            //Remove from equivalenceClassMDAGNodeHashMap, the entries of all the nodes in the transition path corresponding to str.
-            removeTransitionPathRegisterEntries(str);
-
-            //Get the last node in the transition path corresponding to str
-            MDAGNode strEndNode = sourceNode.transition(str);
-
-            if(!strEndNode.hasOutgoingTransitions())
-            {
-                int soleInternalTransitionPathLength = calculateSoleTransitionPathLength(str);
-                int internalTransitionPathLength = str.length() - 1;
-
-                if(soleInternalTransitionPathLength == internalTransitionPathLength)
-                {
-                    sourceNode.removeOutgoingTransition(str.charAt(0));
-                    transitionCount -= str.length();
-                }
-                else
-                {
-                    //Remove the sub-path in str's transition path that is only used by str
-                    int toBeRemovedTransitionLabelCharIndex = (internalTransitionPathLength - soleInternalTransitionPathLength);
-                    MDAGNode latestNonSoloTransitionPathNode = sourceNode.transition(str.substring(0, toBeRemovedTransitionLabelCharIndex));
-                    latestNonSoloTransitionPathNode.removeOutgoingTransition(str.charAt(toBeRemovedTransitionLabelCharIndex));
-                    transitionCount -= str.substring(toBeRemovedTransitionLabelCharIndex).length();
-                    /////
-                    
-                    replaceOrRegister(sourceNode, str.substring(0, toBeRemovedTransitionLabelCharIndex));
-                }
+            traversal.setChar(prefixLength, node.getOutgoingTransitionLabel(i));
+            MDAGNode currentNode = node.getOutgoingTransitionTargetNode(i);
 
-            }   
-            else
-            {
-                strEndNode.setAcceptStateStatus(false);     
-                replaceOrRegister(sourceNode, str);
-            }
+            if(currentNode.isAcceptNode() && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            //Recursively call this to traverse all the valid transition paths from currentNode
+            if(!visitStrings(traversal, prefixLength + 1, currentNode))
+                return false;
         }
-        else
-            throw new UnsupportedOperationException("MDAG is simplified. Unable to remove any Strings.");
+        /////
+        
+        return true;
     }
     
     
     
     /**
-     * Determines the start index of the substring in the String most recently added to the MDAG
-     * that corresponds to the transition path that will be next up for minimization processing.
-     *
-     * The "minimization processing start index" is defined as the index in {@code prevStr} which starts the substring
-     * corresponding to the transition path that doesn't have its right language extended by {@code currStr}. The transition path of
-     * the substring before this point is not considered for minimization in order to limit the amount of times the
-     * equivalence classes of its nodes will need to be reassigned during the processing of Strings which share prefixes.
+     * Traverses all the valid transition paths from a given node, handing the corresponding Strings
+     * which satisfy a traversal's search condition to the traversal's visitor.
      
-     * @param prevStr       the String most recently added to the MDAG
-     * @param currStr       the String next to be added to the MDAG
-     * @return              an int of the index in {@code prevStr} that starts the substring corresponding
-     *                      to the transition path next up for minimization processing 
+     * @param traversal         the VisitingTraversal containing the search condition, visitor, and the 
+     *                          char array holding the String corresponding to the currently traversed transition path
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param nodeIndex         an int denoting the index in simplifiedMDAG of a transition leading to the node
+     *                          at the end of the currently traversed transition path
+     * @return                  true if the traversal of the transition paths from the node was completed,
+     *                          false if it was stopped by the traversal's visitor
      */
-    public int calculateMinimizationProcessingStartIndex(String prevStr, String currStr)
-    {   
-        int mpsIndex;
+    private boolean visitStrings(VisitingTraversal traversal, int prefixLength, int nodeIndex)
+    {
+        int transitionSetBegin = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
+        int onePastTransitionSetEnd = transitionSetBegin + simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
         
-        if(!currStr.startsWith(prevStr))
-        {   
-            //Loop through the corresponding indices of both Strings in search of the first index containing differing characters.
-            //The transition path of the substring of prevStr from this point will need to be submitted for minimization processing.
-            //The substring before this point, however, does not, since currStr will simply be extending the right languages of the 
-            //nodes on its transition path.
-            int shortestStringLength = Math.min(prevStr.length(), currStr.length());
-            for(mpsIndex = 0; mpsIndex < shortestStringLength && prevStr.charAt(mpsIndex) == currStr.charAt(mpsIndex); mpsIndex++){};
-            /////
+        //Traverse all the valid transition paths beginning from each transition in the node's transition set, handing the
+        //corresponding Strings that satisfy the traversal's search condition to its visitor (until it requests a stop)
+        for(int i = transitionSetBegin; i < onePastTransitionSetEnd; i++)
+        {
+            traversal.setChar(prefixLength, simplifiedMDAG.getLetter(i));
+            
+            if(simplifiedMDAG.isAcceptNode(i) && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            //Recursively call this to traverse all the valid transition paths from the target node of the transition at i
+            if(!visitStrings(traversal, prefixLength + 1, i))
+                return false;
         }
-        else                    
-            mpsIndex =  -1;    //If the prevStr is a prefix of currStr, then currStr simply extends the right language of the transition path of prevStr. 
+        /////
         
-        return mpsIndex;    
+        return true;
     }
     
     
     
     /**
-     * Determines the longest prefix of a given String that is
-     * the prefix of another String previously added to the MDAG.
+     * Traverses all the valid transition paths from the source node of the MDAG, handing
+     * the corresponding Strings which satisfy a traversal's search condition to the traversal's visitor.
      
-     * @param str       the String to be processed 
-     * @return          a String of the longest prefix of {@code str} 
-     *                  that is also a prefix of a String contained in the MDAG
+     * @param traversal     the VisitingTraversal containing the search condition and visitor of interest
+     * @return              true if the traversal was completed, false if it was stopped by the traversal's visitor
      */
-    public String determineLongestPrefixInMDAG(String str)
+    private boolean visitStrings(VisitingTraversal traversal)
     {
-        MDAGNode currentNode = sourceNode;
-        int numberOfChars = str.length();
-        int onePastPrefixEndIndex = 0;
+        if(isSourceAcceptNode() && !traversal.visit(0))
+            return false;
         
-        //Loop through the characters in str, using them in sequence to transition
-        //through the MDAG until the currently processing node doesn't have a transition
-        //labeled with the current processing char, or there are no more characters to process. 
-        for(int i = 0; i < numberOfChars; i++, onePastPrefixEndIndex++)
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+            return visitStrings(traversal, 0, sourceNode);
+        else
+            return visitStrings(traversal, 0, SimpleMDAG.SOURCE_NODE_INDEX);
+    }
+    
+    
+    
+    /**
+     * Determines whether the source node of the MDAG is an accept node (that is, whether the MDAG contains the empty String).
+     
+     * @return      true if the source node of the MDAG is an accept node, false otherwise
+     */
+    private boolean isSourceAcceptNode()
+    {
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+            return sourceNode.isAcceptNode();
+        else
+            return simplifiedMDAG.isAcceptNode(SimpleMDAG.SOURCE_NODE_INDEX);
+    }
+    
+    
+    
+    /**
+     * Traverses the transition paths from a given node along which Strings within an edit distance traversal's maximum 
+     * edit distance of its query String may lie, handing such Strings to the traversal's visitor.
+     
+     * @param traversal         the EditDistanceTraversal containing the query String, maximum edit distance, visitor, and 
+     *                          the String (and edit distance rows) corresponding to the currently traversed transition path
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param node              the MDAGNode at the end of the currently traversed transition path
+     * @return                  true if the traversal of the transition paths from {@code node} was completed,
+     *                          false if it was stopped by the traversal's visitor
+     */
+    private boolean visitStringsWithinEditDistance(EditDistanceTraversal traversal, int prefixLength, MDAGNode node)
+    {
+        //Traverse the transition paths beginning from each transition in node's transition set, skipping those whose Strings
+        //all exceed the maximum edit distance and handing the Strings within it to the traversal's visitor (until it requests a stop)
+        int transitionSetSize = node.getOutgoingTransitionCount();
+        for(int i = 0; i < transitionSetSize; i++)
         {
-            char currentChar = str.charAt(i);
-            if(currentNode.hasOutgoingTransition(currentChar))
-                currentNode = currentNode.transition(currentChar);
-            else
-                break;
+            if(!traversal.setChar(prefixLength, node.getOutgoingTransitionLabel(i)))
+                continue;
+            
+            MDAGNode currentNode = node.getOutgoingTransitionTargetNode(i);
+
+            if(currentNode.isAcceptNode() && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            if(!visitStringsWithinEditDistance(traversal, prefixLength + 1, currentNode))
+                return false;
         }
         /////
         
-        return str.substring(0, onePastPrefixEndIndex);
+        return true;
     }
     
     
     
     /**
-     * Determines and retrieves data related to the first confluence node 
-     * (defined as a node with two or more incoming transitions) of a
-     * transition path corresponding to a given String from a given node.
+     * Traverses the transition paths from a given node along which Strings within an edit distance traversal's maximum 
+     * edit distance of its query String may lie, handing such Strings to the traversal's visitor.
      
-     * @param originNode        the MDAGNode from which the transition path corresponding to str starts from
-     * @param str               a String corresponding to a transition path in the MDAG
-     * @return                  a HashMap of Strings to Objects containing:
-     *                              - an int denoting the length of the path to the first confluence node in the transition path of interest
-     *                              - the MDAGNode which is the first confluence node in the transition path of interest (or null if one does not exist)
+     * @param traversal         the EditDistanceTraversal containing the query String, maximum edit distance, visitor, and 
+     *                          the String (and edit distance rows) corresponding to the currently traversed transition path
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param nodeIndex         an int denoting the index in simplifiedMDAG of a transition leading to the node
+     *                          at the end of the currently traversed transition path
+     * @return                  true if the traversal of the transition paths from the node was completed,
+     *                          false if it was stopped by the traversal's visitor
      */
-    public HashMap<String, Object> getTransitionPathFirstConfluenceNodeData(MDAGNode originNode, String str)
+    private boolean visitStringsWithinEditDistance(EditDistanceTraversal traversal, int prefixLength, int nodeIndex)
     {
-        int currentIndex = 0;
-        int charCount = str.length();
-        MDAGNode currentNode = originNode;
+        int transitionSetBegin = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
+        int onePastTransitionSetEnd = transitionSetBegin + simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
         
-        //Loop thorugh the characters in str, sequentially using them to transition through the MDAG in search of
-        //(and breaking upon reaching) the first node that is the target of two or more transitions. The loop is 
-        //also broken from if the currently processing node doesn't have a transition labeled with the currently processing char.
-        for(; currentIndex < charCount; currentIndex++)
+        //Traverse the transition paths beginning from each transition in the node's transition set, skipping those whose Strings
+        //all exceed the maximum edit distance and handing the Strings within it to the traversal's visitor (until it requests a stop)
+        for(int i = transitionSetBegin; i < onePastTransitionSetEnd; i++)
         {
-            char currentChar = str.charAt(currentIndex);
-            currentNode = (currentNode.hasOutgoingTransition(currentChar) ? currentNode.transition(currentChar) : null);
+            if(!traversal.setChar(prefixLength, simplifiedMDAG.getLetter(i)))
+                continue;
             
-            if(currentNode == null || currentNode.isConfluenceNode())
-                break;
+            if(simplifiedMDAG.isAcceptNode(i) && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            if(!visitStringsWithinEditDistance(traversal, prefixLength + 1, i))
+                return false;
         }
         /////
         
-        boolean noConfluenceNode = (currentNode == originNode  || currentIndex == charCount);
-        
-        //Create a HashMap containing the index of the last char in the substring corresponding
-        //to the transitoin path to the confluence node, as well as the actual confluence node
-        HashMap<String, Object> confluenceNodeDataHashMap = new HashMap<String, Object>(2);
-        confluenceNodeDataHashMap.put("toConfluenceNodeTransitionCharIndex", (noConfluenceNode ? null : currentIndex));
-        confluenceNodeDataHashMap.put("confluenceNode", noConfluenceNode ? null : currentNode);
-        /////
-
-        return confluenceNodeDataHashMap;
+        return true;
     }
-
-
-
+    
+    
+    
     /**
-     * Performs minimization processing on a transition path starting from a given node.
-     *
-     * This entails either replacing a node in the path with one that has an equivalent right language/equivalence class
-     * (defined as set of transition paths that can be traversed and nodes able to be reached from it), or making it
-     * a representative of a right language/equivalence class if a such a node does not already exist.
+     * Traverses the transition paths from a given node along which Strings matching a pattern may lie, 
+     * handing the Strings matching the pattern to a traversal's visitor.
      
-     * @param originNode        the MDAGNode that the transition path corresponding to str starts from
-     * @param str              a String related to a transition path
+     * @param traversal         the VisitingTraversal containing the visitor and the 
+     *                          char array holding the String corresponding to the currently traversed transition path
+     * @param automaton         the PatternAutomaton of the pattern to be matched
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param node              the MDAGNode at the end of the currently traversed transition path
+     * @param state             an int denoting the state of {@code automaton} upon reaching {@code node}
+     * @return                  true if the traversal of the transition paths from {@code node} was completed,
+     *                          false if it was stopped by the traversal's visitor
      */
-    private void replaceOrRegister(MDAGNode originNode, String str)
+    private boolean visitStringsMatchingPattern(VisitingTraversal traversal, PatternAutomaton automaton, int prefixLength, MDAGNode node, int state)
     {
-        char transitionLabelChar = str.charAt(0);
-        MDAGNode relevantTargetNode = originNode.transition(transitionLabelChar);
+        //Traverse the transition paths beginning from each transition in node's transition set, skipping those which no String
+        //matching the pattern begins with and handing the Strings that match it to the traversal's visitor (until it requests a stop)
+        int transitionSetSize = node.getOutgoingTransitionCount();
+        for(int i = 0; i < transitionSetSize; i++)
+        {
+            char currentLetter = node.getOutgoingTransitionLabel(i);
+            int currentState = automaton.transition(state, currentLetter);
+            
+            if(currentState == PatternAutomaton.DEAD_STATE)
+                continue;
+            
+            traversal.setChar(prefixLength, currentLetter);
+            MDAGNode currentNode = node.getOutgoingTransitionTargetNode(i);
 
-        //If relevantTargetNode has transitions and there is at least one char left to process, recursively call 
-        //this on the next char in order to further processing down the transition path corresponding to str
-        if(relevantTargetNode.hasOutgoingTransitions() && !str.substring(1).isEmpty())
-            replaceOrRegister(relevantTargetNode, str.substring(1)); 
+            if(currentNode.isAcceptNode() && automaton.isAcceptState(currentState) && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            if(!visitStringsMatchingPattern(traversal, automaton, prefixLength + 1, currentNode, currentState))
+                return false;
+        }
         /////
-
-        //Get the node representing the equivalence class that relevantTargetNode belongs to. MDAGNodes hash on the
-        //transitions paths that can be traversed from them and nodes able to be reached from them;
-        //nodes with the same equivalence classes will hash to the same bucket.
-        MDAGNode equivalentNode = equivalenceClassMDAGNodeHashMap.get(relevantTargetNode);
         
-        if(equivalentNode == null)  //if there is no node with the same right language as relevantTargetNode
-            equivalenceClassMDAGNodeHashMap.put(relevantTargetNode, relevantTargetNode);
-        else if(equivalentNode != relevantTargetNode)   //if there is another node with the same right language as relevantTargetNode, reassign the  
-        {                                               //transition between originNode and relevantTargetNode, to originNode and the node representing the equivalence class of interest
-            relevantTargetNode.decrementTargetIncomingTransitionCounts();
-            transitionCount -= relevantTargetNode.getOutgoingTransitionCount(); //Since this method is recursive, the outgoing transitions of all of relevantTargetNode's child nodes have already been reassigned, 
-                                                                                    //so we only need to decrement the transition count by the relevantTargetNode's outgoing transition count
-            originNode.reassignOutgoingTransition(transitionLabelChar, relevantTargetNode, equivalentNode);
-        }         
+        return true;
     }
     
     
     
     /**
-     * Adds a transition path starting from a specific node in the MDAG.
+     * Traverses the transition paths from a given node along which Strings matching a pattern may lie, 
+     * handing the Strings matching the pattern to a traversal's visitor.
      
-     * @param originNode    the MDAGNode which will serve as the start point of the to-be-created transition path
-     * @param str           the String to be used to create a new transition path from {@code originNode}
+     * @param traversal         the VisitingTraversal containing the visitor and the 
+     *                          char array holding the String corresponding to the currently traversed transition path
+     * @param automaton         the PatternAutomaton of the pattern to be matched
+     * @param prefixLength      an int denoting the length of the String corresponding to the currently traversed transition path
+     * @param nodeIndex         an int denoting the index in simplifiedMDAG of a transition leading to the node
+     *                          at the end of the currently traversed transition path
+     * @param state             an int denoting the state of {@code automaton} upon reaching the node
+     * @return                  true if the traversal of the transition paths from the node was completed,
+     *                          false if it was stopped by the traversal's visitor
      */
-    private void addTransitionPath(MDAGNode originNode, String str)
-    { 
-        if(!str.isEmpty())
+    private boolean visitStringsMatchingPattern(VisitingTraversal traversal, PatternAutomaton automaton, int prefixLength, int nodeIndex, int state)
+    {
+        int transitionSetBegin = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
+        int onePastTransitionSetEnd = transitionSetBegin + simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
+        
+        //Traverse the transition paths beginning from each transition in the node's transition set, skipping those which no String
+        //matching the pattern begins with and handing the Strings that match it to the traversal's visitor (until it requests a stop)
+        for(int i = transitionSetBegin; i < onePastTransitionSetEnd; i++)
         {
-            MDAGNode currentNode = originNode;
-            int charCount = str.length();
-
-            //Loop through the characters in str, iteratevely adding
-            // a transition path corresponding to it from originNode
-            for(int i = 0; i < charCount; i++, transitionCount++)
-            {
-                char currentChar = str.charAt(i);
-                boolean isLastChar = (i == charCount - 1);
-                currentNode = currentNode.addOutgoingTransition(currentChar, isLastChar);
-                
-                charTreeSet.add(currentChar);
-            }
-            /////
+            char currentLetter = simplifiedMDAG.getLetter(i);
+            int currentState = automaton.transition(state, currentLetter);
+            
+            if(currentState == PatternAutomaton.DEAD_STATE)
+                continue;
+            
+            traversal.setChar(prefixLength, currentLetter);
+            
+            if(simplifiedMDAG.isAcceptNode(i) && automaton.isAcceptState(currentState) && !traversal.visit(prefixLength + 1))
+                return false;
+            
+            if(!visitStringsMatchingPattern(traversal, automaton, prefixLength + 1, i, currentState))
+                return false;
         }
-        else
-            originNode.setAcceptStateStatus(true);
+        /////
+        
+        return true;
     }
     
     
     
     /**
-     * Removes from equivalenceClassMDAGNodeHashmap the entries of all the nodes in a transition path.
+     * Traverses the transition paths from the source node of the MDAG along which Strings 
+     * matching a pattern may lie, handing the Strings matching the pattern to a visitor.
      
-     * @param str       a String corresponding to a transition path from sourceNode
+     * @param automaton     the PatternAutomaton of the pattern to be matched
+     * @param visitor       the MDAGVisitor to hand the matching Strings to
+     * @return              true if all the matching Strings were handed to {@code visitor}, false if it stopped the traversal
      */
-    private void removeTransitionPathRegisterEntries(String str)
+    private boolean visitStringsMatchingPattern(PatternAutomaton automaton, MDAGVisitor visitor)
     {
-        MDAGNode currentNode = sourceNode;
-
-        int charCount = str.length();
+        if(labelEncoding == LabelEncoding.UTF8)
+            throw new UnsupportedOperationException("MDAG is UTF-8 encoded. Unable to search it by pattern.");
         
-        for(int i = 0; i < charCount; i++)
-        {
-            currentNode = currentNode.transition(str.charAt(i));
-            if(equivalenceClassMDAGNodeHashMap.get(currentNode) == currentNode)
-                equivalenceClassMDAGNodeHashMap.remove(currentNode);
-            
-            //The hashCode of an MDAGNode is cached the first time a hash is performed without a cache value present.
-            //Since we just hashed currentNode, we must clear this regardless of its presence in equivalenceClassMDAGNodeHashMap
-            //since we're not actually declaring equivalence class representatives here.
-            currentNode.clearStoredHashCode();  
-        }  
+        VisitingTraversal traversal = new VisitingTraversal(visitor, SearchCondition.NO_SEARCH_CONDITION, null, "");
+        
+        if(isSourceAcceptNode() && automaton.isAcceptState(automaton.getStartState()) && !traversal.visit(0))
+            return false;
+        
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
+            return visitStringsMatchingPattern(traversal, automaton, 0, sourceNode, automaton.getStartState());
+        else
+            return visitStringsMatchingPattern(traversal, automaton, 0, SimpleMDAG.SOURCE_NODE_INDEX, automaton.getStartState());
     }
     
     
     
     /**
-     * Clones a transition path from a given node.
+     * Hands all the valid Strings that have been inserted in to the MDAG (including the empty String, 
+     * if it has been added) to a visitor, in lexicographical order, as they are found.
      
-     * @param pivotConfluenceNode               the MDAGNode that the cloning operation is to be based from
-     * @param transitionStringToPivotNode       a String which corresponds with a transition path from souceNode to {@code pivotConfluenceNode}
-     * @param str                               a String which corresponds to the transition path from {@code pivotConfluenceNode} that is to be cloned
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the Strings were handed to {@code visitor}, false if it stopped the traversal
      */
-    private void cloneTransitionPath(MDAGNode pivotConfluenceNode, String transitionStringToPivotNode, String str)
+    public boolean visitAllStrings(MDAGVisitor visitor)
     {
-        MDAGNode lastTargetNode = pivotConfluenceNode.transition(str);      //Will store the last node which was used as the base of a cloning operation
-        MDAGNode lastClonedNode = null;                                     //Will store the last cloned node
-        char lastTransitionLabelChar = '\0';                                //Will store the char which labels the transition to lastTargetNode from its parent node in the prefixString's transition path 
-
-        //Loop backwards through the indices of str, using each as a boundary to create substrings of str of decreasing length
-        //which will be used to transition to, and duplicate the nodes in the transition path of str from pivotConfluenceNode.
-        for(int i = str.length(); i >= 0; i--)
-        {
-            String currentTransitionString = (i > 0 ? str.substring(0, i) : null);
-            MDAGNode currentTargetNode = (i > 0 ? pivotConfluenceNode.transition(currentTransitionString) : pivotConfluenceNode) ;              
-            MDAGNode clonedNode;
-
-            if(i == 0)  //if we have reached pivotConfluenceNode
-            {
-                //Clone pivotConfluenceNode in a way that reassigns the transition of its parent node (in transitionStringToConfluenceNode's path) to the clone.
-                String transitionStringToPivotNodeParent = transitionStringToPivotNode.substring(0, transitionStringToPivotNode.length() - 1);
-                char parentTransitionLabelChar = transitionStringToPivotNode.charAt(transitionStringToPivotNode.length() - 1);
-                clonedNode = pivotConfluenceNode.clone(sourceNode.transition(transitionStringToPivotNodeParent), parentTransitionLabelChar);
-                /////
-            }
-            else
-                clonedNode = currentTargetNode.clone();     //simply clone curentTargetNode
-
-            transitionCount += clonedNode.getOutgoingTransitionCount();
-
-            //If this isn't the first node we've cloned, reassign clonedNode's transition labeled
-            //with the lastTransitionChar (which points to the last targetNode) to the last clone.
-            if(lastClonedNode != null)
-            {
-                clonedNode.reassignOutgoingTransition(lastTransitionLabelChar, lastTargetNode, lastClonedNode);
-                lastTargetNode = currentTargetNode;
-            }
-
-            //Store clonedNode and the char which labels the transition between the node it was cloned from (currentTargetNode) and THAT node's parent.
-            //These will be used to establish an equivalent transition to clonedNode from the next clone to be created (it's clone parent).
-            lastClonedNode = clonedNode;
-            lastTransitionLabelChar = (i > 0 ? str.charAt(i - 1) : '\0');
-            /////
-        }
-        /////
+        return visitStrings(new VisitingTraversal(createLabelDecodingVisitor(visitor), SearchCondition.NO_SEARCH_CONDITION, null, ""));
     }
     
-
+    
     
     /**
-     * Adds a String to the MDAG (called by addString to do actual MDAG manipulation).
+     * Hands all the Strings in the MDAG that begin with a given String to a visitor,
+     * in lexicographical order, as they are found.
      
-     * @param str       the String to be added to the MDAG
+     * @param prefixStr     a String that is the prefix for all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
      */
-    private void addStringInternal(String str)
+    public boolean visitStringsStartingWith(String prefixStr, MDAGVisitor visitor)
     {
-        String prefixString = determineLongestPrefixInMDAG(str);
-        String suffixString = str.substring(prefixString.length());
-
-        //Retrive the data related to the first confluence node (a node with two or more incoming transitions)
-        //in the transition path from sourceNode corresponding to prefixString.
-        HashMap<String, Object> firstConfluenceNodeDataHashMap = getTransitionPathFirstConfluenceNodeData(sourceNode, prefixString);
-        MDAGNode firstConfluenceNodeInPrefix = (MDAGNode)firstConfluenceNodeDataHashMap.get("confluenceNode");
-        Integer toFirstConfluenceNodeTransitionCharIndex = (Integer) firstConfluenceNodeDataHashMap.get("toConfluenceNodeTransitionCharIndex");
-        /////
+        prefixStr = toLabelString(prefixStr);
+        VisitingTraversal traversal = new VisitingTraversal(createLabelDecodingVisitor(visitor), SearchCondition.PREFIX_SEARCH_CONDITION, prefixStr, prefixStr);
+        int prefixLength = prefixStr.length();
         
-        //Remove the register entries of all the nodes in the prefixString transition path up to the first confluence node 
-        //(those past the confluence node will not need to be removed since they will be cloned and unaffected by the 
-        //addition of suffixString). If there is no confluence node in prefixString, then remove the register entries in prefixString's entire transition path
-        removeTransitionPathRegisterEntries((toFirstConfluenceNodeTransitionCharIndex == null ? prefixString : prefixString.substring(0, toFirstConfluenceNodeTransitionCharIndex)));
-                
-        //If there is a confluence node in the prefix, we must duplicate the transition path
-        //of the prefix starting from that node, before we add suffixString (to the duplicate path).
-        //This ensures that we do not disturb the other transition paths containing this node.
-        if(firstConfluenceNodeInPrefix != null)
+        if(sourceNode != null)      //if the MDAG hasn't been simplified
         {
-            String transitionStringOfPathToFirstConfluenceNode = prefixString.substring(0, toFirstConfluenceNodeTransitionCharIndex + 1);
-            String transitionStringOfToBeDuplicatedPath = prefixString.substring(toFirstConfluenceNodeTransitionCharIndex + 1);
-            cloneTransitionPath(firstConfluenceNodeInPrefix, transitionStringOfPathToFirstConfluenceNode, transitionStringOfToBeDuplicatedPath);
+            MDAGNode originNode = sourceNode.transition(prefixStr);  //attempt to transition down the path denoted by prefixStr
+           
+            if(originNode != null) //if there a transition path corresponding to prefixString (one or more stored Strings begin with prefixString)
+            {
+                if(originNode.isAcceptNode() && !traversal.visit(prefixLength)) return false;
+                return visitStrings(traversal, prefixLength, originNode);   //visit all Strings that extend the transition path denoted by prefixStr
+            } 
+        }
+        else
+        {
+            int originNodeIndex = simplifiedMDAG.transition(SimpleMDAG.SOURCE_NODE_INDEX, prefixStr);      //attempt to transition down the path denoted by prefixStr
+            
+            if(originNodeIndex != -1)      //if there a transition path corresponding to prefixString (one or more stored Strings begin with prefixStr)
+            {
+                if(simplifiedMDAG.isAcceptNode(originNodeIndex) && !traversal.visit(prefixLength)) return false;
+                return visitStrings(traversal, prefixLength, originNodeIndex);        //visit all Strings that extend the transition path denoted by prefixString
+            } 
         }
-        /////
         
-        //Add the transition based on suffixString to the end of the (possibly duplicated) transition path corresponding to prefixString
-        addTransitionPath(sourceNode.transition(prefixString), suffixString);
+        return true;
     }
     
-
-
+    
+    
     /**
-     * Creates a SimpleMDAGNode version of an MDAGNode's outgoing transition set in mdagDataArray.
+     * Hands all the Strings in the MDAG that contain a given String to a visitor as they are found. The Strings are found
+     * in lexicographical order, or in the lexicographical order of their rotations beginning with {@code str} if the MDAG 
+     * has a substring index (in which case only the Strings containing {@code str} are traversed).
      
-     * @param node                                      the MDAGNode containing the transition set to be inserted in to {@code mdagDataArray}
-     * @param mdagDataArray                             an array of SimpleMDAGNodes containing a subset of the data of the MDAG
-     * @param onePastLastCreatedConnectionSetIndex      an int of the index in {@code mdagDataArray} that the outgoing transition set of {@code node} is to start from 
-     * @return                                          an int of one past the end of the transition set located farthest in {@code mdagDataArray}
+     * @param str           a String that is contained in all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
      */
-    private int createSimpleMDAGTransitionSet(MDAGNode node, SimpleMDAGNode[] mdagDataArray, int onePastLastCreatedTransitionSetIndex)
-    {   
-        int pivotIndex = onePastLastCreatedTransitionSetIndex;
-        node.setTransitionSetBeginIndex(pivotIndex);
-        
-        onePastLastCreatedTransitionSetIndex += node.getOutgoingTransitionCount(); 
-
-        //Create a SimpleMDAGNode representing each transition label/target combo in transitionTreeMap, recursively calling this method (if necessary)
-        //to set indices in these SimpleMDAGNodes that the set of transitions emitting from their respective transition targets starts from.
-        TreeMap<Character, MDAGNode> transitionTreeMap = node.getOutgoingTransitions();
-        for(Entry<Character, MDAGNode> transitionKeyValuePair : transitionTreeMap.entrySet())
-        {
-            //Use the current transition's label and target node to create a SimpleMDAGNode
-            //(which is a space-saving representation of the transition), and insert it in to mdagDataArray
-            char transitionLabelChar = transitionKeyValuePair.getKey();
-            MDAGNode transitionTargetNode = transitionKeyValuePair.getValue();
-            mdagDataArray[pivotIndex] = new SimpleMDAGNode(transitionLabelChar, transitionTargetNode.isAcceptNode(), transitionTargetNode.getOutgoingTransitionCount());
-            /////
-            
-            //If targetTransitionNode's outgoing transition set hasn't been inserted in to mdagDataArray yet, call this method on it to do so. 
-            //After this call returns, transitionTargetNode will contain the index in mdagDataArray that its transition set starts from
-            if(transitionTargetNode.getTransitionSetBeginIndex() == -1)
-                onePastLastCreatedTransitionSetIndex = createSimpleMDAGTransitionSet(transitionTargetNode, mdagDataArray, onePastLastCreatedTransitionSetIndex);
-            
-            mdagDataArray[pivotIndex++].setTransitionSetBeginIndex(transitionTargetNode.getTransitionSetBeginIndex());
-        }
-        /////
-        
-        return onePastLastCreatedTransitionSetIndex;
+    public boolean visitStringsWithSubstring(String str, MDAGVisitor visitor)
+    {
+        if(rotatedMDAG != null && !str.isEmpty() && str.indexOf(ROTATION_SEPARATOR_CHAR) == -1)
+            return rotatedMDAG.visitStringsStartingWith(str, new RotationRestoringVisitor(str, visitor));
+        else
+            return visitStrings(new VisitingTraversal(createLabelDecodingVisitor(visitor), SearchCondition.SUBSTRING_SEARCH_CONDITION, toLabelString(str), ""));
     }
-
+    
     
     
     /**
-     * Creates a space-saving version of the MDAG in the form of an array. 
-     * Once the MDAG is simplified, Strings can no longer be added to or removed from it.
+     * Hands all the Strings in the MDAG that end with a given String to a visitor as they are found. The Strings are
+     * found in lexicographical order, or in the lexicographical order of their reversals if the MDAG has a suffix index
+     * (in which case only the Strings ending with {@code suffixStr} are traversed).
+     
+     * @param suffixStr     a String that is the suffix for all the desired Strings
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
      */
-    public void simplify()
+    public boolean visitStringsEndingWith(String suffixStr, MDAGVisitor visitor)
     {
-        if(sourceNode != null)
-        {
-            mdagDataArray = new SimpleMDAGNode[transitionCount];
-            createSimpleMDAGTransitionSet(sourceNode, mdagDataArray, 0);
-            simplifiedSourceNode = new SimpleMDAGNode('\0', false, sourceNode.getOutgoingTransitionCount());
-
-            //Mark the previous MDAG data structure and equivalenceClassMDAGNodeHashMap
-            //for garbage collection since they are no longer needed.
-            sourceNode = null;
-            equivalenceClassMDAGNodeHashMap = null;
-            /////
-        }
+        if(reversedMDAG != null)
+            return reversedMDAG.visitStringsStartingWith(reverseString(suffixStr), new ReversingVisitor(visitor));
+        else
+            return visitStrings(new VisitingTraversal(createLabelDecodingVisitor(visitor), SearchCondition.SUFFIX_SEARCH_CONDITION, toLabelString(suffixStr), ""));
     }
     
     
     
     /**
-     * Determines whether a String is present in the MDAG.
+     * Hands all the Strings in the MDAG that are within a given edit distance of a given String to a visitor, in lexicographical 
+     * order, as they are found. The edit distance between two Strings is the smallest number of single char insertions, deletions
+     * and substitutions that transform one in to the other. Transition paths are abandoned as soon as every String they begin 
+     * exceeds the edit distance, so only a small part of the MDAG is traversed for small distances.
      
-     * @param str       the String to be searched for
-     * @return          true if {@code str} is present in the MDAG, and false otherwise
+     * @param queryStr          a String that all the desired Strings are to be within {@code maxEditCount} edits of
+     * @param maxEditCount      an int denoting the largest edit distance between {@code queryStr} and a desired String
+     * @param visitor           the MDAGVisitor to hand the Strings to
+     * @return                  true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     * @throws IllegalArgumentException     if {@code maxEditCount} is negative
+     * @throws UnsupportedOperationException    if the MDAG is UTF-8 encoded
      */
-    public boolean contains(String str)
+    public boolean visitStringsWithinEditDistance(String queryStr, int maxEditCount, MDAGVisitor visitor)
     {
+        if(maxEditCount < 0)
+            throw new IllegalArgumentException("Edit distance must not be negative: " + maxEditCount);
+        else if(labelEncoding == LabelEncoding.UTF8)
+            throw new UnsupportedOperationException("MDAG is UTF-8 encoded. Unable to search it by edit distance.");
+        
+        EditDistanceTraversal traversal = new EditDistanceTraversal(visitor, queryStr, maxEditCount);
+        
+        //The empty String is within the edit distance if all the chars of queryStr can be deleted
+        if(isSourceAcceptNode() && !traversal.visit(0))
+            return false;
+        
         if(sourceNode != null)      //if the MDAG hasn't been simplified
-        {
-            MDAGNode targetNode = sourceNode.transition(str);   
-            return (targetNode != null && targetNode.isAcceptNode());
-        }
+            return visitStringsWithinEditDistance(traversal, 0, sourceNode);
         else
-        {
-            SimpleMDAGNode targetNode = SimpleMDAGNode.traverseMDAG(mdagDataArray, simplifiedSourceNode, str);
-            return(targetNode != null && targetNode.isAcceptNode());
-        }
+            return visitStringsWithinEditDistance(traversal, 0, SimpleMDAG.SOURCE_NODE_INDEX);
     }
-
+    
     
     
     /**
-     * Retrieves Strings corresponding to all valid transition paths from a given node that satisfy a given condition.
+     * Hands all the Strings in the MDAG that match a wildcard pattern to a visitor, in lexicographical order, as they are found.
+     * A wildcard pattern consists of literal chars, {@code ?} (which matches any char), {@code *} (which matches any sequence of 
+     * chars), char classes such as {@code [a-z]} or {@code [!aeiou]}, and {@code \} (which escapes the following char). The pattern 
+     * is followed along each transition path, so the paths which no matching String begins with are not traversed.
      
-     * @param strHashSet                a HashSet of Strings to contain all those in the MDAG satisfying
-     *                                  {@code searchCondition} with {@code conditionString}
-     * @param searchCondition           the SearchCondition enum field describing the type of relationship that Strings contained in the MDAG 
-     *                                  must have with {@code conditionString} in order to be included in the result set
-     * @param searchConditionString     the String that all Strings in the MDAG must be related with in the fashion denoted 
-     *                                  by {@code searchCondition} in order to be included in the result set
-     * @param prefixString              the String corresponding to the currently traversed transition path
-     * @param transitionTreeMap         a TreeMap of Characters to MDAGNodes collectively representing an MDAGNode's transition set
+     * @param wildcardPattern       a String containing the wildcard pattern that all the desired Strings match
+     * @param visitor               the MDAGVisitor to hand the Strings to
+     * @return                      true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     * @throws java.util.regex.PatternSyntaxException   if {@code wildcardPattern} is malformed
      */
-    private void getStrings(HashSet<String> strHashSet, SearchCondition searchCondition, String searchConditionString, String prefixString, TreeMap<Character, MDAGNode> transitionTreeMap)
+    public boolean visitStringsMatchingWildcard(String wildcardPattern, MDAGVisitor visitor)
     {
-        //Traverse all the valid transition paths beginning from each transition in transitionTreeMap, inserting the
-        //corresponding Strings in to strHashSet that have the relationship with conditionString denoted by searchCondition
-        for(Entry<Character, MDAGNode> transitionKeyValuePair : transitionTreeMap.entrySet())
-        {
-            String newPrefixString = prefixString + transitionKeyValuePair.getKey();
-            MDAGNode currentNode = transitionKeyValuePair.getValue();
-
-            if(currentNode.isAcceptNode() && searchCondition.satisfiesCondition(newPrefixString, searchConditionString))
-                strHashSet.add(newPrefixString);
-            
-            //Recursively call this to traverse all the valid transition paths from currentNode
-            getStrings(strHashSet, searchCondition, searchConditionString, newPrefixString, currentNode.getOutgoingTransitions());    
-        }
-        /////
+        return visitStringsMatchingPattern(PatternAutomaton.compileWildcardPattern(wildcardPattern), visitor);
     }
     
     
     
     /**
-     * Retrieves Strings corresponding to all valid transition paths from a given node that satisfy a given condition.
+     * Hands all the Strings in the MDAG that match a regular expression (in their entirety) to a visitor, in lexicographical order, 
+     * as they are found. Literal chars, {@code .}, char classes (including {@code \d}, {@code \w} and {@code \s}), groups, alternation, 
+     * and the {@code *}, {@code +}, {@code ?} and bounded repetition quantifiers are supported. The expression is followed along each
+     * transition path, so the paths which no matching String begins with are not traversed.
      
-     * @param strHashSet                    a HashSet of Strings to contain all those in the MDAG satisfying
-     *                                      {@code searchCondition} with {@code conditionString}
-     * @param searchCondition               the SearchCondition enum field describing the type of relationship that Strings contained in the MDAG 
-     *                                      must have with {@code conditionString} in order to be included in the result set
-     * @param searchConditionString         the String that all Strings in the MDAG must be related with in the fashion denoted 
-     *                                      by {@code searchCondition} in order to be included in the result set
-     * @param prefixString                  the String corresponding to the currently traversed transition path
-     * @param transitionSetBegin            an int denoting the starting index of a SimpleMDAGNode's transition set in mdagDataArray
-     * @param onePastTransitionSetEnd       an int denoting one past the last index of a simpleMDAGNode's transition set in mdagDataArray
+     * @param regex         a String containing the regular expression that all the desired Strings match
+     * @param visitor       the MDAGVisitor to hand the Strings to
+     * @return              true if all the desired Strings were handed to {@code visitor}, false if it stopped the traversal
+     * @throws java.util.regex.PatternSyntaxException   if {@code regex} is malformed or uses unsupported syntax
      */
-    private void getStrings(HashSet<String> strHashSet, SearchCondition searchCondition, String searchConditionString, String prefixString, SimpleMDAGNode node)
+    public boolean visitStringsMatchingRegex(String regex, MDAGVisitor visitor)
     {
-        int transitionSetBegin = node.getTransitionSetBeginIndex();
-        int onePastTransitionSetEnd = transitionSetBegin +  node.getOutgoingTransitionSetSize();
-        
-        //Traverse all the valid transition paths beginning from each transition in transitionTreeMap, inserting the
-        //corresponding Strings in to strHashSet that have the relationship with conditionString denoted by searchCondition
-        for(int i = transitionSetBegin; i < onePastTransitionSetEnd; i++)
-        {
-            SimpleMDAGNode currentNode = mdagDataArray[i];
-            String newPrefixString = prefixString + currentNode.getLetter();
-            
-            if(currentNode.isAcceptNode() && searchCondition.satisfiesCondition(newPrefixString, searchConditionString))
-                strHashSet.add(newPrefixString);
-            
-            //Recursively call this to traverse all the valid transition paths from currentNode
-            getStrings(strHashSet, searchCondition, searchConditionString, newPrefixString, currentNode);
-        }
-        /////
+        return visitStringsMatchingPattern(PatternAutomaton.compileRegex(regex), visitor);
     }
-        
+    
     
     
     /**
@@ -789,11 +3460,7 @@ public class MDAG
     public HashSet<String> getAllStrings()
     {  
         HashSet<String> strHashSet = new HashSet<String>();
-        
-        if(sourceNode != null)
-            getStrings(strHashSet, SearchCondition.NO_SEARCH_CONDITION, null, "", sourceNode.getOutgoingTransitions());
-        else
-            getStrings(strHashSet, SearchCondition.NO_SEARCH_CONDITION, null, "", simplifiedSourceNode);
+        visitAllStrings(new CollectionPopulatingVisitor(strHashSet));
         
         return strHashSet;
     }
@@ -809,27 +3476,7 @@ public class MDAG
     public HashSet<String> getStringsStartingWith(String prefixStr)
     {
         HashSet<String> strHashSet = new HashSet<String>();
-        
-        if(sourceNode != null)      //if the MDAG hasn't been simplified
-        {
-            MDAGNode originNode = sourceNode.transition(prefixStr);  //attempt to transition down the path denoted by prefixStr
-           
-            if(originNode != null) //if there a transition path corresponding to prefixString (one or more stored Strings begin with prefixString)
-            {
-                if(originNode.isAcceptNode()) strHashSet.add(prefixStr);
-                getStrings(strHashSet, SearchCondition.PREFIX_SEARCH_CONDITION, prefixStr, prefixStr, originNode.getOutgoingTransitions());   //retrieve all Strings that extend the transition path denoted by prefixStr
-            } 
-        }
-        else
-        {
-            SimpleMDAGNode originNode = SimpleMDAGNode.traverseMDAG(mdagDataArray, simplifiedSourceNode, prefixStr);      //attempt to transition down the path denoted by prefixStr
-            
-            if(originNode != null)      //if there a transition path corresponding to prefixString (one or more stored Strings begin with prefixStr)
-            {
-                if(originNode.isAcceptNode()) strHashSet.add(prefixStr);
-                getStrings(strHashSet, SearchCondition.PREFIX_SEARCH_CONDITION, prefixStr, prefixStr, originNode);        //retrieve all Strings that extend the transition path denoted by prefixString
-            } 
-        }
+        visitStringsStartingWith(prefixStr, new CollectionPopulatingVisitor(strHashSet));
         
         return strHashSet;
     }
@@ -845,11 +3492,7 @@ public class MDAG
     public HashSet<String> getStringsWithSubstring(String str)
     {
         HashSet<String> strHashSet = new HashSet<String>();
-         
-        if(sourceNode != null)      //if the MDAG hasn't been simplified
-            getStrings(strHashSet, SearchCondition.SUBSTRING_SEARCH_CONDITION, str, "", sourceNode.getOutgoingTransitions());
-        else
-            getStrings(strHashSet, SearchCondition.SUBSTRING_SEARCH_CONDITION, str, "", simplifiedSourceNode); 
+        visitStringsWithSubstring(str, new CollectionPopulatingVisitor(strHashSet));
             
         return strHashSet;
     }
@@ -865,13 +3508,65 @@ public class MDAG
     public HashSet<String> getStringsEndingWith(String suffixStr)
     {
         HashSet<String> strHashSet = new HashSet<String>();
-        
-        if(sourceNode != null)      //if the MDAG hasn't been simplified
-            getStrings(strHashSet, SearchCondition.SUFFIX_SEARCH_CONDITION, suffixStr, "", sourceNode.getOutgoingTransitions());
-        else
-            getStrings(strHashSet, SearchCondition.SUFFIX_SEARCH_CONDITION, suffixStr, "", simplifiedSourceNode); 
+        visitStringsEndingWith(suffixStr, new CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+    
+    
+    
+    /**
+     * Retrieves all the Strings in the MDAG that are within a given edit distance 
+     * (number of single char insertions, deletions and substitutions) of a given String.
+     
+     * @param queryStr          a String that all the desired Strings are to be within {@code maxEditCount} edits of
+     * @param maxEditCount      an int denoting the largest edit distance between {@code queryStr} and a desired String
+     * @return                  a HashSet containing all the Strings present in the MDAG that are 
+     *                          within {@code maxEditCount} edits of {@code queryStr}
+     * @throws IllegalArgumentException     if {@code maxEditCount} is negative
+     */
+    public HashSet<String> getStringsWithinEditDistance(String queryStr, int maxEditCount)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsWithinEditDistance(queryStr, maxEditCount, new CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+    
+    
+    
+    /**
+     * Retrieves all the Strings in the MDAG that match a wildcard pattern 
+     * (see {@link #visitStringsMatchingWildcard(String, MDAGVisitor)}).
+     
+     * @param wildcardPattern       a String containing the wildcard pattern that all the desired Strings match
+     * @return                      a HashSet containing all the Strings present in the MDAG that match {@code wildcardPattern}
+     * @throws java.util.regex.PatternSyntaxException   if {@code wildcardPattern} is malformed
+     */
+    public HashSet<String> getStringsMatchingWildcard(String wildcardPattern)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsMatchingWildcard(wildcardPattern, new CollectionPopulatingVisitor(strHashSet));
+
+        return strHashSet;
+    }
+    
+    
+    
+    /**
+     * Retrieves all the Strings in the MDAG that match a regular expression in their entirety
+     * (see {@link #visitStringsMatchingRegex(String, MDAGVisitor)}).
+     
+     * @param regex     a String containing the regular expression that all the desired Strings match
+     * @return          a HashSet containing all the Strings present in the MDAG that match {@code regex}
+     * @throws java.util.regex.PatternSyntaxException   if {@code regex} is malformed or uses unsupported syntax
+     */
+    public HashSet<String> getStringsMatchingRegex(String regex)
+    {
+        HashSet<String> strHashSet = new HashSet<String>();
+        visitStringsMatchingRegex(regex, new CollectionPopulatingVisitor(strHashSet));
 
-         return strHashSet;
+        return strHashSet;
     }
     
     
@@ -883,27 +3578,162 @@ public class MDAG
      */
     public Object getSourceNode()
     {
-        return (sourceNode != null ? sourceNode : simplifiedSourceNode);
+        if(sourceNode != null)
+            return sourceNode;
+        else
+            return simplifiedMDAG.createSimpleMDAGNode(SimpleMDAG.SOURCE_NODE_INDEX);
     }
     
     
     
     /**
-     * Returns the array of SimpleMDAGNodes collectively containing the 
+     * Returns an array of SimpleMDAGNodes collectively containing the 
      * data of this MDAG, or null if it hasn't been simplified yet.
+     * Since a simplified MDAG stores its data in primitive arrays,
+     * the returned array is created anew with each call.
      
-     * @return      the array of SimpleMDAGNodes collectively containing the data of this MDAG
+     * @return      an array of SimpleMDAGNodes collectively containing the data of this MDAG
      *              if this MDAG has been simplified, or null if it has not
      */
     public SimpleMDAGNode[] getSimpleMDAGArray()
     {
+        if(simplifiedMDAG == null) return null;
+        
+        int simplifiedTransitionCount = simplifiedMDAG.getTransitionCount();
+        SimpleMDAGNode[] mdagDataArray = new SimpleMDAGNode[simplifiedTransitionCount];
+        
+        for(int i = 0; i < simplifiedTransitionCount; i++)
+            mdagDataArray[i] = simplifiedMDAG.createSimpleMDAGNode(i + 1);
+        
         return mdagDataArray;
     }
     
     
     
     /**
-     * Procures the set of characters which collectively label the MDAG's transitions.
+     * Estimates the heap memory retained by the MDAG: that of its nodes and transitions (or the arrays of its simplified form), 
+     * its register and other data structures, and its suffix and substring indexes. The report also contains the per-node 
+     * and per-transition averages, and the fraction of the transitions of the equivalent trie that minimization has saved.
+     * Producing it requires a traversal of the MDAG, so it should not be called frequently.
+     
+     * @return      a MDAGMemoryReport containing the estimates
+     */
+    public MDAGMemoryReport memoryReport()
+    {
+        long graphBytes = 0;
+        long registerBytes = 0;
+        long auxiliaryBytes = MDAGMemoryReport.estimateCharacterTreeSetBytes(charTreeSet);
+        long indexBytes = 0;
+        long mappedBytes = 0;
+        int nodeCount;
+        long trieTransitionCount;
+        
+        if(sourceNode != null)
+        {
+            IdentityHashMap<MDAGNode, Long> trieTransitionCountHashMap = new IdentityHashMap<MDAGNode, Long>();
+            trieTransitionCount = countTrieTransitions(sourceNode, trieTransitionCountHashMap);
+            nodeCount = trieTransitionCountHashMap.size();
+            
+            for(MDAGNode node : trieTransitionCountHashMap.keySet())
+                graphBytes += node.estimateHeapBytes();
+            
+            registerBytes = equivalenceClassMDAGNodeRegister.estimateHeapBytes();
+            auxiliaryBytes += MDAGMemoryReport.estimateArrayBytes(MDAGNode.class, transitionPathNodeArray.length);
+            
+            if(snapshotSimpleMDAG != null)
+                auxiliaryBytes += snapshotSimpleMDAG.estimateHeapBytes();
+        }
+        else
+        {
+            HashMap<Integer, Long> trieTransitionCountHashMap = new HashMap<Integer, Long>();
+            trieTransitionCount = countTrieTransitions(SimpleMDAG.SOURCE_NODE_INDEX, trieTransitionCountHashMap);
+            
+            //Nodes without outgoing transitions (of which a minimal MDAG has at most one) aren't memoized, so they're counted separately
+            nodeCount = trieTransitionCountHashMap.size() + (transitionCount > 0 || trieTransitionCountHashMap.isEmpty() ? 1 : 0);
+            
+            graphBytes = simplifiedMDAG.estimateHeapBytes();
+            mappedBytes = simplifiedMDAG.getMappedBytes();
+        }
+        
+        if(reversedMDAG != null)
+            indexBytes += reversedMDAG.memoryReport().getTotalBytes();
+        
+        if(rotatedMDAG != null)
+            indexBytes += rotatedMDAG.memoryReport().getTotalBytes();
+        
+        return new MDAGMemoryReport(graphBytes, registerBytes, auxiliaryBytes, indexBytes, mappedBytes, nodeCount, transitionCount, trieTransitionCount);
+    }
+    
+    
+    
+    /**
+     * Counts the transitions in a trie containing the right language of a node (i.e the transitions 
+     * in the tree formed by the transition paths from the node, in which no node is shared).
+     
+     * @param node                              an MDAGNode
+     * @param trieTransitionCountHashMap        an IdentityHashMap containing the count of each node processed so far
+     *                                          (every node reachable from {@code node} is in it once this returns)
+     * @return                                  a long denoting the number of transitions in the trie of {@code node}'s right language
+     */
+    private long countTrieTransitions(MDAGNode node, IdentityHashMap<MDAGNode, Long> trieTransitionCountHashMap)
+    {
+        Long trieTransitionCount = trieTransitionCountHashMap.get(node);
+        
+        if(trieTransitionCount == null)
+        {
+            long count = 0;
+            int outgoingTransitionCount = node.getOutgoingTransitionCount();
+            
+            for(int i = 0; i < outgoingTransitionCount; i++)
+                count += 1 + countTrieTransitions(node.getOutgoingTransitionTargetNode(i), trieTransitionCountHashMap);
+            
+            trieTransitionCount = count;
+            trieTransitionCountHashMap.put(node, trieTransitionCount);
+        }
+        
+        return trieTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Counts the transitions in a trie containing the right language of a node in the simplified MDAG.
+     
+     * @param nodeIndex                         an int denoting the index of a transition leading to the node of interest
+     * @param trieTransitionCountHashMap        a HashMap containing the count of each node with outgoing transitions processed 
+     *                                          so far, keyed by the index its transition set begins at
+     * @return                                  a long denoting the number of transitions in the trie of the node's right language
+     */
+    private long countTrieTransitions(int nodeIndex, HashMap<Integer, Long> trieTransitionCountHashMap)
+    {
+        int transitionSetSize = simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
+        
+        //The transition set begin indices of nodes without outgoing transitions aren't unique, so they aren't memoized
+        if(transitionSetSize == 0)
+            return 0;
+        
+        int transitionSetBeginIndex = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
+        Long trieTransitionCount = trieTransitionCountHashMap.get(transitionSetBeginIndex);
+        
+        if(trieTransitionCount == null)
+        {
+            long count = 0;
+            
+            for(int i = transitionSetBeginIndex; i < transitionSetBeginIndex + transitionSetSize; i++)
+                count += 1 + countTrieTransitions(i, trieTransitionCountHashMap);
+            
+            trieTransitionCount = count;
+            trieTransitionCountHashMap.put(transitionSetBeginIndex, trieTransitionCount);
+        }
+        
+        return trieTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Procures the set of characters which collectively label the MDAG's transitions
+     * (the chars holding the bytes of the labels, if the MDAG is UTF-8 encoded).
      
      * @return      a TreeSet of chars which collectively label all the transitions in the MDAG
      */
@@ -914,6 +3744,18 @@ public class MDAG
     
     
     
+    /**
+     * Retrieves the encoding in which the MDAG's Strings are represented by its transition labels.
+     
+     * @return      the LabelEncoding of the MDAG
+     */
+    public LabelEncoding getLabelEncoding()
+    {
+        return labelEncoding;
+    }
+    
+    
+    
     /**
      * Determines if a child node object is accepting.
       
@@ -938,29 +3780,64 @@ public class MDAG
         throw new IllegalArgumentException("Argument is not an MDAGNode or SimpleMDAGNode");
     }
     
-     private int countNodes(MDAGNode originNode, HashSet<Integer> nodeIDHashSet)
+    /**
+     * Counts the nodes in the simplified MDAG other than the source node.
+     
+     * @param nodeIndex                         an int denoting the index of a transition leading to the node of interest
+     * @param transitionSetBeginIndexHashSet    a HashSet containing the transition set begin indices of the nodes 
+     *                                          with outgoing transitions which have been counted so far
+     */
+    private void countSimplifiedNodes(int nodeIndex, HashSet<Integer> transitionSetBeginIndexHashSet)
     {
-        if(originNode != sourceNode) nodeIDHashSet.add(originNode.id);
+        int transitionSetSize = simplifiedMDAG.getOutgoingTransitionSetSize(nodeIndex);
+        int transitionSetBeginIndex = simplifiedMDAG.getTransitionSetBeginIndex(nodeIndex);
         
-        TreeMap<Character, MDAGNode> transitionTreeMap = originNode.getOutgoingTransitions();
-        
-        for(Entry<Character, MDAGNode> transitionKeyValuePair : transitionTreeMap.entrySet()) 
-            countNodes(transitionKeyValuePair.getValue(), nodeIDHashSet);
-
-        return nodeIDHashSet.size();
+        if(transitionSetSize > 0 && transitionSetBeginIndexHashSet.add(transitionSetBeginIndex))
+        {
+            for(int i = transitionSetBeginIndex; i < transitionSetBeginIndex + transitionSetSize; i++)
+                countSimplifiedNodes(i, transitionSetBeginIndexHashSet);
+        }
     }
     
     
     
-    
+    /**
+     * Retrieves the number of nodes in the MDAG, excluding the source node. This is kept up to date as the MDAG 
+     * is modified, so it takes constant time (except on the first call on a MDAG loaded from a file).
+     
+     * @return      an int denoting the number of nodes in the MDAG other than the source node
+     */
     public int getNodeCount()
     {
-        return countNodes(sourceNode, new HashSet<Integer>());
+        if(nodeCount == -1)     //if the MDAG has been loaded from a file and its nodes haven't been counted yet
+        {
+            HashSet<Integer> transitionSetBeginIndexHashSet = new HashSet<Integer>();
+            countSimplifiedNodes(SimpleMDAG.SOURCE_NODE_INDEX, transitionSetBeginIndexHashSet);
+            
+            //The nodes without outgoing transitions (of which a minimal MDAG has one if it has any transitions) share a transition set begin
+            //index with other nodes, so they aren't in transitionSetBeginIndexHashSet; the source node is, if it has any transitions
+            nodeCount = (transitionCount > 0 ? transitionSetBeginIndexHashSet.size() : 0);
+        }
+        
+        return nodeCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of Strings in the MDAG (see {@link #size()}).
+     
+     * @return      an int denoting the number of Strings in the MDAG, including the empty String if it is present
+     */
+    public int getStringCount()
+    {
+        return size();
     }
     
     public int getEquivalenceClassCount()
     {
-        return equivalenceClassMDAGNodeHashMap.size();
+        //Since there are no duplicate nodes in an MDAG, the number of equivalence classes is the number of nodes
+        return (equivalenceClassMDAGNodeRegister != null ? equivalenceClassMDAGNodeRegister.size() : getNodeCount());
     }
     
     public int getTransitionCount()
@@ -0,0 +1,111 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAG;
+
+
+
+/**
+ * The interface implemented by objects which are notified of the work carried out by a MDAG as Strings are added to
+ * and removed from it, and as it is simplified. A MDAG without a listener (the default) only pays for a null check
+ * at each point a notification would be made. Notifications are made on the thread modifying the MDAG.
+ 
+ * @author Kevin
+ */
+public interface MDAGBuildListener
+{
+    //Enum containing fields denoting the phases of work whose durations are reported to a listener
+    public static enum Phase {
+        
+        //The changing of the transition path of a String being added or removed (including the isolation of the path from others sharing it)
+        MODIFICATION, 
+        
+        //The replacement of the nodes in a changed transition path with equivalent registered nodes, or registration of the nodes
+        MINIMIZATION, 
+        
+        //The creation of the array representation of a MDAG being simplified
+        SIMPLIFICATION, 
+        
+        //The creation (or incremental update) of the array representation of a snapshot
+        SNAPSHOT;
+    }
+    
+    
+    
+    /**
+     * Receives notice of the creation of a node to extend a transition path.
+     
+     * @param node      the created MDAGNode
+     */
+    public void nodeCreated(MDAGNode node);
+    
+    
+    
+    /**
+     * Receives notice of the cloning of a node shared by multiple transition paths, so that one of them can be changed.
+     
+     * @param node          the cloned MDAGNode
+     * @param cloneNode     the clone of {@code node}
+     */
+    public void nodeCloned(MDAGNode node, MDAGNode cloneNode);
+    
+    
+    
+    /**
+     * Receives notice of a search of the register of equivalence class representatives for a node equivalent to a given one.
+     
+     * @param node      the MDAGNode that an equivalent node was searched for
+     * @param isHit     true if a registered node equivalent to {@code node} (possibly {@code node} itself) was found
+     */
+    public void registerLookup(MDAGNode node, boolean isHit);
+    
+    
+    
+    /**
+     * Receives notice of the registration of a node as the representative of its equivalence class.
+     
+     * @param node      the registered MDAGNode
+     */
+    public void registerAddition(MDAGNode node);
+    
+    
+    
+    /**
+     * Receives notice of an attempt to remove a node from the register of equivalence class 
+     * representatives, made before a node in a transition path that is to be changed is changed.
+     
+     * @param node              the MDAGNode that removal was attempted for
+     * @param wasRegistered     true if {@code node} was registered (and has been removed), false otherwise
+     */
+    public void registerRemoval(MDAGNode node, boolean wasRegistered);
+    
+    
+    
+    /**
+     * Receives notice of the completion of a unit of work in one of the phases of building a MDAG.
+     
+     * @param phase             the Phase that the work belongs to
+     * @param durationNanos     a long denoting the duration of the work in nanoseconds
+     */
+    public void phaseCompleted(Phase phase, long durationNanos);
+}
@@ -0,0 +1,278 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAG;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+
+
+/**
+ * A MDAGBuildListener which accumulates statistics about the work carried out by the MDAGs it listens to: the numbers 
+ * of nodes created and cloned, the hits, misses, additions and removals made on the register of equivalence class 
+ * representatives, and the time spent in each phase. It is not thread-safe, so it should only listen to MDAGs modified 
+ * by a single thread at a time.
+ 
+ * @author Kevin
+ */
+public class MDAGBuildStatistics implements MDAGBuildListener
+{
+    private long createdNodeCount;
+    
+    private long clonedNodeCount;
+    
+    private long registerHitCount;
+    
+    private long registerMissCount;
+    
+    private long registerAdditionCount;
+    
+    //A long denoting the number of registrations of nodes that had been removed from the register
+    private long reregistrationCount;
+    
+    private long registerRemovalCount;
+    
+    //A long denoting the number of attempts to remove unregistered nodes from the register
+    private long failedRegisterRemovalCount;
+    
+    //The array containing the total time (in nanoseconds) spent in each Phase, indexed by ordinal
+    private final long[] phaseDurationNanosArray = new long[Phase.values().length];
+    
+    //The Set containing the nodes that have been removed from the register, and not registered since
+    private final Set<MDAGNode> unregisteredNodeSet = Collections.newSetFromMap(new IdentityHashMap<MDAGNode, Boolean>());
+    
+    
+    
+    @Override
+    public void nodeCreated(MDAGNode node)
+    {
+        createdNodeCount++;
+    }
+    
+    
+    
+    @Override
+    public void nodeCloned(MDAGNode node, MDAGNode cloneNode)
+    {
+        clonedNodeCount++;
+    }
+    
+    
+    
+    @Override
+    public void registerLookup(MDAGNode node, boolean isHit)
+    {
+        if(isHit)
+            registerHitCount++;
+        else
+            registerMissCount++;
+    }
+    
+    
+    
+    @Override
+    public void registerAddition(MDAGNode node)
+    {
+        registerAdditionCount++;
+        
+        if(unregisteredNodeSet.remove(node))
+            reregistrationCount++;
+    }
+    
+    
+    
+    @Override
+    public void registerRemoval(MDAGNode node, boolean wasRegistered)
+    {
+        if(wasRegistered)
+        {
+            registerRemovalCount++;
+            unregisteredNodeSet.add(node);
+        }
+        else
+            failedRegisterRemovalCount++;
+    }
+    
+    
+    
+    @Override
+    public void phaseCompleted(Phase phase, long durationNanos)
+    {
+        phaseDurationNanosArray[phase.ordinal()] += durationNanos;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of nodes created to extend transition paths.
+     
+     * @return      a long denoting the number of created nodes (excluding clones)
+     */
+    public long getCreatedNodeCount()
+    {
+        return createdNodeCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of nodes cloned to isolate transition paths that were changed from those sharing their nodes.
+     
+     * @return      a long denoting the number of cloned nodes
+     */
+    public long getClonedNodeCount()
+    {
+        return clonedNodeCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of searches of the register that found an equivalent node.
+     
+     * @return      a long denoting the number of register hits
+     */
+    public long getRegisterHitCount()
+    {
+        return registerHitCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of searches of the register that didn't find an equivalent node.
+     
+     * @return      a long denoting the number of register misses
+     */
+    public long getRegisterMissCount()
+    {
+        return registerMissCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of nodes registered as the representatives of their equivalence classes.
+     
+     * @return      a long denoting the number of register additions
+     */
+    public long getRegisterAdditionCount()
+    {
+        return registerAdditionCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of registrations of nodes that had previously been removed from the register 
+     * (i.e nodes that were minimized again after a String sharing their transition path was added or removed).
+     
+     * @return      a long denoting the number of re-registrations
+     */
+    public long getReregistrationCount()
+    {
+        return reregistrationCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of nodes removed (evicted) from the register so that they could be changed.
+     
+     * @return      a long denoting the number of register removals
+     */
+    public long getRegisterRemovalCount()
+    {
+        return registerRemovalCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of fingerprints (register hash values) calculated, one for each search, addition and removal attempt.
+     
+     * @return      a long denoting the number of fingerprint calculations
+     */
+    public long getFingerprintCalculationCount()
+    {
+        return registerHitCount + registerMissCount + registerAdditionCount + registerRemovalCount + failedRegisterRemovalCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the total time spent in a phase.
+     
+     * @param phase     a Phase
+     * @return          a long denoting the number of nanoseconds spent in {@code phase}
+     */
+    public long getPhaseDurationNanos(Phase phase)
+    {
+        return phaseDurationNanosArray[phase.ordinal()];
+    }
+    
+    
+    
+    /**
+     * Resets all the statistics to zero.
+     */
+    public void reset()
+    {
+        createdNodeCount = 0;
+        clonedNodeCount = 0;
+        registerHitCount = 0;
+        registerMissCount = 0;
+        registerAdditionCount = 0;
+        reregistrationCount = 0;
+        registerRemovalCount = 0;
+        failedRegisterRemovalCount = 0;
+        
+        for(int i = 0; i < phaseDurationNanosArray.length; i++)
+            phaseDurationNanosArray[i] = 0;
+        
+        unregisteredNodeSet.clear();
+    }
+    
+    
+    
+    @Override
+    public String toString()
+    {
+        StringBuilder strBuilder = new StringBuilder();
+        strBuilder.append("nodes created: ").append(createdNodeCount)
+                  .append(", nodes cloned: ").append(clonedNodeCount)
+                  .append(", register hits: ").append(registerHitCount)
+                  .append(", register misses: ").append(registerMissCount)
+                  .append(", register additions: ").append(registerAdditionCount)
+                  .append(" (re-registrations: ").append(reregistrationCount).append(")")
+                  .append(", register removals: ").append(registerRemovalCount)
+                  .append(", fingerprint calculations: ").append(getFingerprintCalculationCount());
+        
+        for(Phase phase : Phase.values())
+            strBuilder.append(", ").append(phase.name().toLowerCase()).append(" ms: ").append(phaseDurationNanosArray[phase.ordinal()] / 1000000);
+        
+        return strBuilder.toString();
+    }
+}
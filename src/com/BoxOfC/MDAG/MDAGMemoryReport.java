@@ -0,0 +1,412 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.BoxOfC.MDAG;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+
+
+/**
+ * An estimate of the heap memory retained by a MDAG, broken down by component, along with the figures needed to relate
+ * it to the MDAG's size. The estimates follow the object layout of the running JVM, which is determined from its options
+ * (whether references and class pointers are compressed, and the alignment of objects) the first time a report is produced. 
+ * If the options can't be read (e.g. on a JVM other than HotSpot), the layout of a 64-bit HotSpot JVM with compressed 
+ * references (the default for heaps smaller than 32GB) is assumed: 12 byte object headers, 16 byte array headers, 
+ * 4 byte references, and objects padded to multiples of 8 bytes. Instance sizes are derived from the declared fields 
+ * of the classes, so the estimates follow changes to them.
+ 
+ * @author Kevin
+ */
+public final class MDAGMemoryReport 
+{
+    /**
+     * The class holding the object layout of the running JVM. It is only initialized (which 
+     * requires the platform MBean server) once an estimate is first called for.
+     */
+    private static final class ObjectLayout
+    {
+        //The ints denoting the sizes (in bytes) of object headers, array headers and references, and the alignment of objects
+        static final int OBJECT_HEADER_SIZE;
+        static final int ARRAY_HEADER_SIZE;
+        static final int REFERENCE_SIZE;
+        static final int OBJECT_ALIGNMENT;
+        
+        static
+        {
+            boolean is64Bit = !"32".equals(System.getProperty("sun.arch.data.model"));
+            boolean usesCompressedOops = is64Bit && !"false".equals(getVMOption("UseCompressedOops"));
+            
+            //Class pointers are compressed along with references on JVMs that predate the option to compress them separately
+            String compressedClassPointersOption = getVMOption("UseCompressedClassPointers");
+            boolean usesCompressedClassPointers = (compressedClassPointersOption != null ? "true".equals(compressedClassPointersOption) : usesCompressedOops);
+            
+            if(!is64Bit)
+                OBJECT_HEADER_SIZE = 8;
+            else if("true".equals(getVMOption("UseCompactObjectHeaders")))
+                OBJECT_HEADER_SIZE = 8;
+            else
+                OBJECT_HEADER_SIZE = (usesCompressedClassPointers ? 12 : 16);
+            
+            //The components of an array follow its length, starting at a multiple of 8 bytes on a 64-bit JVM
+            ARRAY_HEADER_SIZE = (is64Bit ? (OBJECT_HEADER_SIZE + 4 + 7) / 8 * 8 : OBJECT_HEADER_SIZE + 4);
+            REFERENCE_SIZE = (!is64Bit || usesCompressedOops ? 4 : 8);
+            
+            String objectAlignmentOption = getVMOption("ObjectAlignmentInBytes");
+            OBJECT_ALIGNMENT = (objectAlignmentOption != null ? Integer.parseInt(objectAlignmentOption) : 8);
+        }
+    }
+    /////
+    
+    
+    
+    /**
+     * The class holding the estimated sizes of the objects of standard classes that a MDAG retains, 
+     * which are determined (along with the object layout) once an estimate is first called for.
+     */
+    private static final class StandardObjectSizes
+    {
+        //The longs denoting the estimated sizes of a TreeSet (along with its backing TreeMap), a TreeMap entry,
+        //and a Character (those of chars up to '\u007F' are cached by the JVM, and so aren't retained by a MDAG)
+        static final long TREE_SET_SIZE = estimateInstanceBytes(TreeSet.class) + estimateInstanceBytes(TreeMap.class);
+        static final long TREE_MAP_ENTRY_SIZE;
+        static final long CHARACTER_SIZE = estimateInstanceBytes(Character.class);
+        
+        static
+        {
+            //The entries a TreeMap's entry set iterates over are those it's made up of
+            TreeMap<Character, Object> charTreeMap = new TreeMap<Character, Object>();
+            charTreeMap.put('a', null);
+            TREE_MAP_ENTRY_SIZE = estimateInstanceBytes(charTreeMap.entrySet().iterator().next().getClass());
+        }
+    }
+    /////
+    
+    //The longs denoting the estimated numbers of bytes retained by the graph of the MDAG (its nodes and transitions, or the arrays
+    //of its simplified form), its register, its other data structures, and its suffix and substring indexes
+    private final long graphBytes;
+    private final long registerBytes;
+    private final long auxiliaryBytes;
+    private final long indexBytes;
+    
+    //The long denoting the number of bytes of memory mapped file contents the MDAG is read from (0 unless it has been loaded from a file)
+    private final long mappedBytes;
+    
+    private final int nodeCount;
+    
+    private final int transitionCount;
+    
+    //The long denoting the number of transitions a trie containing the MDAG's Strings would have (one for each distinct non-empty prefix)
+    private final long trieTransitionCount;
+    
+    
+    
+    /**
+     * Constructs a MDAGMemoryReport.
+     
+     * @param graphBytes                a long denoting the estimated number of bytes retained by the nodes and transitions (or simplified arrays) of the MDAG
+     * @param registerBytes             a long denoting the estimated number of bytes retained by the MDAG's register
+     * @param auxiliaryBytes            a long denoting the estimated number of bytes retained by the MDAG's other data structures
+     * @param indexBytes                a long denoting the estimated number of bytes retained by the MDAG's suffix and substring indexes
+     * @param mappedBytes               a long denoting the number of bytes of memory mapped file contents that the MDAG is read from
+     * @param nodeCount                 an int denoting the number of nodes in the MDAG
+     * @param transitionCount           an int denoting the number of transitions in the MDAG
+     * @param trieTransitionCount       a long denoting the number of transitions a trie containing the MDAG's Strings would have
+     */
+    MDAGMemoryReport(long graphBytes, long registerBytes, long auxiliaryBytes, long indexBytes, long mappedBytes, 
+                        int nodeCount, int transitionCount, long trieTransitionCount)
+    {
+        this.graphBytes = graphBytes;
+        this.registerBytes = registerBytes;
+        this.auxiliaryBytes = auxiliaryBytes;
+        this.indexBytes = indexBytes;
+        this.mappedBytes = mappedBytes;
+        this.nodeCount = nodeCount;
+        this.transitionCount = transitionCount;
+        this.trieTransitionCount = trieTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Estimates the size of an instance of a class.
+     
+     * @param cls       a Class
+     * @return          a long denoting the estimated number of bytes occupied by an instance of {@code cls}
+     *                  (excluding the objects its reference fields refer to)
+     */
+    static long estimateInstanceBytes(Class<?> cls)
+    {
+        long instanceBytes = ObjectLayout.OBJECT_HEADER_SIZE;
+        
+        for(Class<?> currentClass = cls; currentClass != null; currentClass = currentClass.getSuperclass())
+        {
+            for(Field field : currentClass.getDeclaredFields())
+            {
+                if(!Modifier.isStatic(field.getModifiers()))
+                    instanceBytes += estimateValueBytes(field.getType());
+            }
+        }
+        
+        return align(instanceBytes);
+    }
+    
+    
+    
+    /**
+     * Estimates the size of an array.
+     
+     * @param componentType     the Class of the array's components (e.g {@code char.class} or {@code Object.class})
+     * @param length            an int denoting the length of the array
+     * @return                  a long denoting the estimated number of bytes occupied by the array 
+     *                          (excluding the objects its components refer to)
+     */
+    static long estimateArrayBytes(Class<?> componentType, int length)
+    {
+        return align(ObjectLayout.ARRAY_HEADER_SIZE + (long)length * estimateValueBytes(componentType));
+    }
+    
+    
+    
+    /**
+     * Estimates the size of a TreeSet of Characters.
+     
+     * @param charTreeSet     a TreeSet of Characters
+     * @return                  a long denoting the estimated number of bytes retained by {@code charTreeSet}
+     */
+    static long estimateCharacterTreeSetBytes(TreeSet<Character> charTreeSet)
+    {
+        //Characters of chars past '\u007F' aren't cached, so each of those in charTreeSet is retained by it
+        return StandardObjectSizes.TREE_SET_SIZE + charTreeSet.size() * StandardObjectSizes.TREE_MAP_ENTRY_SIZE 
+                + charTreeSet.tailSet((char)0x80).size() * StandardObjectSizes.CHARACTER_SIZE;
+    }
+    
+    
+    
+    /**
+     * Determines the size of a field or array component of a given type.
+     
+     * @param type      a Class denoting a primitive type or reference type
+     * @return          an int denoting the number of bytes occupied by a value of {@code type}
+     */
+    private static int estimateValueBytes(Class<?> type)
+    {
+        if(type == long.class || type == double.class)
+            return 8;
+        else if(type == int.class || type == float.class)
+            return 4;
+        else if(type == char.class || type == short.class)
+            return 2;
+        else if(type == byte.class || type == boolean.class)
+            return 1;
+        else
+            return ObjectLayout.REFERENCE_SIZE;
+    }
+    
+    
+    
+    private static long align(long bytes)
+    {
+        return (bytes + ObjectLayout.OBJECT_ALIGNMENT - 1) / ObjectLayout.OBJECT_ALIGNMENT * ObjectLayout.OBJECT_ALIGNMENT;
+    }
+    
+    
+    
+    /**
+     * Retrieves the value of an option of the running JVM from its HotSpot diagnostic MBean.
+     
+     * @param optionName        a String of the name of a JVM option
+     * @return                  a String of the value of the option named {@code optionName}, or null if 
+     *                          the JVM has no such option or doesn't make its options available
+     */
+    private static String getVMOption(String optionName)
+    {
+        try
+        {
+            ObjectName diagnosticObjectName = new ObjectName("com.sun.management:type=HotSpotDiagnostic");
+            Object vmOption = ManagementFactory.getPlatformMBeanServer().invoke(diagnosticObjectName, "getVMOption", 
+                                                                                    new Object[]{optionName}, new String[]{String.class.getName()});
+            return (String)((CompositeData)vmOption).get("value");
+        }
+        catch(Exception e)
+        {
+            //The JVM isn't a HotSpot JVM, doesn't have the option, or doesn't permit it to be read
+            return null;
+        }
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated total number of bytes of heap memory retained by the MDAG.
+     
+     * @return      a long denoting the sum of the graph, register, auxiliary and index bytes
+     */
+    public long getTotalBytes()
+    {
+        return graphBytes + registerBytes + auxiliaryBytes + indexBytes;
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated number of bytes retained by the MDAG's graph: its nodes and their transitions 
+     * if it is mutable, or the arrays its transitions are laid out in if it is simplified.
+     
+     * @return      a long denoting the estimated number of bytes retained by the graph
+     */
+    public long getGraphBytes()
+    {
+        return graphBytes;
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated number of bytes retained by the register of equivalence class 
+     * representatives used to keep the MDAG minimal (0 if the MDAG is simplified).
+     
+     * @return      a long denoting the estimated number of bytes retained by the register
+     */
+    public long getRegisterBytes()
+    {
+        return registerBytes;
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated number of bytes retained by the MDAG's other data structures: the set of transition labels,
+     * the buffer used to process transition paths, and the layout of the last snapshot (if any).
+     
+     * @return      a long denoting the estimated number of bytes retained by the other data structures
+     */
+    public long getAuxiliaryBytes()
+    {
+        return auxiliaryBytes;
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated number of bytes retained by the MDAG's suffix and substring indexes.
+     
+     * @return      a long denoting the estimated total number of bytes retained by the indexes (0 if there are none)
+     */
+    public long getIndexBytes()
+    {
+        return indexBytes;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of bytes of memory mapped file contents that the MDAG is read from. These occupy 
+     * the page cache rather than the heap, and are shared by all the processes that map the file.
+     
+     * @return      a long denoting the size of the mapped file contents (0 unless the MDAG was loaded from a file)
+     */
+    public long getMappedBytes()
+    {
+        return mappedBytes;
+    }
+    
+    
+    
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+    
+    
+    
+    public int getTransitionCount()
+    {
+        return transitionCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of transitions a trie (the unminimized equivalent of the MDAG) containing the same Strings would have.
+     
+     * @return      a long denoting the number of distinct non-empty prefixes of the MDAG's Strings
+     */
+    public long getTrieTransitionCount()
+    {
+        return trieTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated average number of bytes of the MDAG's graph per node.
+     
+     * @return      a double denoting the graph bytes divided by the node count
+     */
+    public double getBytesPerNode()
+    {
+        return (nodeCount == 0 ? 0 : (double)graphBytes / nodeCount);
+    }
+    
+    
+    
+    /**
+     * Retrieves the estimated average number of bytes of the MDAG's graph per transition.
+     
+     * @return      a double denoting the graph bytes divided by the transition count
+     */
+    public double getBytesPerTransition()
+    {
+        return (transitionCount == 0 ? 0 : (double)graphBytes / transitionCount);
+    }
+    
+    
+    
+    /**
+     * Retrieves the fraction of the transitions of a trie containing the MDAG's Strings that minimization has saved.
+     
+     * @return      a double between 0 and 1 denoting the proportion of the trie's transitions not present in the MDAG
+     */
+    public double getSharingRatio()
+    {
+        return (trieTransitionCount == 0 ? 0 : 1 - (double)transitionCount / trieTransitionCount);
+    }
+    
+    
+    
+    @Override
+    public String toString()
+    {
+        return String.format("total: %d bytes (graph: %d, register: %d, auxiliary: %d, indexes: %d, mapped: %d); "
+                                + "%d nodes (%.1f bytes each), %d transitions (%.1f bytes each), %d trie transitions (%.1f%% saved)",
+                                getTotalBytes(), graphBytes, registerBytes, auxiliaryBytes, indexBytes, mappedBytes, nodeCount, getBytesPerNode(), 
+                                transitionCount, getBytesPerTransition(), trieTransitionCount, 100 * getSharingRatio());
+    }
+}
@@ -22,9 +22,10 @@
 
 package com.BoxOfC.MDAG;
 
+import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.Map.Entry;
 import java.util.Stack;
 
 
@@ -41,17 +42,45 @@ public class MDAGNode
     //The boolean denoting the accept state status of this node
     private boolean isAcceptNode;
     
-    //The TreeMap to containing entries that represent a transition (label and target node)
-    private final TreeMap<Character, MDAGNode> outgoingTransitionTreeMap;
+    //The int denoting the number of outgoing transitions this node has
+    private int outgoingTransitionCount = 0;
+    
+    //The char labeling, and MDAGNode targeted by, this node's outgoing transition if it has exactly one 
+    //(most nodes in a MDAG have only one, so it is stored inline to avoid the allocation of arrays)
+    private char soleTransitionLabel;
+    private MDAGNode soleTransitionTargetNode;
+    
+    //The arrays containing the labels (in ascending order) and target nodes of this node's outgoing transitions
+    //if it has two or more (the arrays may be longer than outgoingTransitionCount to allow for growth)
+    private char[] transitionLabelArray;
+    private MDAGNode[] transitionTargetNodeArray;
 
     //The int representing this node's incoming transition node count
     private int incomingTransitionCount = 0;
     
-    //The int denoting index in a simplified mdag data array that this node's transition set begins at
+    //The int denoting index in a simplified mdag data array that this node's transition set begins at (reset
+    //to -1 whenever a change is made to the graph reachable from this node, as the recorded set is then outdated)
     private int transitionSetBeginIndex = -1;
     
-    //The int which will store this node's hash code after its been calculated (necessary due to how expensive the hashing calculation is)
-    private Integer storedHashCode = null;
+    //The int denoting the number of Strings in this node's right language (those corresponding to the transition paths from it
+    //that end at accept nodes, including the empty String if this node is an accept node), or -1 if it hasn't been calculated
+    private int rightLanguageSize = -1;
+    
+    //The int which will store this node's hash code after its been calculated (necessary due to how expensive the hashing calculation is),
+    //reset along with the other reachable graph data. 0 denotes a hash code that hasn't been calculated (nodes whose hash code is actually 0 are rehashed each time)
+    private int storedHashCode = 0;
+    
+    
+    
+    /**
+     * The class holding the estimated number of bytes occupied by an MDAGNode (excluding its transition arrays). It is
+     * only initialized once a memory report is first produced, since the estimate requires the JVM's object layout.
+     */
+    private static final class InstanceBytesHolder
+    {
+        static final long INSTANCE_BYTES = MDAGMemoryReport.estimateInstanceBytes(MDAGNode.class);
+    }
+    /////
     
     
     
@@ -63,7 +92,6 @@ public class MDAGNode
     public MDAGNode(boolean isAcceptNode)
     {
         this.isAcceptNode = isAcceptNode;     
-        outgoingTransitionTreeMap = new TreeMap<Character, MDAGNode>(); 
     }
 
     
@@ -77,12 +105,20 @@ public class MDAGNode
     private MDAGNode(MDAGNode node)
     {
         isAcceptNode = node.isAcceptNode;
-        outgoingTransitionTreeMap = new TreeMap<Character, MDAGNode>(node.outgoingTransitionTreeMap);
+        outgoingTransitionCount = node.outgoingTransitionCount;
+        soleTransitionLabel = node.soleTransitionLabel;
+        soleTransitionTargetNode = node.soleTransitionTargetNode;
+        
+        if(node.transitionLabelArray != null)
+        {
+            transitionLabelArray = Arrays.copyOf(node.transitionLabelArray, outgoingTransitionCount);
+            transitionTargetNodeArray = Arrays.copyOf(node.transitionTargetNodeArray, outgoingTransitionCount);
+        }
         
         //Loop through the nodes in this node's outgoing transition set, incrementing the number of
         //incoming transitions of each by 1 (to account for this newly created node's outgoing transitions)
-        for(Entry<Character, MDAGNode> transitionKeyValuePair : outgoingTransitionTreeMap.entrySet())
-            transitionKeyValuePair.getValue().incomingTransitionCount++;
+        for(int i = 0; i < outgoingTransitionCount; i++)
+            getOutgoingTransitionTargetNode(i).incomingTransitionCount++;
         /////
     }
     
@@ -90,18 +126,6 @@ public class MDAGNode
     {
         this.id = id;
         this.isAcceptNode = isAcceptNode;     
-        outgoingTransitionTreeMap = new TreeMap<Character, MDAGNode>(); 
-    }
-    
-    
-    private MDAGNode(MDAGNode node, int id)
-    {
-        this.id = id;
-        isAcceptNode = node.isAcceptNode;
-        outgoingTransitionTreeMap = new TreeMap<Character, MDAGNode>(node.outgoingTransitionTreeMap);
-        
-        for(Map.Entry<Character, MDAGNode> transitionKeyValuePair : outgoingTransitionTreeMap.entrySet())
-            transitionKeyValuePair.getValue().incomingTransitionCount++;
     }
     
     
@@ -149,9 +173,20 @@ public class MDAGNode
     }
     
     
-     public Map.Entry<Character, MDAGNode> getLastTransition()
+    
+    /**
+     * Retrieves the outgoing transition of this node with the largest label.
+     
+     * @return      an immutable Map.Entry containing the label and target node of this 
+     *              node's last outgoing transition, or null if it has no outgoing transitions
+     */
+    public Map.Entry<Character, MDAGNode> getLastTransition()
     {
-        return outgoingTransitionTreeMap.lastEntry();
+        if(outgoingTransitionCount == 0)
+            return null;
+        
+        int lastTransitionIndex = outgoingTransitionCount - 1;
+        return new AbstractMap.SimpleImmutableEntry<Character, MDAGNode>(getOutgoingTransitionLabel(lastTransitionIndex), getOutgoingTransitionTargetNode(lastTransitionIndex));
     }
     
     
@@ -163,7 +198,35 @@ public class MDAGNode
      */
     public int getOutgoingTransitionCount()
     {
-        return outgoingTransitionTreeMap.size();
+        return outgoingTransitionCount;
+    }
+    
+    
+    
+    /**
+     * Retrieves the label of one of this node's outgoing transitions. 
+     * The transitions are ordered by their labels, in ascending order.
+     
+     * @param index     an int denoting the position of the transition of interest in this node's outgoing transition set
+     * @return          the char labeling the transition at {@code index}
+     */
+    public char getOutgoingTransitionLabel(int index)
+    {
+        return (transitionLabelArray == null ? soleTransitionLabel : transitionLabelArray[index]);
+    }
+    
+    
+    
+    /**
+     * Retrieves the target node of one of this node's outgoing transitions. 
+     * The transitions are ordered by their labels, in ascending order.
+     
+     * @param index     an int denoting the position of the transition of interest in this node's outgoing transition set
+     * @return          the MDAGNode targeted by the transition at {@code index}
+     */
+    public MDAGNode getOutgoingTransitionTargetNode(int index)
+    {
+        return (transitionTargetNodeArray == null ? soleTransitionTargetNode : transitionTargetNodeArray[index]);
     }
     
     
@@ -213,6 +276,58 @@ public class MDAGNode
     public void setAcceptStateStatus(boolean isAcceptNode)
     {
         this.isAcceptNode = isAcceptNode;
+        clearReachableGraphData();
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of Strings in this node's right language (those corresponding to the transition paths from it 
+     * that end at accept nodes, including the empty String if this node is an accept node). The result is cached, and
+     * must be cleared (using {@link #clearReachableGraphData()}) whenever a change is made to the graph reachable from this node.
+     
+     * @return      an int denoting the size of this node's right language
+     */
+    public int getRightLanguageSize()
+    {
+        if(rightLanguageSize == -1)
+        {
+            int size = (isAcceptNode ? 1 : 0);
+            
+            for(int i = 0; i < outgoingTransitionCount; i++)
+                size += getOutgoingTransitionTargetNode(i).getRightLanguageSize();
+            
+            rightLanguageSize = size;
+        }
+        
+        return rightLanguageSize;
+    }
+    
+    
+    
+    /**
+     * Clears the data describing the graph reachable from this node (its cached right language size, cached
+     * hash code and recorded transition set begin index), which is outdated once a change is made to it.
+     */
+    public void clearReachableGraphData()
+    {
+        rightLanguageSize = -1;
+        transitionSetBeginIndex = -1;
+        storedHashCode = 0;
+    }
+    
+    
+    
+    /**
+     * Clears this node's stored hash value, along with the rest of the data describing the graph reachable from it.
+     
+     * @deprecated      the stored hash value is cleared whenever a change is made to the graph reachable from 
+     *                  this node, so this needn't be called; use {@link #clearReachableGraphData()} if it is
+     */
+    @Deprecated
+    public void clearStoredHashCode()
+    {
+        clearReachableGraphData();
     }
     
     
@@ -230,6 +345,27 @@ public class MDAGNode
     
     
     
+    /**
+     * Determines the position of the outgoing transition of this node labeled with a given char.
+     
+     * @param letter        the char labeling the desired transition
+     * @return              an int denoting the position of the transition labeled with {@code letter} in this node's outgoing 
+     *                      transition set if it exists, or (-(insertion point) - 1) if it does not (as with Arrays.binarySearch)
+     */
+    private int indexOfOutgoingTransition(char letter)
+    {
+        if(transitionLabelArray != null)
+            return Arrays.binarySearch(transitionLabelArray, 0, outgoingTransitionCount, letter);
+        else if(outgoingTransitionCount == 0)
+            return -1;
+        else if(letter == soleTransitionLabel)
+            return 0;
+        else
+            return (letter < soleTransitionLabel ? -1 : -2);
+    }
+    
+    
+    
     /**
      * Determines whether this node has an outgoing transition with a given label.
      
@@ -239,7 +375,7 @@ public class MDAGNode
      */
     public boolean hasOutgoingTransition(char letter)
     {
-        return outgoingTransitionTreeMap.containsKey(letter);
+        return (indexOfOutgoingTransition(letter) >= 0);
     }
     
     
@@ -251,7 +387,7 @@ public class MDAGNode
      */
     public boolean hasOutgoingTransitions()
     {
-        return !outgoingTransitionTreeMap.isEmpty();
+        return (outgoingTransitionCount > 0);
     }
     
     
@@ -265,7 +401,11 @@ public class MDAGNode
      */
     public MDAGNode transition(char letter)
     {
-        return outgoingTransitionTreeMap.get(letter);
+        if(transitionLabelArray == null)
+            return (outgoingTransitionCount == 1 && letter == soleTransitionLabel ? soleTransitionTargetNode : null);
+        
+        int index = Arrays.binarySearch(transitionLabelArray, 0, outgoingTransitionCount, letter);
+        return (index >= 0 ? transitionTargetNodeArray[index] : null);
     }
     
     
@@ -325,13 +465,19 @@ public class MDAGNode
     
     
     /**
-     * Retrieves this node's outgoing transitions.
+     * Retrieves this node's outgoing transitions. The returned TreeMap is a copy;
+     * changes to it are not reflected in this node (and vice versa).
      
      * @return      a TreeMap containing entries collectively representing
      *              all of this node's outgoing transitions
      */
     public TreeMap<Character, MDAGNode> getOutgoingTransitions()
     {
+        TreeMap<Character, MDAGNode> outgoingTransitionTreeMap = new TreeMap<Character, MDAGNode>();
+        
+        for(int i = 0; i < outgoingTransitionCount; i++)
+            outgoingTransitionTreeMap.put(getOutgoingTransitionLabel(i), getOutgoingTransitionTargetNode(i));
+        
         return outgoingTransitionTreeMap;
     }
     
@@ -343,8 +489,8 @@ public class MDAGNode
      */
     public void decrementTargetIncomingTransitionCounts()
     {
-        for(Entry<Character, MDAGNode> transitionKeyValuePair: outgoingTransitionTreeMap.entrySet())
-            transitionKeyValuePair.getValue().incomingTransitionCount--;
+        for(int i = 0; i < outgoingTransitionCount; i++)
+            getOutgoingTransitionTargetNode(i).incomingTransitionCount--;
     }
     
     
@@ -361,7 +507,7 @@ public class MDAGNode
         oldTargetNode.incomingTransitionCount--;
         newTargetNode.incomingTransitionCount++;
         
-        outgoingTransitionTreeMap.put(letter, newTargetNode);
+        putOutgoingTransition(letter, newTargetNode);
     }
     
     
@@ -379,20 +525,87 @@ public class MDAGNode
         MDAGNode newTargetNode = new MDAGNode(targetAcceptStateStatus);
         newTargetNode.incomingTransitionCount++;
         
-        outgoingTransitionTreeMap.put(letter, newTargetNode);
+        putOutgoingTransition(letter, newTargetNode);
         return newTargetNode;
     }
     
     
+    /**
+     * Creates an outgoing transition labeled with a given char that has an existing node as its target.
+     
+     * @param letter            a char representing the desired label of the transition
+     * @param targetNode        the MDAGNode that is to be the target of the created transition
+     */
+    public void addOutgoingTransition(char letter, MDAGNode targetNode)
+    {
+        targetNode.incomingTransitionCount++;
+        putOutgoingTransition(letter, targetNode);
+    }
+    
+    
      public MDAGNode addOutgoingTransition(char letter, boolean isEndOfWord, int id)
     {
         MDAGNode newTargetNode = new MDAGNode(isEndOfWord, id);
         newTargetNode.incomingTransitionCount++;
         newTargetNode.id = id;
         
-        outgoingTransitionTreeMap.put(letter, newTargetNode);
+        putOutgoingTransition(letter, newTargetNode);
         return newTargetNode;
     }
+     
+     
+     
+    /**
+     * Sets the target node of the outgoing transition labeled with a given char, 
+     * creating the transition (in its ordered position) if it doesn't exist.
+     
+     * @param letter            the char labeling the transition of interest
+     * @param targetNode        the MDAGNode that is to be the target of the transition of interest
+     */
+    private void putOutgoingTransition(char letter, MDAGNode targetNode)
+    {
+        int index = indexOfOutgoingTransition(letter);
+        clearReachableGraphData();
+        
+        if(index >= 0)
+        {
+            if(transitionTargetNodeArray == null)
+                soleTransitionTargetNode = targetNode;
+            else
+                transitionTargetNodeArray[index] = targetNode;
+        }
+        else if(outgoingTransitionCount == 0)
+        {
+            soleTransitionLabel = letter;
+            soleTransitionTargetNode = targetNode;
+            outgoingTransitionCount = 1;
+        }
+        else
+        {
+            int insertionIndex = -(index + 1);
+            
+            //If the transition set is currently stored inline, move it in to a pair of arrays
+            if(transitionLabelArray == null)
+            {
+                transitionLabelArray = new char[]{soleTransitionLabel, '\0'};
+                transitionTargetNodeArray = new MDAGNode[]{soleTransitionTargetNode, null};
+                soleTransitionTargetNode = null;
+            }
+            else if(outgoingTransitionCount == transitionLabelArray.length)
+            {
+                int newArrayLength = outgoingTransitionCount + (outgoingTransitionCount >> 1) + 1;
+                transitionLabelArray = Arrays.copyOf(transitionLabelArray, newArrayLength);
+                transitionTargetNodeArray = Arrays.copyOf(transitionTargetNodeArray, newArrayLength);
+            }
+            /////
+            
+            System.arraycopy(transitionLabelArray, insertionIndex, transitionLabelArray, insertionIndex + 1, outgoingTransitionCount - insertionIndex);
+            System.arraycopy(transitionTargetNodeArray, insertionIndex, transitionTargetNodeArray, insertionIndex + 1, outgoingTransitionCount - insertionIndex);
+            transitionLabelArray[insertionIndex] = letter;
+            transitionTargetNodeArray[insertionIndex] = targetNode;
+            outgoingTransitionCount++;
+        }
+    }
     
     
     
@@ -404,7 +617,34 @@ public class MDAGNode
      */
     public void removeOutgoingTransition(char letter)
     {
-        outgoingTransitionTreeMap.remove(letter);
+        int index = indexOfOutgoingTransition(letter);
+        
+        if(index < 0)
+            return;
+        
+        clearReachableGraphData();
+        
+        if(transitionLabelArray == null)
+        {
+            soleTransitionTargetNode = null;
+            outgoingTransitionCount = 0;
+        }
+        else
+        {
+            outgoingTransitionCount--;
+            System.arraycopy(transitionLabelArray, index + 1, transitionLabelArray, index, outgoingTransitionCount - index);
+            System.arraycopy(transitionTargetNodeArray, index + 1, transitionTargetNodeArray, index, outgoingTransitionCount - index);
+            transitionTargetNodeArray[outgoingTransitionCount] = null;
+            
+            //If only one transition remains, move it back inline and release the arrays
+            if(outgoingTransitionCount == 1)
+            {
+                soleTransitionLabel = transitionLabelArray[0];
+                soleTransitionTargetNode = transitionTargetNodeArray[0];
+                transitionLabelArray = null;
+                transitionTargetNodeArray = null;
+            }
+        }
     }
 
 
@@ -412,50 +652,33 @@ public class MDAGNode
     /**
      * Determines whether the sets of transition paths from two MDAGNodes are equivalent. This is an expensive operation.
      
-     * @param outgoingTransitionTreeMap1        a TreeMap containing entries collectively representing
-     *                                          all of a node's outgoing transitions
-     * @param outgoingTransitionTreeMap2        a TreeMap containing entries collectively representing
-     *                                          all of a node's outgoing transitions
-     * @return                                  true if the set of transition paths from {@code node1}
-     *                                          and {@code node2} are equivalent
+     * @param node1         an MDAGNode
+     * @param node2         an MDAGNode
+     * @return              true if the set of transition paths from {@code node1}
+     *                      and {@code node2} are equivalent
      */
     public static boolean haveSameTransitions(MDAGNode node1, MDAGNode node2)
     {
-        TreeMap<Character, MDAGNode> outgoingTransitionTreeMap1 = node1.outgoingTransitionTreeMap;
-        TreeMap<Character, MDAGNode> outgoingTransitionTreeMap2 = node2.outgoingTransitionTreeMap;
+        int transitionCount = node1.outgoingTransitionCount;
+        
+        if(transitionCount != node2.outgoingTransitionCount)
+            return false;
         
-        if(outgoingTransitionTreeMap1.size() == outgoingTransitionTreeMap2.size())
+        //For each transition of node1, test the equality of its label and target node
+        //with those of the transition in the same position in node2's transition set
+        for(int i = 0; i < transitionCount; i++)
         {
-            //For each transition in outgoingTransitionTreeMap1, get the identically lableed transition
-            //in outgoingTransitionTreeMap2 (if present), and test the equality of the transitions' target nodes
-            for(Entry<Character, MDAGNode> transitionKeyValuePair : outgoingTransitionTreeMap1.entrySet())
-            {
-                Character currentCharKey = transitionKeyValuePair.getKey();
-                MDAGNode currentTargetNode = transitionKeyValuePair.getValue();
-                
-                if(!outgoingTransitionTreeMap2.containsKey(currentCharKey) || !outgoingTransitionTreeMap2.get(currentCharKey).equals(currentTargetNode))
-                    return false;
-            }
-            /////
+            if(node1.getOutgoingTransitionLabel(i) != node2.getOutgoingTransitionLabel(i) 
+                    || !node1.getOutgoingTransitionTargetNode(i).equals(node2.getOutgoingTransitionTargetNode(i)))
+                return false;
         }
-        else
-            return false;
+        /////
         
         return true;
     }
     
     
     
-    /**
-     * Clears this node's stored hash value
-     */
-    public void clearStoredHashCode()
-    {
-        storedHashCode = null;
-    }
-    
-    
-    
     /**
      * Evaluates the equality of this node with another object.
      * This node is equal to obj if and only if obj is also an MDAGNode,
@@ -483,23 +706,51 @@ public class MDAGNode
     
     /**
      * Hashes this node using its accept state status and set of outgoing transition paths.
-     * This is an expensive operation, so the result is cached and only cleared when necessary.
+     * This is an expensive operation, so the result is cached, and must be cleared (using {@link #clearReachableGraphData()}) 
+     * whenever a change is made to the graph reachable from this node (as is done by this node's mutators).
     
      * @return      an int of this node's hash code
      */
     @Override
     public int hashCode() {
         
-        if(storedHashCode == null)
+        if(storedHashCode == 0)
         {
+            int transitionSetHash = 0;
+            
+            //Hash each transition using its label and target node (which recursively hashes 
+            //the nodes in all the transition paths stemming from this node), as a TreeMap of them would
+            for(int i = 0; i < outgoingTransitionCount; i++)
+                transitionSetHash += (getOutgoingTransitionLabel(i) ^ getOutgoingTransitionTargetNode(i).hashCode());
+            /////
+            
             int hash = 7;
             hash = 53 * hash + (this.isAcceptNode ? 1 : 0);
-            hash = 53 * hash + (this.outgoingTransitionTreeMap != null ? this.outgoingTransitionTreeMap.hashCode() : 0);    //recursively hashes the nodes in all the 
-                                                                                                                                //transition paths stemming from this node
+            hash = 53 * hash + transitionSetHash;
             storedHashCode = hash;
             return hash;
         }
         else
             return storedHashCode;
     }
+    
+    
+    
+    /**
+     * Estimates the heap memory occupied by this node and its outgoing transition arrays (see {@link MDAGMemoryReport}).
+     
+     * @return      a long denoting the estimated number of bytes occupied by this node
+     */
+    long estimateHeapBytes()
+    {
+        long heapBytes = InstanceBytesHolder.INSTANCE_BYTES;
+        
+        if(transitionLabelArray != null)
+        {
+            heapBytes += MDAGMemoryReport.estimateArrayBytes(char.class, transitionLabelArray.length);
+            heapBytes += MDAGMemoryReport.estimateArrayBytes(MDAGNode.class, transitionTargetNodeArray.length);
+        }
+        
+        return heapBytes;
+    }
 }
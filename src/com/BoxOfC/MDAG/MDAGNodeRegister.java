@@ -0,0 +1,262 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+
+
+/**
+ * The class capable of holding the MDAGNodes which represent the equivalence classes of a MDAG.
+ * 
+ * Since the targets of a node's outgoing transitions are already equivalence class representatives
+ * by the time the node itself is registered, two nodes are equivalent if and only if they have the same accept
+ * state status and their outgoing transitions have the same labels and (identical) target nodes. Nodes are 
+ * therefore hashed and compared using only these, making each operation proportional to the number of 
+ * outgoing transitions of the node of interest instead of the size of the sub-graph reachable from it.
+ * 
+ * The nodes are held in an open-addressing (linear probing) hash table alongside a 64-bit fingerprint of each, 
+ * which is compared before the nodes themselves. A registered node must not have its accept state status or 
+ * outgoing transitions changed until it is removed from the register.
+
+ * @author Kevin
+ */
+class MDAGNodeRegister
+{
+    //The int denoting the number of slots in the table of a newly created register
+    private static final int INITIAL_CAPACITY = 1024;
+    
+    //The long multiplier used to mix the components of a node in to its fingerprint
+    private static final long FINGERPRINT_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    
+    //The arrays containing the registered nodes and their fingerprints (a null node denotes an empty slot)
+    private MDAGNode[] nodeArray = new MDAGNode[INITIAL_CAPACITY];
+    private long[] fingerprintArray = new long[INITIAL_CAPACITY];
+    
+    //The int denoting the number of registered nodes
+    private int size = 0;
+    
+    
+    
+    /**
+     * Calculates the fingerprint of a node using its accept state status and the labels and target nodes of its outgoing transitions.
+     
+     * @param node      an MDAGNode
+     * @return          a long of the fingerprint of {@code node}
+     */
+    private static long calculateFingerprint(MDAGNode node)
+    {
+        int transitionCount = node.getOutgoingTransitionCount();
+        long fingerprint = (node.isAcceptNode() ? 0x5555555555555555L : 0x2AAAAAAAAAAAAAAAL) ^ transitionCount;
+        
+        for(int i = 0; i < transitionCount; i++)
+        {
+            fingerprint = (fingerprint ^ node.getOutgoingTransitionLabel(i)) * FINGERPRINT_MULTIPLIER;
+            fingerprint = (fingerprint ^ System.identityHashCode(node.getOutgoingTransitionTargetNode(i))) * FINGERPRINT_MULTIPLIER;
+        }
+        
+        //Spread the entropy of the fingerprint across all of its bits (MurmurHash3 finalizer)
+        fingerprint ^= (fingerprint >>> 33);
+        fingerprint *= 0xFF51AFD7ED558CCDL;
+        fingerprint ^= (fingerprint >>> 33);
+        fingerprint *= 0xC4CEB9FE1A85EC53L;
+        fingerprint ^= (fingerprint >>> 33);
+        
+        return fingerprint;
+    }
+    
+    
+    
+    /**
+     * Determines whether two nodes have the same accept state status and outgoing transitions 
+     * (those with the same labels and identical target nodes, in the same order).
+     
+     * @param node1     an MDAGNode
+     * @param node2     an MDAGNode
+     * @return          true if {@code node1} and {@code node2} have the same accept state status and outgoing transitions 
+     */
+    private static boolean areEquivalent(MDAGNode node1, MDAGNode node2)
+    {
+        int transitionCount = node1.getOutgoingTransitionCount();
+        
+        if(node1.isAcceptNode() != node2.isAcceptNode() || transitionCount != node2.getOutgoingTransitionCount())
+            return false;
+        
+        for(int i = 0; i < transitionCount; i++)
+        {
+            if(node1.getOutgoingTransitionLabel(i) != node2.getOutgoingTransitionLabel(i) 
+                    || node1.getOutgoingTransitionTargetNode(i) != node2.getOutgoingTransitionTargetNode(i))
+                return false;
+        }
+        
+        return true;
+    }
+    
+    
+    
+    /**
+     * Retrieves the registered node that is equivalent to a given node.
+     
+     * @param node      an MDAGNode whose outgoing transitions target equivalence class representatives
+     * @return          the registered MDAGNode equivalent to {@code node} (which may be {@code node} itself), 
+     *                  or null if there is no such node
+     */
+    MDAGNode get(MDAGNode node)
+    {
+        long fingerprint = calculateFingerprint(node);
+        int mask = nodeArray.length - 1;
+        
+        //Probe the slots of the table from the one fingerprint maps to, until 
+        //either an empty slot or a registered node equivalent to node is found
+        for(int i = (int)fingerprint & mask; nodeArray[i] != null; i = (i + 1) & mask)
+        {
+            if(fingerprintArray[i] == fingerprint && areEquivalent(nodeArray[i], node))
+                return nodeArray[i];
+        }
+        /////
+        
+        return null;
+    }
+    
+    
+    
+    /**
+     * Registers a node as the representative of its equivalence class.
+     * The register must not already contain a node equivalent to it.
+     
+     * @param node      an MDAGNode whose outgoing transitions target equivalence class representatives
+     */
+    void add(MDAGNode node)
+    {
+        if(2 * (size + 1) > nodeArray.length)
+            resize(nodeArray.length * 2);
+        
+        long fingerprint = calculateFingerprint(node);
+        int mask = nodeArray.length - 1;
+        int i = (int)fingerprint & mask;
+        
+        while(nodeArray[i] != null)
+            i = (i + 1) & mask;
+        
+        nodeArray[i] = node;
+        fingerprintArray[i] = fingerprint;
+        size++;
+    }
+    
+    
+    
+    /**
+     * Removes a node from the register, if it is registered.
+     
+     * @param node      an MDAGNode
+     * @return          true if {@code node} itself (as opposed to a node equivalent to it)
+     *                  was registered and has been removed, false otherwise
+     */
+    boolean remove(MDAGNode node)
+    {
+        long fingerprint = calculateFingerprint(node);
+        int mask = nodeArray.length - 1;
+        int i = (int)fingerprint & mask;
+        
+        while(nodeArray[i] != null && nodeArray[i] != node)
+            i = (i + 1) & mask;
+        
+        if(nodeArray[i] == null)
+            return false;
+        
+        //Empty the slot node occupied, and shift back in to it each of the following nodes in the same
+        //probe sequence whose home slot doesn't lie between it and their own (so they can still be found)
+        for(int j = (i + 1) & mask; nodeArray[j] != null; j = (j + 1) & mask)
+        {
+            int homeSlotIndex = (int)fingerprintArray[j] & mask;
+            
+            if(((j - homeSlotIndex) & mask) >= ((j - i) & mask))
+            {
+                nodeArray[i] = nodeArray[j];
+                fingerprintArray[i] = fingerprintArray[j];
+                i = j;
+            }
+        }
+        /////
+        
+        nodeArray[i] = null;
+        size--;
+        
+        return true;
+    }
+    
+    
+    
+    /**
+     * Retrieves the number of registered nodes.
+     
+     * @return      an int denoting the number of equivalence classes represented in the register
+     */
+    int size()
+    {
+        return size;
+    }
+    
+    
+    
+    /**
+     * Estimates the heap memory occupied by the register's tables (see {@link MDAGMemoryReport}).
+     
+     * @return      a long denoting the estimated number of bytes occupied by the register, excluding the registered nodes
+     */
+    long estimateHeapBytes()
+    {
+        return MDAGMemoryReport.estimateInstanceBytes(MDAGNodeRegister.class) 
+                + MDAGMemoryReport.estimateArrayBytes(MDAGNode.class, nodeArray.length)
+                + MDAGMemoryReport.estimateArrayBytes(long.class, fingerprintArray.length);
+    }
+    
+    
+    
+    /**
+     * Moves the registered nodes in to a table with a given number of slots.
+     
+     * @param capacity      an int (power of two) denoting the number of slots the new table is to have
+     */
+    private void resize(int capacity)
+    {
+        MDAGNode[] oldNodeArray = nodeArray;
+        long[] oldFingerprintArray = fingerprintArray;
+        
+        nodeArray = new MDAGNode[capacity];
+        fingerprintArray = new long[capacity];
+        int mask = capacity - 1;
+        
+        for(int i = 0; i < oldNodeArray.length; i++)
+        {
+            if(oldNodeArray[i] != null)
+            {
+                int j = (int)oldFingerprintArray[i] & mask;
+                
+                while(nodeArray[j] != null)
+                    j = (j + 1) & mask;
+                
+                nodeArray[j] = oldNodeArray[i];
+                fingerprintArray[j] = oldFingerprintArray[i];
+            }
+        }
+    }
+}
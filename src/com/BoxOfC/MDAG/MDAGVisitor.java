@@ -0,0 +1,45 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+
+
+/**
+ * The interface implemented by objects which are handed the Strings found
+ * by a traversal of a MDAG as they are found, and which can stop the traversal.
+
+ * @author Kevin
+ */
+public interface MDAGVisitor
+{
+    /**
+     * Receives a String found during a traversal of a MDAG. The char array containing the String
+     * is reused for the remainder of the traversal, so it should not be modified, and its contents
+     * should be copied (e.g with {@code new String(charArray, 0, length)}) if they are to be kept.
+
+     * @param charArray     a char array whose first {@code length} chars are those of the found String
+     * @param length        an int denoting the length of the found String
+     * @return              true if the traversal should continue, false if it should be stopped
+     */
+    public boolean visit(char[] charArray, int length);
+}
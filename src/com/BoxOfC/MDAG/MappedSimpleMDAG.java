@@ -0,0 +1,251 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+
+
+/**
+ * The class capable of representing a simplified MDAG using a memory mapped simplified MDAG file;
+ * the data of the MDAG is read directly from the mapped file, so it is shared (through the page cache)
+ * with all other processes that map the same file instead of being copied on to the heap.
+
+ * @author Kevin
+ */
+class MappedSimpleMDAG extends SimpleMDAG
+{
+    //The ByteBuffer containing the memory mapped contents of the simplified MDAG file
+    private final ByteBuffer mappedByteBuffer;
+
+    //The int denoting the number of transitions in the represented MDAG
+    private final int transitionCount;
+
+    //The int denoting the number of ints in the dense transition table section of the file
+    private final int denseTransitionTableArrayLength;
+
+    //The booleans denoting whether each letter in the file is stored in a single byte (as its rank in the transition label set),
+    //and whether the letters are the bytes of the UTF-8 encodings of the MDAG's Strings
+    private final boolean hasByteLetters;
+    private final boolean hasUTF8Labels;
+
+    //The ints denoting the byte offsets of the transition set begin index, node data, dense transition table, and letter sections of the file
+    private final int transitionSetBeginIndexSectionOffset;
+    private final int nodeDataSectionOffset;
+    private final int denseTransitionTableSectionOffset;
+    private final int letterSectionOffset;
+
+    //The TreeSet containing the chars which collectively label the transitions in the represented MDAG
+    private final TreeSet<Character> transitionLabelTreeSet = new TreeSet<Character>();
+
+
+
+    /**
+     * Constructs a MappedSimpleMDAG from a simplified MDAG file.
+
+     * @param file                  the simplified MDAG File to be memory mapped
+     * @param verifyChecksum        true if the checksum of the file's contents should be verified, false otherwise
+     * @throws IOException          if {@code file} cannot be opened or mapped, or is not a valid simplified MDAG
+     *                              file of a supported version (or fails checksum verification if requested)
+     */
+    MappedSimpleMDAG(File file, boolean verifyChecksum) throws IOException
+    {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+
+        try
+        {
+            FileChannel fileChannel = randomAccessFile.getChannel();
+            long fileSize = fileChannel.size();
+
+            if(fileSize < FILE_HEADER_SIZE || fileSize > Integer.MAX_VALUE)
+                throw new IOException("File size is invalid for a simplified MDAG file: " + fileSize);
+
+            //The mapping remains valid after fileChannel is closed
+            mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize).order(FILE_BYTE_ORDER);
+        }
+        finally
+        {
+            randomAccessFile.close();
+        }
+
+        if(mappedByteBuffer.getInt(0) != FILE_MAGIC_NUMBER)
+            throw new IOException("File is not a simplified MDAG file");
+
+        int fileFormatVersion = mappedByteBuffer.getInt(4);
+        if(fileFormatVersion != FILE_FORMAT_VERSION)
+            throw new IOException("Unsupported simplified MDAG file format version: " + fileFormatVersion);
+
+        transitionCount = mappedByteBuffer.getInt(8);
+        denseTransitionTableArrayLength = mappedByteBuffer.getInt(12);
+        int transitionLabelSetSize = mappedByteBuffer.getInt(16);
+        long checksum = mappedByteBuffer.getLong(20);
+        int fileFlags = mappedByteBuffer.getInt(28);
+
+        if((fileFlags & ~(FILE_BYTE_LETTERS_FLAG | FILE_UTF8_LABELS_FLAG)) != 0)
+            throw new IOException("Unsupported simplified MDAG file flags: " + fileFlags);
+
+        hasByteLetters = ((fileFlags & FILE_BYTE_LETTERS_FLAG) != 0);
+        hasUTF8Labels = ((fileFlags & FILE_UTF8_LABELS_FLAG) != 0);
+        int letterSize = (hasByteLetters ? 1 : 2);
+
+        //Determine the offset of each section of the file, and ensure that the
+        //file is exactly as large as these sections collectively require it to be
+        long transitionArrayLength = transitionCount + 1L;
+        long expectedFileSize = FILE_HEADER_SIZE + (8 * transitionArrayLength) + (4L * denseTransitionTableArrayLength) + (letterSize * transitionArrayLength) + (2L * transitionLabelSetSize);
+
+        if(transitionCount < 0 || denseTransitionTableArrayLength < 0 || transitionLabelSetSize < 0 || expectedFileSize != mappedByteBuffer.capacity()
+           || (hasByteLetters && transitionLabelSetSize > MAX_BYTE_LETTER_ALPHABET_SIZE))
+            throw new IOException("Simplified MDAG file is truncated or corrupt");
+
+        transitionSetBeginIndexSectionOffset = FILE_HEADER_SIZE;
+        nodeDataSectionOffset = transitionSetBeginIndexSectionOffset + (int)(4 * transitionArrayLength);
+        denseTransitionTableSectionOffset = nodeDataSectionOffset + (int)(4 * transitionArrayLength);
+        letterSectionOffset = denseTransitionTableSectionOffset + (4 * denseTransitionTableArrayLength);
+        int transitionLabelSetSectionOffset = letterSectionOffset + (int)(letterSize * transitionArrayLength);
+        /////
+
+        if(verifyChecksum)
+        {
+            ByteBuffer checksummedByteBuffer = mappedByteBuffer.duplicate();
+            checksummedByteBuffer.position(FILE_HEADER_SIZE);
+
+            CRC32 crc32 = new CRC32();
+            crc32.update(checksummedByteBuffer);
+
+            if(crc32.getValue() != checksum)
+                throw new IOException("Simplified MDAG file failed checksum verification");
+        }
+
+        char[] transitionLabelArray = new char[transitionLabelSetSize];
+        for(int i = 0; i < transitionLabelSetSize; i++)
+        {
+            transitionLabelArray[i] = mappedByteBuffer.getChar(transitionLabelSetSectionOffset + (2 * i));
+            transitionLabelTreeSet.add(transitionLabelArray[i]);
+        }
+
+        //Byte letters are ranks in the (ascending) transition label set
+        if(hasByteLetters)
+            setAlphabet(transitionLabelArray);
+    }
+
+
+
+    /**
+     * Determines whether the letters of the represented MDAG are the bytes of the UTF-8 encodings of its Strings.
+
+     * @return      true if the file is flagged as containing UTF-8 labels, false otherwise
+     */
+    boolean hasUTF8Labels()
+    {
+        return hasUTF8Labels;
+    }
+
+
+
+    /**
+     * Retrieves the set of chars which collectively label the transitions in the represented MDAG.
+
+     * @return      a TreeSet of the chars labeling the transitions in the represented MDAG
+     */
+    TreeSet<Character> getTransitionLabelSet()
+    {
+        return transitionLabelTreeSet;
+    }
+
+
+
+    @Override
+    int getTransitionCount()
+    {
+        return transitionCount;
+    }
+
+
+
+    @Override
+    int getLetterCode(int index)
+    {
+        if(hasByteLetters)
+            return mappedByteBuffer.get(letterSectionOffset + index) & 0xFF;
+        else
+            return mappedByteBuffer.getChar(letterSectionOffset + (index << 1));
+    }
+
+
+
+    @Override
+    int getTransitionSetBeginIndex(int index)
+    {
+        return mappedByteBuffer.getInt(transitionSetBeginIndexSectionOffset + (index << 2));
+    }
+
+
+
+    @Override
+    int getNodeData(int index)
+    {
+        return mappedByteBuffer.getInt(nodeDataSectionOffset + (index << 2));
+    }
+
+
+
+    @Override
+    int getDenseTransitionTableArrayLength()
+    {
+        return denseTransitionTableArrayLength;
+    }
+
+
+
+    @Override
+    int getDenseTransitionTableValue(int tableArrayIndex)
+    {
+        return mappedByteBuffer.getInt(denseTransitionTableSectionOffset + (tableArrayIndex << 2));
+    }
+
+
+
+    /**
+     * Estimates the heap memory retained by the MappedSimpleMDAG, which excludes both its mapped contents (see
+     * {@link #getMappedBytes()}) and its transition label set (which is shared with the MDAG it is loaded in to).
+     */
+    @Override
+    long estimateHeapBytes()
+    {
+        return MDAGMemoryReport.estimateInstanceBytes(MappedSimpleMDAG.class) + MDAGMemoryReport.estimateInstanceBytes(mappedByteBuffer.getClass()) + estimateAlphabetHeapBytes() + estimateCacheHeapBytes();
+    }
+
+
+
+    @Override
+    long getMappedBytes()
+    {
+        return mappedByteBuffer.capacity();
+    }
+}
@@ -0,0 +1,805 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.regex.PatternSyntaxException;
+
+
+
+/**
+ * The class capable of deciding, char by char, whether Strings match a wildcard pattern or regular expression.
+ * A pattern is compiled in to a nondeterministic finite automaton, whose sets of simultaneously active states
+ * are turned in to the states of a deterministic finite automaton as they are first reached. This allows a
+ * MDAG traversal to follow the automaton along each transition path and abandon the path as soon as no
+ * String beginning with it can match.
+
+ * Wildcard patterns consist of literal chars, {@code ?} (any char), {@code *} (any sequence of chars),
+ * character classes such as {@code [a-z]} or {@code [!aeiou]}, and {@code \} (which escapes the following char).
+
+ * Regular expressions support literal chars, {@code .}, character classes (including negated classes, ranges,
+ * and the {@code \d}, {@code \w} and {@code \s} shorthands), grouping with parentheses, alternation with {@code |},
+ * and the {@code *}, {@code +}, {@code ?}, {@code {n}}, {@code {n,}} and {@code {n,m}} quantifiers.
+ * As with {@link String#matches(String)}, a regular expression must match an entire String.
+
+ * @author Kevin
+ */
+class PatternAutomaton
+{
+    //The int denoting the largest number of times a bounded repetition may repeat its operand
+    private static final int MAX_REPETITION_COUNT = 1000;
+
+    //The int denoting the largest number of nondeterministic automaton states a pattern may compile in to. Each
+    //deterministic automaton state is a BitSet over them, and each transition computes an epsilon closure over them,
+    //so this keeps both the memory of a deterministic automaton state (8 KB) and the work of a transition bounded
+    private static final int MAX_STATE_COUNT = 1 << 16;
+
+    //The int denoting the largest depth of a pattern's syntax tree (parsing and compiling recurse once per level of it)
+    private static final int MAX_PATTERN_DEPTH = 500;
+
+    //The int returned by transition() when no String beginning with the chars processed so far can match the pattern
+    static final int DEAD_STATE = -1;
+
+    //The ints denoting the kinds of pattern syntax tree nodes
+    private static final int CHAR_CLASS_PATTERN_NODE = 0;
+    private static final int CONCATENATION_PATTERN_NODE = 1;
+    private static final int ALTERNATION_PATTERN_NODE = 2;
+    private static final int REPETITION_PATTERN_NODE = 3;
+
+    //The int denoting a repetition with no upper bound
+    private static final int UNBOUNDED = -1;
+
+
+
+    /**
+     * The class whose objects represent sets of chars.
+     */
+    private static final class CharClass
+    {
+        //The CharClass containing every char
+        static final CharClass ANY_CHAR_CLASS = new CharClass(new char[]{Character.MIN_VALUE, Character.MAX_VALUE}, false);
+
+        //The array containing the (inclusive) bounds of the ranges of chars that the set is made up of, in pairs
+        private final char[] rangeBoundArray;
+
+        //The boolean denoting whether the set contains the chars outside of the ranges instead of those in them
+        private final boolean isNegated;
+
+
+
+        /**
+         * Constructs a CharClass.
+
+         * @param rangeBoundArray       a char array containing the (inclusive) bounds of the ranges of chars in the set, in pairs
+         * @param isNegated             true if the set is to contain the chars outside of the ranges instead of those in them
+         */
+        CharClass(char[] rangeBoundArray, boolean isNegated)
+        {
+            this.rangeBoundArray = rangeBoundArray;
+            this.isNegated = isNegated;
+        }
+
+
+
+        /**
+         * Determines whether a char is in the set.
+
+         * @param letter    a char
+         * @return          true if {@code letter} is in the set, false otherwise
+         */
+        boolean contains(char letter)
+        {
+            for(int i = 0; i < rangeBoundArray.length; i += 2)
+            {
+                if(letter >= rangeBoundArray[i] && letter <= rangeBoundArray[i + 1])
+                    return !isNegated;
+            }
+
+            return isNegated;
+        }
+    }
+    /////
+
+
+
+    /**
+     * The class whose objects are the nodes of a pattern's syntax tree.
+     */
+    private static final class PatternNode
+    {
+        //The int denoting the kind of pattern element the node represents
+        final int kind;
+
+        //The CharClass of the chars matched by a char class node
+        final CharClass charClass;
+
+        //The ArrayList containing the operands of a concatenation, alternation, or repetition node
+        final ArrayList<PatternNode> operandList = new ArrayList<PatternNode>();
+
+        //The ints denoting the smallest and largest (or UNBOUNDED) number of times the operand of a repetition node is repeated
+        final int minRepetitionCount;
+        final int maxRepetitionCount;
+
+        //The int denoting the number of levels of the syntax tree rooted at the node
+        int depth = 1;
+
+
+
+        /**
+         * Constructs a PatternNode.
+
+         * @param kind                  an int denoting the kind of pattern element the node represents
+         * @param charClass             the CharClass of the chars matched by the node, if it is a char class node
+         * @param minRepetitionCount    an int denoting the smallest number of times the operand is repeated, if it is a repetition node
+         * @param maxRepetitionCount    an int denoting the largest number of times (or UNBOUNDED) the operand is repeated, if it is a repetition node
+         */
+        PatternNode(int kind, CharClass charClass, int minRepetitionCount, int maxRepetitionCount)
+        {
+            this.kind = kind;
+            this.charClass = charClass;
+            this.minRepetitionCount = minRepetitionCount;
+            this.maxRepetitionCount = maxRepetitionCount;
+        }
+    }
+    /////
+
+
+
+    //The ArrayList containing the CharClass of each nondeterministic automaton state that consumes a char (or null for those that don't)
+    private final ArrayList<CharClass> stateCharClassList = new ArrayList<CharClass>();
+
+    //The ArrayLists containing the one or two states each nondeterministic automaton state leads to (-1 denotes no such state)
+    private final ArrayList<Integer> stateFirstTargetList = new ArrayList<Integer>();
+    private final ArrayList<Integer> stateSecondTargetList = new ArrayList<Integer>();
+
+    //The int denoting the nondeterministic automaton's match state
+    private final int matchState;
+
+    //The ArrayList containing the set of nondeterministic automaton states that each deterministic automaton state consists of
+    private final ArrayList<BitSet> dfaStateList = new ArrayList<BitSet>();
+
+    //The HashMap containing the deterministic automaton state consisting of each set of nondeterministic automaton states
+    private final HashMap<BitSet, Integer> dfaStateIndexHashMap = new HashMap<BitSet, Integer>();
+
+    //The ArrayList containing the transitions (labeled by char) that have been determined for each deterministic automaton state
+    private final ArrayList<HashMap<Character, Integer>> dfaTransitionHashMapList = new ArrayList<HashMap<Character, Integer>>();
+
+    //The String being parsed, and the int denoting the index of the next char of it to be parsed (used only during construction)
+    private final String patternString;
+    private int parseIndex = 0;
+
+    //The int denoting the number of groups enclosing the element being parsed (used only during construction)
+    private int groupNestingDepth = 0;
+
+    //The int array used as the stack of states yet to be visited while computing an epsilon closure
+    private int[] epsilonClosureStack = new int[16];
+
+
+
+    /**
+     * Constructs a PatternAutomaton.
+
+     * @param patternString     the wildcard pattern or regular expression to be compiled
+     * @param isRegex           true if {@code patternString} is a regular expression, false if it is a wildcard pattern
+     * @throws PatternSyntaxException   if {@code patternString} isn't a valid pattern of the specified kind
+     */
+    private PatternAutomaton(String patternString, boolean isRegex)
+    {
+        this.patternString = patternString;
+        PatternNode rootNode = (isRegex ? parseAlternation() : parseWildcardPattern());
+
+        if(parseIndex < patternString.length())
+            throw createPatternSyntaxException("Unexpected char");
+
+        matchState = createState(null, -1, -1);
+        int startState = compile(rootNode, matchState);
+
+        BitSet startStateSet = new BitSet();
+        addEpsilonClosure(startState, startStateSet);
+        getDfaState(startStateSet);
+    }
+
+
+
+    /**
+     * Compiles a wildcard pattern.
+
+     * @param wildcardPattern       a String consisting of literal chars, {@code ?}, {@code *}, char classes, and escaped chars
+     * @return                      a PatternAutomaton deciding whether Strings match {@code wildcardPattern}
+     * @throws PatternSyntaxException   if {@code wildcardPattern} is malformed
+     */
+    static PatternAutomaton compileWildcardPattern(String wildcardPattern)
+    {
+        return new PatternAutomaton(wildcardPattern, false);
+    }
+
+
+
+    /**
+     * Compiles a regular expression.
+
+     * @param regex     a String containing a regular expression of the supported syntax
+     * @return          a PatternAutomaton deciding whether Strings match {@code regex} in their entirety
+     * @throws PatternSyntaxException   if {@code regex} is malformed or uses unsupported syntax
+     */
+    static PatternAutomaton compileRegex(String regex)
+    {
+        return new PatternAutomaton(regex, true);
+    }
+
+
+
+    /**
+     * Retrieves the state the automaton is in before any chars are processed.
+
+     * @return      an int denoting the automaton's start state
+     */
+    int getStartState()
+    {
+        return 0;
+    }
+
+
+
+    /**
+     * Determines whether the chars processed to reach a state form a String that matches the pattern.
+
+     * @param state     an int denoting a state of the automaton
+     * @return          true if {@code state} is an accept state, false otherwise
+     */
+    boolean isAcceptState(int state)
+    {
+        return dfaStateList.get(state).get(matchState);
+    }
+
+
+
+    /**
+     * Determines the state reached by processing a char.
+
+     * @param state     an int denoting the current state of the automaton
+     * @param letter    the char to be processed
+     * @return          an int denoting the state of the automaton after processing {@code letter}, or
+     *                  {@link #DEAD_STATE} if no String beginning with the processed chars can match the pattern
+     */
+    int transition(int state, char letter)
+    {
+        HashMap<Character, Integer> transitionHashMap = dfaTransitionHashMapList.get(state);
+        Integer targetState = transitionHashMap.get(letter);
+
+        if(targetState == null)
+        {
+            BitSet stateSet = dfaStateList.get(state);
+            BitSet targetStateSet = new BitSet();
+
+            //Follow the transitions on letter from each of the active nondeterministic automaton states
+            for(int i = stateSet.nextSetBit(0); i >= 0; i = stateSet.nextSetBit(i + 1))
+            {
+                CharClass charClass = stateCharClassList.get(i);
+
+                if(charClass != null && charClass.contains(letter))
+                    addEpsilonClosure(stateFirstTargetList.get(i), targetStateSet);
+            }
+            /////
+
+            targetState = (targetStateSet.isEmpty() ? DEAD_STATE : getDfaState(targetStateSet));
+            transitionHashMap.put(letter, targetState);
+        }
+
+        return targetState;
+    }
+
+
+
+    /**
+     * Retrieves the deterministic automaton state consisting of a set of nondeterministic automaton states, creating it if necessary.
+
+     * @param stateSet      a BitSet of nondeterministic automaton states
+     * @return              an int denoting the deterministic automaton state consisting of {@code stateSet}
+     */
+    private int getDfaState(BitSet stateSet)
+    {
+        Integer dfaState = dfaStateIndexHashMap.get(stateSet);
+
+        if(dfaState == null)
+        {
+            dfaState = dfaStateList.size();
+            dfaStateList.add(stateSet);
+            dfaStateIndexHashMap.put(stateSet, dfaState);
+            dfaTransitionHashMapList.add(new HashMap<Character, Integer>());
+        }
+
+        return dfaState;
+    }
+
+
+
+    /**
+     * Adds a nondeterministic automaton state, as well as all those reachable from it without consuming a char, to a set.
+
+     * @param state         an int denoting a nondeterministic automaton state
+     * @param stateSet      the BitSet of nondeterministic automaton states to add to
+     */
+    private void addEpsilonClosure(int state, BitSet stateSet)
+    {
+        int stackSize = 0;
+        epsilonClosureStack[stackSize++] = state;
+
+        //Visit the states reachable from state without consuming a char, using an explicit
+        //stack so that long chains of such states can't overflow the call stack
+        while(stackSize > 0)
+        {
+            int currentState = epsilonClosureStack[--stackSize];
+
+            if(currentState == -1 || stateSet.get(currentState))
+                continue;
+
+            stateSet.set(currentState);
+
+            if(stateCharClassList.get(currentState) == null)
+            {
+                if(stackSize + 2 > epsilonClosureStack.length)
+                    epsilonClosureStack = Arrays.copyOf(epsilonClosureStack, epsilonClosureStack.length * 2);
+
+                epsilonClosureStack[stackSize++] = stateSecondTargetList.get(currentState);
+                epsilonClosureStack[stackSize++] = stateFirstTargetList.get(currentState);
+            }
+        }
+        /////
+    }
+
+
+
+    /**
+     * Creates a nondeterministic automaton state.
+
+     * @param charClass         the CharClass of the chars the state consumes, or null if it doesn't consume a char
+     * @param firstTarget       an int denoting the first state this state leads to, or -1 if there is no such state
+     * @param secondTarget      an int denoting the second state this state leads to (without consuming a char), or -1 if there is no such state
+     * @return                  an int denoting the created state
+     */
+    private int createState(CharClass charClass, int firstTarget, int secondTarget)
+    {
+        if(stateCharClassList.size() == MAX_STATE_COUNT)
+            throw createPatternSyntaxException("Pattern is too large");
+
+        stateCharClassList.add(charClass);
+        stateFirstTargetList.add(firstTarget);
+        stateSecondTargetList.add(secondTarget);
+
+        return stateCharClassList.size() - 1;
+    }
+
+
+
+    /**
+     * Adds an operand to a pattern syntax tree node.
+
+     * @param node          the concatenation, alternation, or repetition PatternNode to add to
+     * @param operandNode   the PatternNode to be added as an operand of {@code node}
+     * @throws PatternSyntaxException   if the addition makes the syntax tree deeper than {@link #MAX_PATTERN_DEPTH}
+     */
+    private void addOperand(PatternNode node, PatternNode operandNode)
+    {
+        node.operandList.add(operandNode);
+        node.depth = Math.max(node.depth, operandNode.depth + 1);
+
+        if(node.depth > MAX_PATTERN_DEPTH)
+            throw createPatternSyntaxException("Pattern is nested too deeply");
+    }
+
+
+
+    /**
+     * Compiles a pattern syntax tree node in to nondeterministic automaton states. The states are
+     * created in reverse, each one leading to the (already created) states which follow it.
+
+     * @param node          the PatternNode to be compiled
+     * @param nextState     an int denoting the state that the compiled states lead to upon matching {@code node}
+     * @return              an int denoting the state from which {@code node} is matched
+     */
+    private int compile(PatternNode node, int nextState)
+    {
+        switch(node.kind)
+        {
+            case CHAR_CLASS_PATTERN_NODE:
+                return createState(node.charClass, nextState, -1);
+            case CONCATENATION_PATTERN_NODE:
+            {
+                for(int i = node.operandList.size() - 1; i >= 0; i--)
+                    nextState = compile(node.operandList.get(i), nextState);
+
+                return nextState;
+            }
+            case ALTERNATION_PATTERN_NODE:
+            {
+                int alternativeState = compile(node.operandList.get(node.operandList.size() - 1), nextState);
+
+                for(int i = node.operandList.size() - 2; i >= 0; i--)
+                    alternativeState = createState(null, compile(node.operandList.get(i), nextState), alternativeState);
+
+                return alternativeState;
+            }
+            default:
+            {
+                PatternNode operandNode = node.operandList.get(0);
+                int optionalRepetitionState = nextState;
+
+                //Create the states matching the optional repetitions of the operand (those beyond the minimum number required),
+                //either as a loop if there is no upper bound, or as a chain of repetitions that can be exited after each one
+                if(node.maxRepetitionCount == UNBOUNDED)
+                {
+                    optionalRepetitionState = createState(null, -1, nextState);
+                    stateFirstTargetList.set(optionalRepetitionState, compile(operandNode, optionalRepetitionState));
+                }
+                else
+                {
+                    for(int i = node.minRepetitionCount; i < node.maxRepetitionCount; i++)
+                        optionalRepetitionState = createState(null, compile(operandNode, optionalRepetitionState), nextState);
+                }
+                /////
+
+                for(int i = 0; i < node.minRepetitionCount; i++)
+                    optionalRepetitionState = compile(operandNode, optionalRepetitionState);
+
+                return optionalRepetitionState;
+            }
+        }
+    }
+
+
+
+    /**
+     * Parses a wildcard pattern.
+
+     * @return      a PatternNode representing the pattern
+     */
+    private PatternNode parseWildcardPattern()
+    {
+        PatternNode concatenationNode = new PatternNode(CONCATENATION_PATTERN_NODE, null, 0, 0);
+
+        while(parseIndex < patternString.length())
+        {
+            char currentChar = patternString.charAt(parseIndex++);
+            PatternNode elementNode;
+
+            if(currentChar == '?')
+                elementNode = new PatternNode(CHAR_CLASS_PATTERN_NODE, CharClass.ANY_CHAR_CLASS, 0, 0);
+            else if(currentChar == '*')
+            {
+                elementNode = new PatternNode(REPETITION_PATTERN_NODE, null, 0, UNBOUNDED);
+                addOperand(elementNode, new PatternNode(CHAR_CLASS_PATTERN_NODE, CharClass.ANY_CHAR_CLASS, 0, 0));
+            }
+            else if(currentChar == '[')
+                elementNode = new PatternNode(CHAR_CLASS_PATTERN_NODE, parseCharClass('!'), 0, 0);
+            else
+                elementNode = createLiteralNode(currentChar == '\\' ? parseEscapedChar() : currentChar);
+
+            addOperand(concatenationNode, elementNode);
+        }
+
+        return concatenationNode;
+    }
+
+
+
+    /**
+     * Parses a regular expression alternation (or the single alternative it may consist of).
+
+     * @return      a PatternNode representing the alternation
+     */
+    private PatternNode parseAlternation()
+    {
+        PatternNode alternationNode = new PatternNode(ALTERNATION_PATTERN_NODE, null, 0, 0);
+        addOperand(alternationNode, parseConcatenation());
+
+        while(parseIndex < patternString.length() && patternString.charAt(parseIndex) == '|')
+        {
+            parseIndex++;
+            addOperand(alternationNode, parseConcatenation());
+        }
+
+        return alternationNode;
+    }
+
+
+
+    /**
+     * Parses a regular expression concatenation of quantified elements.
+
+     * @return      a PatternNode representing the concatenation
+     */
+    private PatternNode parseConcatenation()
+    {
+        PatternNode concatenationNode = new PatternNode(CONCATENATION_PATTERN_NODE, null, 0, 0);
+
+        while(parseIndex < patternString.length() && patternString.charAt(parseIndex) != '|' && patternString.charAt(parseIndex) != ')')
+        {
+            PatternNode elementNode = parseElement();
+
+            //Wrap elementNode in a repetition node for each quantifier that follows it
+            while(parseIndex < patternString.length() && "*+?{".indexOf(patternString.charAt(parseIndex)) != -1)
+            {
+                char quantifierChar = patternString.charAt(parseIndex++);
+                int minRepetitionCount = (quantifierChar == '+' ? 1 : 0);
+                int maxRepetitionCount = (quantifierChar == '?' ? 1 : UNBOUNDED);
+
+                if(quantifierChar == '{')
+                {
+                    minRepetitionCount = maxRepetitionCount = parseRepetitionCount();
+
+                    if(parseIndex < patternString.length() && patternString.charAt(parseIndex) == ',')
+                    {
+                        parseIndex++;
+                        boolean isBounded = (parseIndex < patternString.length() && patternString.charAt(parseIndex) != '}');
+                        maxRepetitionCount = (isBounded ? parseRepetitionCount() : UNBOUNDED);
+                    }
+
+                    if(parseIndex == patternString.length() || patternString.charAt(parseIndex++) != '}')
+                        throw createPatternSyntaxException("Unclosed counted closure");
+
+                    if(maxRepetitionCount != UNBOUNDED && maxRepetitionCount < minRepetitionCount)
+                        throw createPatternSyntaxException("Illegal repetition range");
+                }
+
+                PatternNode repetitionNode = new PatternNode(REPETITION_PATTERN_NODE, null, minRepetitionCount, maxRepetitionCount);
+                addOperand(repetitionNode, elementNode);
+                elementNode = repetitionNode;
+            }
+            /////
+
+            addOperand(concatenationNode, elementNode);
+        }
+
+        return concatenationNode;
+    }
+
+
+
+    /**
+     * Parses an unquantified regular expression element (a group, char class, or literal char).
+
+     * @return      a PatternNode representing the element
+     */
+    private PatternNode parseElement()
+    {
+        char currentChar = patternString.charAt(parseIndex++);
+
+        switch(currentChar)
+        {
+            case '(':
+            {
+                //Treat non-capturing groups in the same manner as ordinary ones (there is no capturing)
+                if(patternString.startsWith("?:", parseIndex))
+                    parseIndex += 2;
+
+                //Each enclosing group adds a level of recursion to the parse, so bound their number before recursing
+                if(++groupNestingDepth > MAX_PATTERN_DEPTH)
+                    throw createPatternSyntaxException("Pattern is nested too deeply");
+
+                PatternNode groupNode = parseAlternation();
+                groupNestingDepth--;
+
+                if(parseIndex == patternString.length() || patternString.charAt(parseIndex++) != ')')
+                    throw createPatternSyntaxException("Unclosed group");
+
+                return groupNode;
+            }
+            case '[':
+                return new PatternNode(CHAR_CLASS_PATTERN_NODE, parseCharClass('^'), 0, 0);
+            case '.':
+                return new PatternNode(CHAR_CLASS_PATTERN_NODE, CharClass.ANY_CHAR_CLASS, 0, 0);
+            case '\\':
+            {
+                CharClass shorthandCharClass = parseShorthandCharClass();
+                return (shorthandCharClass != null ? new PatternNode(CHAR_CLASS_PATTERN_NODE, shorthandCharClass, 0, 0) : createLiteralNode(parseEscapedChar()));
+            }
+            case '*': case '+': case '?': case '{':
+                throw createPatternSyntaxException("Dangling meta character '" + currentChar + "'");
+            case '^': case '$':
+                throw createPatternSyntaxException("Boundary matchers are not supported");
+            default:
+                return createLiteralNode(currentChar);
+        }
+    }
+
+
+
+    /**
+     * Parses a char class, the opening bracket of which has already been parsed.
+
+     * @param negationChar      the char which negates the class when it immediately follows the opening bracket
+     * @return                  a CharClass containing the chars denoted by the parsed char class
+     */
+    private CharClass parseCharClass(char negationChar)
+    {
+        boolean isNegated = (parseIndex < patternString.length() && patternString.charAt(parseIndex) == negationChar);
+        if(isNegated) parseIndex++;
+
+        ArrayList<Character> rangeBoundList = new ArrayList<Character>();
+
+        //Parse the chars and ranges in the class until the closing bracket (which is treated
+        //as a literal if it is the first char of the class) is encountered
+        for(boolean isFirstChar = true; ; isFirstChar = false)
+        {
+            if(parseIndex == patternString.length())
+                throw createPatternSyntaxException("Unclosed character class");
+
+            char lowChar = patternString.charAt(parseIndex++);
+
+            if(lowChar == ']' && !isFirstChar)
+                break;
+
+            if(lowChar == '\\')
+            {
+                CharClass shorthandCharClass = parseShorthandCharClass();
+
+                if(shorthandCharClass != null)
+                {
+                    for(char rangeBound : shorthandCharClass.rangeBoundArray)
+                        rangeBoundList.add(rangeBound);
+
+                    continue;
+                }
+
+                lowChar = parseEscapedChar();
+            }
+
+            char highChar = lowChar;
+
+            if(parseIndex + 1 < patternString.length() && patternString.charAt(parseIndex) == '-' && patternString.charAt(parseIndex + 1) != ']')
+            {
+                highChar = patternString.charAt(parseIndex + 1);
+                parseIndex += 2;
+
+                if(highChar == '\\')
+                    highChar = parseEscapedChar();
+
+                if(highChar < lowChar)
+                    throw createPatternSyntaxException("Illegal character range");
+            }
+
+            rangeBoundList.add(lowChar);
+            rangeBoundList.add(highChar);
+        }
+        /////
+
+        char[] rangeBoundArray = new char[rangeBoundList.size()];
+        for(int i = 0; i < rangeBoundArray.length; i++)
+            rangeBoundArray[i] = rangeBoundList.get(i);
+
+        return new CharClass(rangeBoundArray, isNegated);
+    }
+
+
+
+    /**
+     * Parses the char following an escaping backslash, if it denotes a shorthand char class.
+
+     * @return      the CharClass denoted by the parsed shorthand, or null if the escaped char is not a shorthand
+     *              (in which case it is left unparsed)
+     */
+    private CharClass parseShorthandCharClass()
+    {
+        if(parseIndex == patternString.length())
+            return null;
+
+        switch(patternString.charAt(parseIndex))
+        {
+            case 'd':
+                parseIndex++;
+                return new CharClass(new char[]{'0', '9'}, false);
+            case 'w':
+                parseIndex++;
+                return new CharClass(new char[]{'a', 'z', 'A', 'Z', '0', '9', '_', '_'}, false);
+            case 's':
+                parseIndex++;
+                return new CharClass(new char[]{' ', ' ', '\t', '\r'}, false);
+            default:
+                return null;
+        }
+    }
+
+
+
+    /**
+     * Parses the char following an escaping backslash as a literal.
+
+     * @return      the escaped char
+     */
+    private char parseEscapedChar()
+    {
+        if(parseIndex == patternString.length())
+            throw createPatternSyntaxException("Trailing backslash");
+
+        char escapedChar = patternString.charAt(parseIndex++);
+
+        if(Character.isLetterOrDigit(escapedChar))
+        {
+            switch(escapedChar)
+            {
+                case 't': return '\t';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 'f': return '\f';
+                default: throw createPatternSyntaxException("Unsupported escape sequence");
+            }
+        }
+
+        return escapedChar;
+    }
+
+
+
+    /**
+     * Parses the non-negative integer in a counted repetition.
+
+     * @return      an int denoting the parsed repetition count
+     */
+    private int parseRepetitionCount()
+    {
+        int beginIndex = parseIndex;
+
+        while(parseIndex < patternString.length() && Character.isDigit(patternString.charAt(parseIndex)))
+            parseIndex++;
+
+        if(parseIndex == beginIndex || parseIndex - beginIndex > 4)
+            throw createPatternSyntaxException("Illegal repetition count");
+
+        int repetitionCount = Integer.parseInt(patternString.substring(beginIndex, parseIndex));
+
+        if(repetitionCount > MAX_REPETITION_COUNT)
+            throw createPatternSyntaxException("Repetition count exceeds " + MAX_REPETITION_COUNT);
+
+        return repetitionCount;
+    }
+
+
+
+    /**
+     * Creates a pattern syntax tree node matching a single char.
+
+     * @param letter    the char to be matched
+     * @return          a char class PatternNode matching only {@code letter}
+     */
+    private static PatternNode createLiteralNode(char letter)
+    {
+        return new PatternNode(CHAR_CLASS_PATTERN_NODE, new CharClass(new char[]{letter, letter}, false), 0, 0);
+    }
+
+
+
+    /**
+     * Creates an exception describing a syntax error at the current position in the pattern being parsed.
+
+     * @param description       a String describing the error
+     * @return                  a PatternSyntaxException describing the error
+     */
+    private PatternSyntaxException createPatternSyntaxException(String description)
+    {
+        return new PatternSyntaxException(description, patternString, parseIndex - 1);
+    }
+}
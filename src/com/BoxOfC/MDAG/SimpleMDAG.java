@@ -0,0 +1,665 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.zip.CRC32;
+
+
+
+/**
+ * The class capable of representing a simplified MDAG as a set of parallel primitive sequences.
+ *
+ * Each index in the sequences describes a transition: the char labeling it, along with the accept state status,
+ * outgoing transition set size, and outgoing transition set begin index of its target node. Index 0 describes
+ * a dummy transition targeting the MDAG's source node, so every node in the MDAG can be referred to by
+ * the int index of a transition leading to it.
+ *
+ * Since transition sets are stored in ascending label order, small sets are searched linearly and
+ * larger ones with a binary search. The source node and other very wide nodes are given direct-indexed
+ * tables which map each label in the range of their transition set to the index of the transition it labels.
+ *
+ * If the MDAG's alphabet (the set of chars labeling its transitions) has no more than 256 chars, each letter is
+ * instead stored as its rank in the alphabet, in a single byte. Every node wider than a linear search is then given a
+ * bitmap table with a bit for each rank: a label's bit denotes whether the node has a transition labeled with it,
+ * and the number of set bits preceding it is the offset of that transition in the node's transition set.
+ *
+ * Subclasses define where the sequences are stored; this class defines how they are searched,
+ * as well as the binary file format that they can be written in.
+
+ * @author Kevin
+ */
+abstract class SimpleMDAG
+{
+    //The int index of the dummy transition whose target is the MDAG's source node
+    static final int SOURCE_NODE_INDEX = 0;
+
+    //The int mask of the bit in a node data int denoting the accept state status of a node
+    static final int ACCEPT_STATE_FLAG = 0x80000000;
+
+    //The int mask of the bit in a node data int denoting whether a node's transitions are indexed by a dense transition table
+    static final int DENSE_TRANSITION_TABLE_FLAG = 0x40000000;
+
+    //The int mask of the bits in a node data int denoting the size of a node's outgoing transition
+    //set, or the index of its dense transition table if it has one
+    static final int NODE_DATA_VALUE_MASK = 0x3FFFFFFF;
+
+    //The int denoting the largest transition set size which will be searched linearly
+    static final int MAX_LINEAR_SEARCH_TRANSITION_SET_SIZE = 8;
+
+    //The ints denoting the offsets (from the beginning of a dense transition table) of its transition
+    //set size, lowest label, label range span, and the first of its transition indices
+    static final int TABLE_TRANSITION_SET_SIZE_OFFSET = 0;
+    static final int TABLE_LOWEST_LETTER_OFFSET = 1;
+    static final int TABLE_SPAN_OFFSET = 2;
+    static final int TABLE_HEADER_SIZE = 3;
+
+    //The int denoting the size of the header (the transition set size) of a bitmap table, which is followed by a pair of ints for each 
+    //32 ranks in the alphabet: the number of set bits in the preceding pairs, and the bitmap word of the ranks (lowest rank in the lowest bit)
+    static final int BITMAP_TABLE_HEADER_SIZE = 1;
+
+    //The int denoting the largest alphabet whose chars can be stored as ranks in single bytes
+    static final int MAX_BYTE_LETTER_ALPHABET_SIZE = 256;
+
+    //The int which begins every simplified MDAG file ("MDAG" in ASCII)
+    static final int FILE_MAGIC_NUMBER = 0x4D444147;
+
+    //The int denoting the version of the simplified MDAG file format written by this class
+    static final int FILE_FORMAT_VERSION = 1;
+
+    //The int denoting the size in bytes of a simplified MDAG file's header. The header consists of the magic number,
+    //format version, transition count, dense transition table array length, transition label set size, the CRC-32 
+    //checksum of the rest of the file, and the file's flags. The rest of the file holds (in order) the transition set
+    //begin index ints, node data ints, dense transition table ints, letter chars (or bytes, if flagged), and the chars
+    //of the transition label set, all in little-endian byte order.
+    static final int FILE_HEADER_SIZE = 32;
+
+    //The int masks of the bits in a simplified MDAG file's flags denoting that each letter in the file is stored in a single
+    //(unsigned) byte as its rank in the transition label set, and that the letters are the bytes of the UTF-8 encodings 
+    //of the MDAG's Strings (see MDAG.LabelEncoding)
+    static final int FILE_BYTE_LETTERS_FLAG = 0x1;
+    static final int FILE_UTF8_LABELS_FLAG = 0x2;
+
+    //The ByteOrder of the multi-byte values in a simplified MDAG file
+    static final ByteOrder FILE_BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    //The array containing the number of Strings in the right language of each node with outgoing transitions, at the 
+    //index its transition set begins at (0 denotes one that hasn't been calculated). Created the first time it is needed.
+    private volatile int[] rightLanguageSizeArray;
+
+    //The array containing the chars of the alphabet in ascending order, followed by '\0's up to a length of 
+    //MAX_BYTE_LETTER_ALPHABET_SIZE, whose indices are stored in place of the letters (null if chars are stored)
+    private char[] alphabetArray;
+
+    //The int denoting the number of chars in the alphabet
+    private int alphabetSize;
+
+    //The array containing the rank of each char up to the largest in the alphabet (0 for the chars that aren't in it)
+    private byte[] letterRankArray;
+
+
+
+    /**
+     * Sets the alphabet whose ranks are stored in place of the letters of the MDAG's transitions (and 
+     * whose ranks index its bitmap tables). This should be called (if at all) before any letters are recorded or retrieved.
+
+     * @param sortedAlphabetArray       a char array containing the (no more than {@link #MAX_BYTE_LETTER_ALPHABET_SIZE}) 
+     *                                  chars of the alphabet in ascending order
+     */
+    void setAlphabet(char[] sortedAlphabetArray)
+    {
+        alphabetSize = sortedAlphabetArray.length;
+        alphabetArray = Arrays.copyOf(sortedAlphabetArray, MAX_BYTE_LETTER_ALPHABET_SIZE);
+        letterRankArray = new byte[alphabetSize > 0 ? sortedAlphabetArray[alphabetSize - 1] + 1 : 0];
+
+        for(int i = 0; i < alphabetSize; i++)
+            letterRankArray[sortedAlphabetArray[i]] = (byte)i;
+    }
+
+
+
+    /**
+     * Retrieves the number of chars in the alphabet whose ranks are stored in place of the letters of the MDAG's transitions.
+
+     * @return      an int denoting the size of the alphabet (0 if chars are stored)
+     */
+    int getAlphabetSize()
+    {
+        return alphabetSize;
+    }
+
+
+
+    /**
+     * Determines whether the dense transition tables of the MDAG are bitmap tables, as they are whenever letters are stored as ranks.
+
+     * @return      true if the dense transition tables are bitmap tables, false if they map label ranges to transition indices
+     */
+    boolean hasBitmapTables()
+    {
+        return (alphabetArray != null);
+    }
+
+
+
+    /**
+     * Retrieves the number of ints in each bitmap table.
+
+     * @return      an int denoting the size of the bitmap tables of the MDAG
+     */
+    int getBitmapTableSize()
+    {
+        return BITMAP_TABLE_HEADER_SIZE + 2 * ((alphabetSize + 31) >>> 5);
+    }
+
+
+
+    /**
+     * Retrieves the number of transitions in the represented MDAG.
+
+     * @return      an int denoting the number of transitions in the represented MDAG
+     */
+    abstract int getTransitionCount();
+
+
+
+    /**
+     * Retrieves the stored representation of the letter of a transition: its rank in the alphabet, or the char itself.
+
+     * @param index     an int denoting the index of the transition of interest
+     * @return          an int denoting the code of the letter of the transition at {@code index}
+     */
+    abstract int getLetterCode(int index);
+
+
+
+    /**
+     * Retrieves the char labeling a transition.
+
+     * @param index     an int denoting the index of the transition of interest
+     * @return          the char labeling the transition at {@code index}
+     */
+    char getLetter(int index)
+    {
+        return (alphabetArray != null ? alphabetArray[getLetterCode(index)] : (char)getLetterCode(index));
+    }
+
+
+
+    /**
+     * Determines the stored representation of a letter.
+
+     * @param letter        a char
+     * @return              an int denoting the rank of {@code letter} in the alphabet (or {@code letter} itself, if
+     *                      chars are stored), or -1 if {@code letter} doesn't label any of the MDAG's transitions
+     */
+    int encodeLetter(char letter)
+    {
+        if(alphabetArray == null)
+            return letter;
+        else if(letter >= letterRankArray.length)
+            return -1;
+
+        int rank = letterRankArray[letter] & 0xFF;
+        return (alphabetArray[rank] == letter ? rank : -1);
+    }
+
+
+
+    /**
+     * Determines whether the letters of the transitions are each stored in a single byte.
+
+     * @return      true if each letter is stored in a single byte (as its rank in the alphabet), false if each is stored in a char
+     */
+    boolean hasByteLetters()
+    {
+        return (alphabetArray != null);
+    }
+
+
+
+    /**
+     * Retrieves the index at which a node's outgoing transition set begins.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @return          an int denoting the index at which the node's outgoing transition set begins
+     */
+    abstract int getTransitionSetBeginIndex(int index);
+
+
+
+    /**
+     * Retrieves the packed accept state status, and transition set size or
+     * dense transition table index of a transition's target node.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @return          an int containing the node data of the transition at {@code index}
+     */
+    abstract int getNodeData(int index);
+
+
+
+    /**
+     * Retrieves the length of the sequence containing the MDAG's dense transition tables.
+
+     * @return      an int denoting the number of ints in the dense transition table sequence
+     */
+    abstract int getDenseTransitionTableArrayLength();
+
+
+
+    /**
+     * Retrieves an int from the sequence containing the MDAG's dense transition tables.
+
+     * @param tableArrayIndex       an int denoting the index of the desired int in the dense transition table sequence
+     * @return                      the int at {@code tableArrayIndex} in the dense transition table sequence
+     */
+    abstract int getDenseTransitionTableValue(int tableArrayIndex);
+
+
+
+    /**
+     * Estimates the heap memory retained by the SimpleMDAG (see {@link MDAGMemoryReport}).
+
+     * @return      a long denoting the estimated number of bytes retained by the SimpleMDAG
+     */
+    abstract long estimateHeapBytes();
+
+
+
+    /**
+     * Retrieves the number of bytes of memory mapped file contents that the SimpleMDAG is read from.
+
+     * @return      a long denoting the size of the mapped contents (0 if the SimpleMDAG isn't memory mapped)
+     */
+    long getMappedBytes()
+    {
+        return 0;
+    }
+
+
+
+    /**
+     * Estimates the heap memory retained by the data the SimpleMDAG calculates and caches as it is queried.
+
+     * @return      a long denoting the estimated number of bytes retained by the cached data
+     */
+    long estimateCacheHeapBytes()
+    {
+        int[] sizeArray = rightLanguageSizeArray;
+
+        return (sizeArray != null ? MDAGMemoryReport.estimateArrayBytes(int.class, sizeArray.length) : 0);
+    }
+
+
+
+    /**
+     * Estimates the heap memory retained by the arrays mapping between the alphabet and the ranks stored in place of its chars.
+
+     * @return      a long denoting the estimated number of bytes retained by the alphabet arrays (0 if chars are stored)
+     */
+    long estimateAlphabetHeapBytes()
+    {
+        if(alphabetArray == null)
+            return 0;
+        else
+            return MDAGMemoryReport.estimateArrayBytes(char.class, alphabetArray.length) + MDAGMemoryReport.estimateArrayBytes(byte.class, letterRankArray.length);
+    }
+
+
+
+    /**
+     * Retrieves the accept state status of a node.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @return          true if the node is an accept state, false otherwise
+     */
+    boolean isAcceptNode(int index)
+    {
+        return ((getNodeData(index) & ACCEPT_STATE_FLAG) != 0);
+    }
+
+
+
+    /**
+     * Retrieves the size of a node's outgoing transition set.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @return          an int denoting the size of the node's outgoing transition set
+     */
+    int getOutgoingTransitionSetSize(int index)
+    {
+        int nodeData = getNodeData(index);
+
+        if((nodeData & DENSE_TRANSITION_TABLE_FLAG) == 0)
+            return (nodeData & NODE_DATA_VALUE_MASK);
+        else
+            return getDenseTransitionTableValue((nodeData & NODE_DATA_VALUE_MASK) + TABLE_TRANSITION_SET_SIZE_OFFSET);
+    }
+
+
+
+    /**
+     * Retrieves the size of the right language of a node (the number of Strings corresponding to the transition
+     * paths from it that end at accept nodes, including the empty String if the node itself is an accept node).
+     * The sizes of all the nodes are calculated the first time this is called.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @return          an int denoting the size of the node's right language
+     */
+    int getRightLanguageSize(int index)
+    {
+        int[] sizeArray = rightLanguageSizeArray;
+
+        if(sizeArray == null)
+        {
+            sizeArray = new int[getTransitionCount() + 1];
+            calculateRightLanguageSize(SOURCE_NODE_INDEX, sizeArray);
+            rightLanguageSizeArray = sizeArray;
+        }
+
+        return calculateRightLanguageSize(index, sizeArray);
+    }
+
+
+
+    /**
+     * Calculates the size of the right language of a node, recording it (as well as those of the nodes
+     * reachable from it) in a right language size array if it hasn't been recorded already.
+
+     * @param index         an int denoting the index of a transition leading to the node of interest
+     * @param sizeArray     the right language size array, indexed by transition set begin index
+     * @return              an int denoting the size of the node's right language
+     */
+    private int calculateRightLanguageSize(int index, int[] sizeArray)
+    {
+        int acceptStringCount = (isAcceptNode(index) ? 1 : 0);
+        int transitionSetSize = getOutgoingTransitionSetSize(index);
+
+        //The transition set begin indices of nodes without outgoing transitions
+        //aren't unique, but their right languages are trivial to calculate
+        if(transitionSetSize == 0)
+            return acceptStringCount;
+
+        int transitionSetBeginIndex = getTransitionSetBeginIndex(index);
+
+        if(sizeArray[transitionSetBeginIndex] == 0)
+        {
+            int rightLanguageSize = acceptStringCount;
+
+            for(int i = transitionSetBeginIndex; i < transitionSetBeginIndex + transitionSetSize; i++)
+                rightLanguageSize += calculateRightLanguageSize(i, sizeArray);
+
+            sizeArray[transitionSetBeginIndex] = rightLanguageSize;
+        }
+
+        return sizeArray[transitionSetBeginIndex];
+    }
+
+
+
+    /**
+     * Follows an outgoing transition from a node.
+
+     * @param index         an int denoting the index of a transition leading to the node of interest
+     * @param letter        the char representation of the desired transition's label
+     * @return              an int denoting the index of the transition labeled with {@code letter}
+     *                      (and thus leading to its target node), or -1 if there is no such labeled transition
+     */
+    int transition(int index, char letter)
+    {
+        int letterCode = encodeLetter(letter);
+
+        if(letterCode == -1)
+            return -1;
+
+        int nodeData = getNodeData(index);
+
+        //If the node has a dense transition table, use it to directly look up the transition
+        if((nodeData & DENSE_TRANSITION_TABLE_FLAG) != 0)
+        {
+            int tableIndex = nodeData & NODE_DATA_VALUE_MASK;
+
+            if(alphabetArray != null)
+            {
+                //The transition exists if the bit of letter's rank is set, and its offset in the 
+                //transition set is the number of set bits for the ranks preceding letter's
+                int bitmapPairIndex = tableIndex + BITMAP_TABLE_HEADER_SIZE + ((letterCode >>> 5) << 1);
+                int bitmapWord = getDenseTransitionTableValue(bitmapPairIndex + 1);
+                int letterBit = 1 << letterCode;
+
+                if((bitmapWord & letterBit) != 0)
+                    return getTransitionSetBeginIndex(index) + getDenseTransitionTableValue(bitmapPairIndex) + Integer.bitCount(bitmapWord & (letterBit - 1));
+                else
+                    return -1;
+            }
+            else
+            {
+                //Use the offset of letter from the lowest letter in the table's range to look up the transition
+                int letterOffset = letterCode - getDenseTransitionTableValue(tableIndex + TABLE_LOWEST_LETTER_OFFSET);
+
+                if(letterOffset >= 0 && letterOffset < getDenseTransitionTableValue(tableIndex + TABLE_SPAN_OFFSET))
+                    return getDenseTransitionTableValue(tableIndex + TABLE_HEADER_SIZE + letterOffset);
+                else
+                    return -1;
+            }
+        }
+        /////
+
+        int transitionSetBeginIndex = getTransitionSetBeginIndex(index);
+        int transitionSetSize = nodeData & NODE_DATA_VALUE_MASK;
+
+        if(transitionSetSize <= MAX_LINEAR_SEARCH_TRANSITION_SET_SIZE)
+        {
+            int onePastTransitionSetEndIndex = transitionSetBeginIndex + transitionSetSize;
+
+            //Loop through the letters of the transitions in the node's transition set,
+            //searching for the one equal to that which labels the desired transition
+            for(int i = transitionSetBeginIndex; i < onePastTransitionSetEndIndex; i++)
+            {
+                if(getLetterCode(i) == letterCode)
+                    return i;
+            }
+            /////
+        }
+        else
+        {
+            int lowIndex = transitionSetBeginIndex;
+            int highIndex = transitionSetBeginIndex + transitionSetSize - 1;
+
+            //Binary search the (ascending) letters of the transitions in the node's
+            //transition set for the one equal to that which labels the desired transition
+            while(lowIndex <= highIndex)
+            {
+                int midIndex = (lowIndex + highIndex) >>> 1;
+                int midLetterCode = getLetterCode(midIndex);
+
+                if(midLetterCode < letterCode)
+                    lowIndex = midIndex + 1;
+                else if(midLetterCode > letterCode)
+                    highIndex = midIndex - 1;
+                else
+                    return midIndex;
+            }
+            /////
+        }
+
+        return -1;
+    }
+
+
+
+    /**
+     * Follows a transition path starting from a node.
+
+     * @param index     an int denoting the index of a transition leading to the node of interest
+     * @param str       a String corresponding a transition path in the MDAG
+     * @return          an int denoting the index of the transition leading to the node at the end of the transition path
+     *                  corresponding to {@code str}, or -1 if such a transition path is not present in the MDAG
+     */
+    int transition(int index, String str)
+    {
+        int charCount = str.length();
+
+        //Iteratively transition through the MDAG using the chars in str
+        for(int i = 0; i < charCount && index != -1; i++)
+            index = transition(index, str.charAt(i));
+        /////
+
+        return index;
+    }
+
+
+
+    /**
+     * Creates a SimpleMDAGNode representation of a transition and its target node.
+     * The transition set begin index of the created node is relative to the first
+     * index following {@link #SOURCE_NODE_INDEX}, as it is in a SimpleMDAGNode array.
+
+     * @param index     an int denoting the index of the transition of interest
+     * @return          a SimpleMDAGNode possessing the letter, accept state status, and
+     *                  transition set data of the transition at {@code index}
+     */
+    SimpleMDAGNode createSimpleMDAGNode(int index)
+    {
+        SimpleMDAGNode simpleMDAGNode = new SimpleMDAGNode(getLetter(index), isAcceptNode(index), getOutgoingTransitionSetSize(index));
+        simpleMDAGNode.setTransitionSetBeginIndex(getTransitionSetBeginIndex(index) - 1);
+
+        return simpleMDAGNode;
+    }
+
+
+
+    /**
+     * Writes the represented MDAG to a file in the simplified MDAG file format.
+
+     * @param file                  the File to write the represented MDAG to
+     * @param transitionLabelSet    a SortedSet of the chars which collectively label the transitions in the MDAG
+     *                              (the alphabet, if letters are stored as ranks in it)
+     * @param hasUTF8Labels         true if the letters are the bytes of the UTF-8 encodings of the MDAG's Strings, false otherwise
+     * @throws IOException          if {@code file} cannot be opened, or a write operation on it cannot be carried out
+     */
+    void write(File file, SortedSet<Character> transitionLabelSet, boolean hasUTF8Labels) throws IOException
+    {
+        boolean hasByteLetters = hasByteLetters();
+
+        int transitionArrayLength = getTransitionCount() + 1;
+        int denseTransitionTableArrayLength = getDenseTransitionTableArrayLength();
+
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+
+        try
+        {
+            FileChannel fileChannel = randomAccessFile.getChannel();
+            fileChannel.truncate(0);
+            fileChannel.position(FILE_HEADER_SIZE);
+
+            ByteBuffer byteBuffer = ByteBuffer.allocate(1 << 16).order(FILE_BYTE_ORDER);
+            CRC32 crc32 = new CRC32();
+
+            //Write each section of the file through byteBuffer, flushing
+            //(and checksumming) its contents whenever it runs out of room
+            for(int i = 0; i < transitionArrayLength; i++)
+            {
+                if(byteBuffer.remaining() < 4) flush(byteBuffer, fileChannel, crc32);
+                byteBuffer.putInt(getTransitionSetBeginIndex(i));
+            }
+
+            for(int i = 0; i < transitionArrayLength; i++)
+            {
+                if(byteBuffer.remaining() < 4) flush(byteBuffer, fileChannel, crc32);
+                byteBuffer.putInt(getNodeData(i));
+            }
+
+            for(int i = 0; i < denseTransitionTableArrayLength; i++)
+            {
+                if(byteBuffer.remaining() < 4) flush(byteBuffer, fileChannel, crc32);
+                byteBuffer.putInt(getDenseTransitionTableValue(i));
+            }
+
+            for(int i = 0; i < transitionArrayLength; i++)
+            {
+                if(byteBuffer.remaining() < 2) flush(byteBuffer, fileChannel, crc32);
+
+                if(hasByteLetters)
+                    byteBuffer.put((byte)getLetterCode(i));
+                else
+                    byteBuffer.putChar(getLetter(i));
+            }
+
+            for(char transitionLabelChar : transitionLabelSet)
+            {
+                if(byteBuffer.remaining() < 2) flush(byteBuffer, fileChannel, crc32);
+                byteBuffer.putChar(transitionLabelChar);
+            }
+
+            flush(byteBuffer, fileChannel, crc32);
+            /////
+
+            //Now that the checksum of the rest of the file is known, write the header
+            byteBuffer.putInt(FILE_MAGIC_NUMBER);
+            byteBuffer.putInt(FILE_FORMAT_VERSION);
+            byteBuffer.putInt(getTransitionCount());
+            byteBuffer.putInt(denseTransitionTableArrayLength);
+            byteBuffer.putInt(transitionLabelSet.size());
+            byteBuffer.putLong(crc32.getValue());
+            byteBuffer.putInt((hasByteLetters ? FILE_BYTE_LETTERS_FLAG : 0) | (hasUTF8Labels ? FILE_UTF8_LABELS_FLAG : 0));
+            byteBuffer.flip();
+
+            fileChannel.position(0);
+            while(byteBuffer.hasRemaining()) fileChannel.write(byteBuffer);
+            /////
+        }
+        finally
+        {
+            randomAccessFile.close();
+        }
+    }
+
+
+
+    /**
+     * Writes the contents of a ByteBuffer to a FileChannel, updating
+     * a checksum with them and clearing the ByteBuffer afterwards.
+
+     * @param byteBuffer        the ByteBuffer containing the bytes to be written
+     * @param fileChannel       the FileChannel that the bytes are to be written to
+     * @param crc32             the CRC32 to be updated with the bytes
+     * @throws IOException      if the write operation cannot be carried out
+     */
+    private static void flush(ByteBuffer byteBuffer, FileChannel fileChannel, CRC32 crc32) throws IOException
+    {
+        byteBuffer.flip();
+        crc32.update(byteBuffer.array(), 0, byteBuffer.limit());
+
+        while(byteBuffer.hasRemaining()) fileChannel.write(byteBuffer);
+        byteBuffer.clear();
+    }
+}
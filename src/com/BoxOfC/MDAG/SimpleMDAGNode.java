@@ -26,12 +26,15 @@ package com.BoxOfC.MDAG;
 
 /**
  * The class capable of representing a MDAG node, its transition set, and one of its incoming transitions;
- * objects of this class are used to represent a MDAG after its been simplified in order to save space.
+ * objects of this class are used to expose the data of a MDAG after its been simplified.
  
  * @author Kevin
  */
 public class SimpleMDAGNode
 {
+    //The int denoting the largest transition set size which will be searched linearly
+    private static final int MAX_LINEAR_SEARCH_TRANSITION_SET_SIZE = 8;
+    
     //The character labeling an incoming transition to this node
     private final char letter;
     
@@ -133,20 +136,48 @@ public class SimpleMDAGNode
      */
     public SimpleMDAGNode transition(SimpleMDAGNode[] mdagDataArray, char letter)
     {
-        int onePastTransitionSetEndIndex = transitionSetBeginIndex + transitionSetSize;
         SimpleMDAGNode targetNode = null;
         
-        //Loop through the SimpleMDAGNodes in this node's transition set, searching for
-        //the one with a letter equal to that which labels the desired transition
-        for(int i = transitionSetBeginIndex; i < onePastTransitionSetEndIndex; i++)
+        if(transitionSetSize <= MAX_LINEAR_SEARCH_TRANSITION_SET_SIZE)
         {
-            if(mdagDataArray[i].getLetter() == letter)
+            int onePastTransitionSetEndIndex = transitionSetBeginIndex + transitionSetSize;
+
+            //Loop through the SimpleMDAGNodes in this node's transition set, searching for
+            //the one with a letter equal to that which labels the desired transition
+            for(int i = transitionSetBeginIndex; i < onePastTransitionSetEndIndex; i++)
             {
-                targetNode = mdagDataArray[i];
-                break;
+                if(mdagDataArray[i].getLetter() == letter)
+                {
+                    targetNode = mdagDataArray[i];
+                    break;
+                }
             }
+            /////
+        }
+        else
+        {
+            int lowIndex = transitionSetBeginIndex;
+            int highIndex = transitionSetBeginIndex + transitionSetSize - 1;
+            
+            //Binary search the SimpleMDAGNodes in this node's transition set (which are in ascending 
+            //letter order) for the one with a letter equal to that which labels the desired transition
+            while(lowIndex <= highIndex)
+            {
+                int midIndex = (lowIndex + highIndex) >>> 1;
+                char midLetter = mdagDataArray[midIndex].getLetter();
+                
+                if(midLetter < letter)
+                    lowIndex = midIndex + 1;
+                else if(midLetter > letter)
+                    highIndex = midIndex - 1;
+                else
+                {
+                    targetNode = mdagDataArray[midIndex];
+                    break;
+                }
+            }
+            /////
         }
-        /////
         
         return targetNode;
     }
@@ -190,18 +221,8 @@ public class SimpleMDAGNode
      */
     public static SimpleMDAGNode traverseMDAG(SimpleMDAGNode[] mdagDataArray, SimpleMDAGNode sourceNode, String str)
     {
-        char firstLetter = str.charAt(0);
-
-        //Loop through the SimpleMDAGNodes in the processing MDAG's source node's transition set, 
-        //searching for the the one with a letter (char) equal to the first char of str.
-        //We can use that target node to transition through the MDAG with the rest of the string
-        for(int i = 0; i < sourceNode.transitionSetSize; i++)
-        {
-            if(mdagDataArray[i].getLetter() == firstLetter)
-                return mdagDataArray[i].transition(mdagDataArray, str.substring(1));
-        }
-        /////
-        
-        return null;
+        //The source node's transition set begins at the start of mdagDataArray, 
+        //so we can transition through the MDAG with str directly from it
+        return sourceNode.transition(mdagDataArray, str);
     }
 }
\ No newline at end of file
@@ -0,0 +1,236 @@
+/**
+ * MDAG is a Java library capable of constructing character-sequence-storing,
+ * directed acyclic graphs of minimal size.
+ *
+ *  Copyright (C) 2012 Kevin Lawson <Klawson88@gmail.com>
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.BoxOfC.MDAG;
+
+
+
+/**
+ * The class containing the methods which convert between Strings and the sequences of labels that represent them in 
+ * a UTF-8 encoded MDAG (see {@link MDAG.LabelEncoding#UTF8}). Each label is a byte of a String's UTF-8 encoding, held in
+ * the char with the same unsigned value, so label sequences can be processed by the same code as the Strings of other MDAGs.
+ * 
+ * Code points are encoded individually, so an unpaired surrogate is encoded (as a three byte sequence) rather than replaced,
+ * and every String survives a round trip through its label sequence.
+
+ * @author Kevin
+ */
+final class UTF8LabelCodec
+{
+    //The array containing the bits which the leading byte of an encoded code point begins with, indexed by the code point's encoded length
+    private static final int[] LEADING_BYTE_PREFIX_ARRAY = {0, 0x00, 0xC0, 0xE0, 0xF0};
+    
+    //The array containing the smallest code point that is encoded with each number of bytes (used to reject overlong encodings)
+    private static final int[] MIN_CODE_POINT_ARRAY = {0, 0, 0x80, 0x800, 0x10000};
+    
+    
+    
+    private UTF8LabelCodec()
+    {
+    }
+    
+    
+    
+    /**
+     * Determines the number of bytes in the UTF-8 encoding of a code point.
+     
+     * @param codePoint     an int denoting a Unicode code point
+     * @return              an int denoting the number of bytes {@code codePoint} is encoded with
+     */
+    static int getEncodedLength(int codePoint)
+    {
+        if(codePoint < 0x80)
+            return 1;
+        else if(codePoint < 0x800)
+            return 2;
+        else if(codePoint < 0x10000)
+            return 3;
+        else
+            return 4;
+    }
+    
+    
+    
+    /**
+     * Retrieves a byte of the UTF-8 encoding of a code point.
+     
+     * @param codePoint         an int denoting a Unicode code point
+     * @param encodedLength     an int denoting the number of bytes {@code codePoint} is encoded with
+     * @param byteIndex         an int denoting the index of the desired byte in the encoding
+     * @return                  the char holding the byte at {@code byteIndex} in the encoding of {@code codePoint}
+     */
+    static char getEncodedByte(int codePoint, int encodedLength, int byteIndex)
+    {
+        int shiftedCodePoint = codePoint >> (6 * (encodedLength - 1 - byteIndex));
+        
+        if(byteIndex == 0)
+            return (char)(LEADING_BYTE_PREFIX_ARRAY[encodedLength] | shiftedCodePoint);
+        else
+            return (char)(0x80 | (shiftedCodePoint & 0x3F));
+    }
+    
+    
+    
+    /**
+     * Determines the number of bytes in an encoded code point from its leading byte.
+     
+     * @param leadingByte       an int denoting the (unsigned) value of the leading byte of an encoded code point
+     * @return                  an int denoting the number of bytes in the encoded code point,
+     *                          or -1 if {@code leadingByte} cannot begin one
+     */
+    static int getSequenceLength(int leadingByte)
+    {
+        if(leadingByte < 0x80)
+            return 1;
+        else if(leadingByte < 0xC0)
+            return -1;
+        else if(leadingByte < 0xE0)
+            return 2;
+        else if(leadingByte < 0xF0)
+            return 3;
+        else if(leadingByte < 0xF8)
+            return 4;
+        else
+            return -1;
+    }
+    
+    
+    
+    /**
+     * Decodes the code point at a given index in a byte array containing UTF-8 encoded text.
+     
+     * @param byteArray             a byte array containing UTF-8 encoded text
+     * @param index                 an int denoting the index in {@code byteArray} of the leading byte of the code point
+     * @param onePastEndIndex       an int denoting the index in {@code byteArray} that the encoded text ends before
+     * @return                      an int denoting the code point at {@code index}, or -1 if the bytes 
+     *                              from {@code index} are not a complete, well-formed encoded code point
+     */
+    static int decodeCodePoint(byte[] byteArray, int index, int onePastEndIndex)
+    {
+        int leadingByte = byteArray[index] & 0xFF;
+        int sequenceLength = getSequenceLength(leadingByte);
+        
+        if(sequenceLength == -1 || index + sequenceLength > onePastEndIndex)
+            return -1;
+        else if(sequenceLength == 1)
+            return leadingByte;
+        
+        int codePoint = leadingByte & (0x7F >> sequenceLength);
+        
+        //Append the payload bits of each of the continuation bytes to those of the leading byte
+        for(int i = 1; i < sequenceLength; i++)
+        {
+            int continuationByte = byteArray[index + i] & 0xFF;
+            
+            if((continuationByte & 0xC0) != 0x80)
+                return -1;
+            
+            codePoint = (codePoint << 6) | (continuationByte & 0x3F);
+        }
+        /////
+        
+        return (codePoint >= MIN_CODE_POINT_ARRAY[sequenceLength] && codePoint <= Character.MAX_CODE_POINT ? codePoint : -1);
+    }
+    
+    
+    
+    /**
+     * Encodes a String in to the sequence of labels which represents it in a UTF-8 encoded MDAG.
+     
+     * @param str       a CharSequence
+     * @return          a String containing the chars holding the bytes of the UTF-8 encoding of {@code str}
+     */
+    static String encode(CharSequence str)
+    {
+        int charCount = str.length();
+        StringBuilder labelStrBuilder = new StringBuilder(charCount + (charCount >> 1));
+        
+        //Append the bytes of the encoding of each code point in str
+        for(int i = 0; i < charCount;)
+        {
+            int codePoint = Character.codePointAt(str, i);
+            int encodedLength = getEncodedLength(codePoint);
+            
+            for(int j = 0; j < encodedLength; j++)
+                labelStrBuilder.append(getEncodedByte(codePoint, encodedLength, j));
+            
+            i += Character.charCount(codePoint);
+        }
+        /////
+        
+        return labelStrBuilder.toString();
+    }
+    
+    
+    
+    /**
+     * Decodes a sequence of labels from a UTF-8 encoded MDAG in to the chars of the String it represents.
+     * An incomplete encoded code point at the end of the sequence is ignored.
+     
+     * @param labelArray        a char array whose first {@code length} chars are the labels to be decoded
+     * @param length            an int denoting the number of labels to be decoded
+     * @param charArray         the char array that the decoded chars are to be placed in (from index 0), 
+     *                          which must be able to hold at least {@code length} chars
+     * @return                  an int denoting the number of decoded chars
+     */
+    static int decode(char[] labelArray, int length, char[] charArray)
+    {
+        int charCount = 0;
+        
+        //Decode the code point beginning at each leading byte, placing the chars representing it in charArray
+        for(int i = 0; i < length;)
+        {
+            int sequenceLength = getSequenceLength(labelArray[i]);
+            
+            if(sequenceLength == 1)
+                charArray[charCount++] = labelArray[i++];
+            else if(sequenceLength > 1 && i + sequenceLength <= length)
+            {
+                int codePoint = labelArray[i++] & (0x7F >> sequenceLength);
+                
+                for(int j = 1; j < sequenceLength; j++)
+                    codePoint = (codePoint << 6) | (labelArray[i++] & 0x3F);
+                
+                charCount += Character.toChars(codePoint, charArray, charCount);
+            }
+            else
+                break;
+        }
+        /////
+        
+        return charCount;
+    }
+    
+    
+    
+    /**
+     * Decodes a sequence of labels from a UTF-8 encoded MDAG in to the String it represents.
+     
+     * @param labelStr      a String containing the labels to be decoded
+     * @return              the String represented by {@code labelStr}
+     */
+    static String decode(String labelStr)
+    {
+        char[] charArray = new char[labelStr.length()];
+        return new String(charArray, 0, decode(labelStr.toCharArray(), charArray.length, charArray));
+    }
+}
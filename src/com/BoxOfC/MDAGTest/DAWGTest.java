@@ -22,17 +22,43 @@
 
 package com.BoxOfC.MDAGTest;
 
+import com.BoxOfC.MDAG.ConcurrentMDAG;
+import com.BoxOfC.MDAG.DeltaMDAG;
+import com.BoxOfC.MDAG.MDAGBuildListener;
+import com.BoxOfC.MDAG.MDAGBuildStatistics;
+import com.BoxOfC.MDAG.MDAGMemoryReport;
 import com.BoxOfC.MDAG.MDAGNode;
 import com.BoxOfC.MDAG.MDAG;
+import com.BoxOfC.MDAG.MDAGVisitor;
+import com.BoxOfC.MDAG.SimpleMDAGNode;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.PatternSyntaxException;
+import org.openjdk.jol.info.GraphLayout;
 import org.testng.annotations.BeforeGroups;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.BeforeTest;
@@ -55,11 +81,14 @@ public class DAWGTest
     public void initializer() throws FileNotFoundException, IOException
     {
         wordArrayList = new ArrayList<String>(100000);
-        BufferedReader breader = new BufferedReader(new FileReader(new File("C:\\Users\\Kevin\\Documents\\NetBeansProjects\\MDAGTest\\words.txt")));
+        BufferedReader breader = new BufferedReader(new FileReader(new File("words.txt")));
         String currentWord;
         
         while((currentWord = breader.readLine()) != null)
             wordArrayList.add(currentWord);
+        
+        //The empty String is a String like any other, and every query should treat it as such
+        wordArrayList.add("");
  
         
         //dawgA = new ReferenceMDAG(wordArrayList);
@@ -209,6 +238,177 @@ public class DAWGTest
         assert testDAWG.getTransitionCount() == controlTestDAWG.getTransitionCount();
     }
     
+    @Test(groups = {"dawgTypeB"})
+    public void removeStringsTest()
+    {
+        ArrayList<String> toBeRemovedWordArrayList = new ArrayList<String>();
+        TreeSet<String> controlWordTreeSet = new TreeSet<String>(wordArrayList);
+        Random random = new Random(0);
+        
+        for(String word : wordArrayList)
+        {
+            if(random.nextInt(3) == 0)
+            {
+                toBeRemovedWordArrayList.add(word);
+                controlWordTreeSet.remove(word);
+            }
+        }
+        
+        //Strings that aren't in the MDAG should be ignored
+        toBeRemovedWordArrayList.add("zqzq");
+        toBeRemovedWordArrayList.add(toBeRemovedWordArrayList.get(0));
+        Collections.shuffle(toBeRemovedWordArrayList, random);
+        
+        MDAG testDAWG = new MDAG(wordArrayList);
+        testDAWG.createSuffixIndex();
+        testDAWG.removeStrings(toBeRemovedWordArrayList);
+        
+        MDAG controlTestDAWG = new MDAG(new ArrayList<String>(controlWordTreeSet));
+        
+        assert testDAWG.getNodeCount() == controlTestDAWG.getNodeCount();
+        assert testDAWG.getEquivalenceClassCount() == controlTestDAWG.getEquivalenceClassCount();
+        assert testDAWG.getTransitionCount() == controlTestDAWG.getTransitionCount();
+        assert testDAWG.getAllStrings().equals(controlTestDAWG.getAllStrings());
+        assert testDAWG.getStringsEndingWith("ing").equals(controlTestDAWG.getStringsEndingWith("ing"));
+    }
+    
+    @Test(groups = {"dawgTypeB"})
+    public void buildStatisticsTest()
+    {
+        MDAGBuildStatistics buildStatistics = new MDAGBuildStatistics();
+        MDAG testDAWG = new MDAG(wordArrayList, buildStatistics);
+        
+        //Every node that misses in the register during incremental construction is registered, and every registered node remains in it
+        assert buildStatistics.getCreatedNodeCount() >= testDAWG.getEquivalenceClassCount();
+        assert buildStatistics.getRegisterMissCount() == buildStatistics.getRegisterAdditionCount();
+        assert buildStatistics.getRegisterAdditionCount() - buildStatistics.getRegisterRemovalCount() == testDAWG.getEquivalenceClassCount();
+        assert buildStatistics.getPhaseDurationNanos(MDAGBuildListener.Phase.MODIFICATION) > 0;
+        assert buildStatistics.getPhaseDurationNanos(MDAGBuildListener.Phase.MINIMIZATION) > 0;
+        
+        buildStatistics.reset();
+        testDAWG.removeStrings(wordArrayList.subList(0, 1000));
+        
+        //The nodes shared by the removed Strings and others are cloned or evicted and then minimized again
+        assert buildStatistics.getClonedNodeCount() > 0;
+        assert buildStatistics.getRegisterRemovalCount() > 0;
+        assert buildStatistics.getReregistrationCount() > 0 && buildStatistics.getReregistrationCount() <= buildStatistics.getRegisterRemovalCount();
+        assert buildStatistics.getFingerprintCalculationCount() >= buildStatistics.getRegisterHitCount() + buildStatistics.getRegisterMissCount();
+        
+        testDAWG.setBuildListener(null);
+        testDAWG.addStrings(wordArrayList.subList(0, 1000));
+        testDAWG.simplify();
+        assert buildStatistics.getCreatedNodeCount() == 0;
+        assert buildStatistics.getPhaseDurationNanos(MDAGBuildListener.Phase.SIMPLIFICATION) == 0;
+    }
+    
+    @Test
+    public void memoryReportTest()
+    {
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(new TreeSet<String>(wordArrayList));
+        
+        //A trie has one transition for each distinct non-empty prefix
+        HashSet<String> prefixHashSet = new HashSet<String>();
+        for(String word : sortedWordArrayList)
+        {
+            for(int i = 1; i <= word.length(); i++)
+                prefixHashSet.add(word.substring(0, i));
+        }
+        
+        MDAG testDAWG = new MDAG(sortedWordArrayList);
+        MDAGMemoryReport mutableMemoryReport = testDAWG.memoryReport();
+        
+        assert mutableMemoryReport.getNodeCount() == testDAWG.getEquivalenceClassCount() + 1;
+        assert mutableMemoryReport.getTransitionCount() == testDAWG.getTransitionCount();
+        assert mutableMemoryReport.getTrieTransitionCount() == prefixHashSet.size();
+        assert mutableMemoryReport.getSharingRatio() > 0 && mutableMemoryReport.getSharingRatio() < 1;
+        assert mutableMemoryReport.getRegisterBytes() > 0 && mutableMemoryReport.getIndexBytes() == 0;
+        assert mutableMemoryReport.getTotalBytes() == mutableMemoryReport.getGraphBytes() + mutableMemoryReport.getRegisterBytes() + mutableMemoryReport.getAuxiliaryBytes();
+        
+        //The estimates should be within 5% of the memory actually retained, as measured by walking the object graph (in whatever layout the JVM uses)
+        long mutableRetainedBytes = GraphLayout.parseInstance(testDAWG).totalSize();
+        assert Math.abs(mutableMemoryReport.getTotalBytes() - mutableRetainedBytes) <= mutableRetainedBytes / 20;
+        
+        testDAWG.createSuffixIndex();
+        testDAWG.simplify();
+        MDAGMemoryReport simplifiedMemoryReport = testDAWG.memoryReport();
+        
+        //Simplification lays out each transition in a byte (the rank of its label in the small alphabet) and two ints
+        assert simplifiedMemoryReport.getNodeCount() == mutableMemoryReport.getNodeCount();
+        assert simplifiedMemoryReport.getTrieTransitionCount() == mutableMemoryReport.getTrieTransitionCount();
+        assert simplifiedMemoryReport.getRegisterBytes() == 0 && simplifiedMemoryReport.getIndexBytes() > 0;
+        assert simplifiedMemoryReport.getGraphBytes() >= 9L * simplifiedMemoryReport.getTransitionCount();
+        assert simplifiedMemoryReport.getGraphBytes() < mutableMemoryReport.getGraphBytes();
+        
+        long simplifiedRetainedBytes = GraphLayout.parseInstance(testDAWG).totalSize();
+        assert Math.abs(simplifiedMemoryReport.getTotalBytes() - simplifiedRetainedBytes) <= simplifiedRetainedBytes / 20;
+    }
+    
+    @Test
+    public void nodeHashCodeTest()
+    {
+        MDAG testDAWG = new MDAG(Arrays.asList("ab", "cd", "cde"));
+        MDAGNode sourceNode = (MDAGNode)testDAWG.getSourceNode();
+        int initialHashCode = sourceNode.hashCode();
+        
+        //A node's cached hash code should follow the changes made to the graph reachable from it, so that it always agrees with equals()
+        testDAWG.addString("cf");
+        testDAWG.removeString("cde");
+        MDAGNode controlSourceNode = (MDAGNode)new MDAG(Arrays.asList("ab", "cd", "cf")).getSourceNode();
+        assert sourceNode.equals(controlSourceNode) && sourceNode.hashCode() == controlSourceNode.hashCode();
+        
+        testDAWG.addString("cde");
+        testDAWG.removeString("cf");
+        assert sourceNode.hashCode() == initialHashCode;
+        
+        //As should those of nodes changed directly
+        MDAGNode node = new MDAGNode(false);
+        int unchangedHashCode = node.hashCode();
+        node.setAcceptStateStatus(true);
+        assert node.hashCode() == new MDAGNode(true).hashCode() && node.hashCode() != unchangedHashCode;
+        
+        node.addOutgoingTransition('a', true);
+        MDAGNode controlNode = new MDAGNode(true);
+        controlNode.addOutgoingTransition('a', true);
+        assert node.equals(controlNode) && node.hashCode() == controlNode.hashCode();
+    }
+    
+    @Test(groups = {"dawgTypeB"})
+    public void applyBatchTest()
+    {
+        ArrayList<String> toBeAddedWordArrayList = new ArrayList<String>();
+        ArrayList<String> toBeRemovedWordArrayList = new ArrayList<String>();
+        TreeSet<String> controlWordTreeSet = new TreeSet<String>(wordArrayList);
+        Random random = new Random(1);
+        
+        for(String word : wordArrayList)
+        {
+            switch(random.nextInt(6))
+            {
+                case 0: toBeRemovedWordArrayList.add(word); break;
+                case 1: toBeAddedWordArrayList.add(word + "zq"); break;
+                case 2: toBeAddedWordArrayList.add(word.substring(0, word.length() / 2)); break;
+                case 3: toBeRemovedWordArrayList.add(word); toBeAddedWordArrayList.add(word); break;
+                default: break;
+            }
+        }
+        
+        controlWordTreeSet.removeAll(toBeRemovedWordArrayList);
+        controlWordTreeSet.addAll(toBeAddedWordArrayList);
+        Collections.shuffle(toBeAddedWordArrayList, random);
+        Collections.shuffle(toBeRemovedWordArrayList, random);
+        
+        MDAG testDAWG = new MDAG(wordArrayList);
+        testDAWG.applyBatch(toBeAddedWordArrayList, toBeRemovedWordArrayList);
+        
+        MDAG controlTestDAWG = new MDAG(new ArrayList<String>(controlWordTreeSet));
+        
+        assert testDAWG.getNodeCount() == controlTestDAWG.getNodeCount();
+        assert testDAWG.getEquivalenceClassCount() == controlTestDAWG.getEquivalenceClassCount();
+        assert testDAWG.getTransitionCount() == controlTestDAWG.getTransitionCount();
+        assert testDAWG.getAllStrings().equals(controlTestDAWG.getAllStrings());
+        assert testDAWG.size() == controlWordTreeSet.size();
+    }
+    
     
 
     
@@ -234,6 +434,394 @@ public class DAWGTest
         }
     }
     
+    @Test
+    public void parallelBuildTest()
+    {
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(wordArrayList);
+        Collections.sort(sortedWordArrayList);
+        
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        MDAG parallelDAWG = new MDAG(sortedWordArrayList, forkJoinPool);
+        forkJoinPool.shutdown();
+        
+        //The merged partitions should be as minimal as a sequentially built MDAG of the same Strings
+        assert parallelDAWG.getEquivalenceClassCount() == dawg1.getEquivalenceClassCount();
+        assert parallelDAWG.getTransitionCount() == dawg1.getTransitionCount();
+        assert parallelDAWG.getTransitionLabelSet().equals(dawg1.getTransitionLabelSet());
+        assert parallelDAWG.contains("");
+        
+        assert parallelDAWG.getAllStrings().equals(dawg1.getAllStrings());
+        
+        //The merged MDAG should remain modifiable
+        parallelDAWG.removeString(wordArrayList.get(0));
+        parallelDAWG.addString("zzzqqq");
+        assert !parallelDAWG.contains(wordArrayList.get(0));
+        assert parallelDAWG.contains("zzzqqq");
+    }
+    
+    @Test
+    public void pathCharsetLoadTest() throws IOException
+    {
+        File lexiconFile = File.createTempFile("lexicon", ".txt");
+        lexiconFile.deleteOnExit();
+        
+        //Lines terminated in every supported fashion, containing chars outside of ASCII, with the last one unterminated
+        FileOutputStream fileOutputStream = new FileOutputStream(lexiconFile);
+        fileOutputStream.write("apple\r\nbanana\rcaf\u00E9\n\n\u00FCber\nzebra".getBytes("UTF-8"));
+        fileOutputStream.close();
+        
+        MDAG utf8DAWG = new MDAG(lexiconFile.toPath(), Charset.forName("UTF-8"));
+        assert utf8DAWG.getAllStrings().equals(new HashSet<String>(Arrays.asList("apple", "banana", "caf\u00E9", "", "\u00FCber", "zebra")));
+        
+        //Building the parts of the MDAG concurrently shouldn't change how the file is split in to lines or decoded
+        MDAG parallelUTF8DAWG = new MDAG(lexiconFile.toPath(), Charset.forName("UTF-8"), ForkJoinPool.commonPool());
+        assert parallelUTF8DAWG.getAllStrings().equals(utf8DAWG.getAllStrings()) && parallelUTF8DAWG.contains("");
+        assert parallelUTF8DAWG.getTransitionCount() == utf8DAWG.getTransitionCount();
+        
+        //Each byte of the multi-byte UTF-8 chars is a separate char in Latin-1
+        MDAG latin1DAWG = new MDAG(lexiconFile.toPath(), Charset.forName("ISO-8859-1"));
+        assert latin1DAWG.contains(new String("caf\u00E9".getBytes("UTF-8"), "ISO-8859-1"));
+        assert latin1DAWG.getTransitionLabelSet().last() == '\u00C3';
+        
+        //The MDAG created from a file of the test lexicon should be identical to the one created from its Strings
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(wordArrayList);
+        Collections.sort(sortedWordArrayList);
+        
+        File wordFile = File.createTempFile("words", ".txt");
+        wordFile.deleteOnExit();
+        PrintWriter wordFilePrintWriter = new PrintWriter(wordFile, "US-ASCII");
+        for(String word : sortedWordArrayList)
+            wordFilePrintWriter.println(word);
+        wordFilePrintWriter.close();
+        
+        MDAG asciiDAWG = new MDAG(wordFile.toPath(), Charset.forName("US-ASCII"));
+        assert asciiDAWG.getEquivalenceClassCount() == dawg1.getEquivalenceClassCount();
+        assert asciiDAWG.getTransitionCount() == dawg1.getTransitionCount();
+    }
+    
+    @Test
+    public void emptyMDAGTest()
+    {
+        MDAG emptyMDAG = new MDAG(new ArrayList<String>());
+        assert emptyMDAG.getAllStrings().isEmpty();
+        assert !emptyMDAG.contains("");
+        
+        emptyMDAG.addString("");
+        emptyMDAG.addString("ab");
+        assert emptyMDAG.contains("");
+        assert emptyMDAG.contains("ab");
+        assert emptyMDAG.getTransitionCount() == 2;
+    }
+    
+    @Test
+    public void simpleMDAGArrayTest()
+    {
+        SimpleMDAGNode[] simpleMDAGArray = dawg2.getSimpleMDAGArray();
+        SimpleMDAGNode simplifiedSourceNode = (SimpleMDAGNode)dawg2.getSourceNode();
+        
+        assert simpleMDAGArray.length == dawg2.getTransitionCount();
+        
+        for(int i = 0; i < 100; i++)
+        {
+            SimpleMDAGNode targetNode = SimpleMDAGNode.traverseMDAG(simpleMDAGArray, simplifiedSourceNode, wordArrayList.get(i));
+            assert targetNode != null && targetNode.isAcceptNode();
+        }
+    }
+    
+    @Test
+    public void wideTransitionSetTest()
+    {
+        //Labels that are densely distributed (for dense transition tables) as well
+        //as those spread across a wide char range (for binary searched transition sets)
+        String denseLabelString = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+        String sparseLabelString = "\u0100\u0800\u1000\u2000\u3000\u4000\u5000\u6000\u7000\u8000\u9000\uA000";
+        
+        ArrayList<String> strArrayList = new ArrayList<String>();
+        for(int i = 0; i < denseLabelString.length(); i++)
+        {
+            for(int j = 0; j < denseLabelString.length(); j++)
+                strArrayList.add("" + denseLabelString.charAt(i) + denseLabelString.charAt(j));
+        }
+        
+        for(int i = 0; i < sparseLabelString.length(); i++)
+            strArrayList.add("~" + sparseLabelString.charAt(i));
+        
+        Collections.sort(strArrayList);
+        
+        MDAG wideMDAG = new MDAG(strArrayList);
+        wideMDAG.simplify();
+        
+        for(String str : strArrayList)
+            assert wideMDAG.contains(str) : "wideMDAG does not contain " + str;
+        
+        assert !wideMDAG.contains("!");
+        assert !wideMDAG.contains("a!");
+        assert !wideMDAG.contains("~\u0101");
+        assert !wideMDAG.contains("\uFFFF");
+        assert wideMDAG.getAllStrings().size() == strArrayList.size();
+    }
+    
+    @Test
+    public void saveLoadTest() throws IOException
+    {
+        File simplifiedMDAGFile = File.createTempFile("dawg2", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        
+        dawg2.save(simplifiedMDAGFile);
+        MDAG loadedDAWG = MDAG.load(simplifiedMDAGFile);
+        
+        assert loadedDAWG.getTransitionCount() == dawg2.getTransitionCount();
+        assert loadedDAWG.getTransitionLabelSet().equals(dawg2.getTransitionLabelSet());
+        assert loadedDAWG.getAllStrings().equals(dawg2.getAllStrings());
+        
+        for(int i = 0; i < 100; i++)
+            assert loadedDAWG.contains(wordArrayList.get(i));
+        
+        assert loadedDAWG.getStringsStartingWith("con").equals(dawg2.getStringsStartingWith("con"));
+    }
+    
+    @Test
+    public void utf8LabelEncodingTest() throws IOException
+    {
+        ArrayList<String> strArrayList = new ArrayList<String>(new TreeSet<String>(wordArrayList).headSet("c"));
+        strArrayList.addAll(Arrays.asList("", "na\u00EFve", "caf\u00E9", "\u65E5\u672C\u8A9E", "\u65E5\u672C", "\uD83D\uDE00", 
+                                          "\uD83D\uDE00x", "a\uD83D\uDE00b", "\uD840\uDC0B", "\uD800", "x\uDC00"));
+        Charset utf8Charset = Charset.forName("UTF-8");
+        
+        for(char letter = '\u4E00'; letter < '\u4F00'; letter++)
+            strArrayList.add("\u4E00" + letter);
+        
+        MDAG utf8DAWG = new MDAG(strArrayList, MDAG.LabelEncoding.UTF8);
+        MDAG utf16DAWG = new MDAG(strArrayList);
+        HashSet<String> controlStrHashSet = new HashSet<String>(strArrayList);
+        
+        assert utf8DAWG.getLabelEncoding() == MDAG.LabelEncoding.UTF8;
+        assert utf8DAWG.getTransitionLabelSet().last() <= '\u00FF';
+        assert utf8DAWG.size() == utf16DAWG.size();
+        assert utf8DAWG.getAllStrings().equals(controlStrHashSet);
+        
+        for(int i = 0; i < 3; i++)
+        {
+            //Each String should be found through every entry point, and its position should be that of its code points
+            for(String str : strArrayList)
+            {
+                assert utf8DAWG.contains(str) && utf8DAWG.contains(new StringBuilder(str)) : "utf8DAWG does not contain " + str;
+                assert utf8DAWG.stringAt(utf8DAWG.indexOf(str)).equals(str);
+                
+                byte[] strByteArray = str.getBytes(utf8Charset);
+                byte[] paddedStrByteArray = new byte[strByteArray.length + 4];
+                System.arraycopy(strByteArray, 0, paddedStrByteArray, 3, strByteArray.length);
+                
+                //Unpaired surrogates have no standard UTF-8 encoding
+                if(new String(strByteArray, utf8Charset).equals(str))
+                {
+                    assert utf8DAWG.contains(paddedStrByteArray, 3, strByteArray.length) : "utf8DAWG does not contain the bytes of " + str;
+                    assert utf16DAWG.contains(paddedStrByteArray, 3, strByteArray.length) : "utf16DAWG does not contain the bytes of " + str;
+                }
+            }
+            /////
+            
+            byte[] strByteArray = "\u65E5\u672C\u8A9E".getBytes(utf8Charset);
+            
+            assert !utf8DAWG.contains("\u65E5") && !utf8DAWG.contains("\uD83D") && !utf8DAWG.contains("\uDE00x");
+            assert !utf8DAWG.contains(strByteArray, 0, strByteArray.length - 1) && !utf16DAWG.contains(strByteArray, 0, strByteArray.length - 1);
+            assert !utf8DAWG.contains(new byte[]{(byte)0xFF, 'a'}, 0, 2) && !utf16DAWG.contains(new byte[]{(byte)0xC1, (byte)0x81}, 0, 2);
+            assert utf8DAWG.countStringsStartingWith("\u65E5\u672C") == 2;
+            assert utf8DAWG.countStringsWithSubstring("\uD83D\uDE00") == 3;
+            assert utf8DAWG.getStringsEndingWith("\u00E9").equals(utf16DAWG.getStringsEndingWith("\u00E9"));
+            assert utf8DAWG.getStringsWithSubstring("\uD83D\uDE00").equals(utf16DAWG.getStringsWithSubstring("\uD83D\uDE00"));
+            assert utf8DAWG.getStringsStartingWith("ab").equals(utf16DAWG.getStringsStartingWith("ab"));
+            
+            if(i == 0)
+            {
+                utf8DAWG.removeString("\u65E5\u672C");
+                assert !utf8DAWG.contains("\u65E5\u672C") && utf8DAWG.contains("\u65E5\u672C\u8A9E");
+                
+                utf8DAWG.addString("\u65E5\u672C");
+                utf8DAWG.createSuffixIndex();
+                utf8DAWG.createSubstringIndex();
+                utf8DAWG.simplify();
+                utf16DAWG.simplify();
+                
+                //The Strings contain more than 256 distinct chars, but no more than 256 bytes can label the transitions
+                //of a UTF-8 encoded MDAG, so only its labels are small enough to be stored in bytes once simplified
+                assert utf16DAWG.getTransitionLabelSet().size() > 256;
+                assert utf8DAWG.memoryReport().getGraphBytes() < utf16DAWG.memoryReport().getGraphBytes();
+            }
+            else if(i == 1)
+            {
+                File simplifiedMDAGFile = File.createTempFile("utf8DAWG", ".mdag");
+                simplifiedMDAGFile.deleteOnExit();
+                
+                utf8DAWG.save(simplifiedMDAGFile);
+                utf8DAWG = MDAG.load(simplifiedMDAGFile);
+                
+                assert utf8DAWG.getLabelEncoding() == MDAG.LabelEncoding.UTF8;
+                assert simplifiedMDAGFile.length() < utf8DAWG.getTransitionCount() * 10L;
+            }
+        }
+        /////
+        
+        try
+        {
+            utf8DAWG.getStringsWithinEditDistance("caf\u00E9", 1);
+            assert false;
+        }
+        catch(UnsupportedOperationException e) {}
+    }
+    
+    @Test
+    public void alphabetRemappingTest() throws IOException
+    {
+        ArrayList<String> sortedWordArrayList = new ArrayList<String>(new TreeSet<String>(wordArrayList));
+        MDAG smallAlphabetDAWG = new MDAG(sortedWordArrayList);
+        
+        //Strings over an alphabet of more than 256 chars, each of the first 300 of which labels a transition from a wide node
+        ArrayList<String> largeAlphabetStrArrayList = new ArrayList<String>();
+        for(char letter = '\u0100'; letter < '\u0100' + 300; letter++)
+        {
+            largeAlphabetStrArrayList.add("x" + letter);
+            largeAlphabetStrArrayList.add("y" + letter + letter);
+        }
+        
+        MDAG largeAlphabetDAWG = new MDAG(largeAlphabetStrArrayList);
+        
+        //Growing the alphabet of a master MDAG changes the ranks of its labels, so the next snapshot can't reuse the previous one's
+        MDAG firstSnapshotDAWG = smallAlphabetDAWG.snapshot();
+        smallAlphabetDAWG.addString("\u00C6sir");
+        smallAlphabetDAWG.addString("!");
+        MDAG secondSnapshotDAWG = smallAlphabetDAWG.snapshot();
+        
+        assert !firstSnapshotDAWG.contains("\u00C6sir") && secondSnapshotDAWG.contains("\u00C6sir") && secondSnapshotDAWG.contains("!");
+        assert secondSnapshotDAWG.getAllStrings().equals(smallAlphabetDAWG.getAllStrings());
+        
+        smallAlphabetDAWG.simplify();
+        largeAlphabetDAWG.simplify();
+        
+        File simplifiedMDAGFile = File.createTempFile("smallAlphabetDAWG", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        smallAlphabetDAWG.save(simplifiedMDAGFile);
+        
+        File largeAlphabetMDAGFile = File.createTempFile("largeAlphabetDAWG", ".mdag");
+        largeAlphabetMDAGFile.deleteOnExit();
+        largeAlphabetDAWG.save(largeAlphabetMDAGFile);
+        
+        //Small alphabets are stored as byte ranks (one byte per letter), large ones as chars
+        assert simplifiedMDAGFile.length() < 9L * (smallAlphabetDAWG.getTransitionCount() + 1) + 32 + 2 * 256 + 4 * smallAlphabetDAWG.getNodeCount();
+        assert largeAlphabetMDAGFile.length() >= 10L * (largeAlphabetDAWG.getTransitionCount() + 1);
+        
+        for(MDAG testDAWG : new MDAG[]{smallAlphabetDAWG, MDAG.load(simplifiedMDAGFile)})
+        {
+            for(String word : sortedWordArrayList)
+                assert testDAWG.contains(word) : "testDAWG does not contain " + word;
+            
+            assert testDAWG.contains("\u00C6sir") && testDAWG.contains("!");
+            assert !testDAWG.contains("\u4E00") && !testDAWG.contains("a\uFFFF") && !testDAWG.contains("con\u00C6");
+            assert testDAWG.getAllStrings().equals(secondSnapshotDAWG.getAllStrings());
+            assert testDAWG.indexOf("") == 0 && testDAWG.indexOf("!") == 1 && testDAWG.stringAt(2).equals(sortedWordArrayList.get(1));
+            assert testDAWG.getStringsStartingWith("con").equals(secondSnapshotDAWG.getStringsStartingWith("con"));
+        }
+        /////
+        
+        for(MDAG testDAWG : new MDAG[]{largeAlphabetDAWG, MDAG.load(largeAlphabetMDAGFile)})
+        {
+            for(String str : largeAlphabetStrArrayList)
+                assert testDAWG.contains(str) : "testDAWG does not contain " + str;
+            
+            assert !testDAWG.contains("x\u00FF") && !testDAWG.contains("x\u022C") && !testDAWG.contains("y\u0100\u0101");
+            assert testDAWG.getAllStrings().equals(new HashSet<String>(largeAlphabetStrArrayList));
+        }
+        /////
+    }
+    
+    @Test
+    public void incrementalCountTest() throws IOException
+    {
+        MDAG testDAWG = new MDAG(wordArrayList.subList(0, 20000));
+        TreeSet<String> controlWordTreeSet = new TreeSet<String>(wordArrayList.subList(0, 20000));
+        Random random = new Random(2);
+        
+        //The counts kept up to date by each kind of modification should match those of a traversal of the MDAG
+        for(int i = 0; i < 300; i++)
+        {
+            ArrayList<String> strArrayList = new ArrayList<String>();
+            for(int j = random.nextInt(20); j >= 0; j--)
+            {
+                String word = wordArrayList.get(random.nextInt(30000));
+                strArrayList.add(random.nextInt(4) == 0 ? word.substring(0, random.nextInt(word.length() + 1)) : word);
+            }
+            
+            switch(random.nextInt(4))
+            {
+                case 0: testDAWG.addString(strArrayList.get(0)); controlWordTreeSet.add(strArrayList.get(0)); break;
+                case 1: testDAWG.removeString(strArrayList.get(0)); controlWordTreeSet.remove(strArrayList.get(0)); break;
+                case 2: testDAWG.removeStrings(strArrayList); controlWordTreeSet.removeAll(strArrayList); break;
+                default: testDAWG.applyBatch(strArrayList.subList(1, strArrayList.size()), strArrayList.subList(0, 1)); 
+                         controlWordTreeSet.remove(strArrayList.get(0)); controlWordTreeSet.addAll(strArrayList.subList(1, strArrayList.size()));
+            }
+            
+            assert testDAWG.size() == controlWordTreeSet.size();
+            assert testDAWG.getNodeCount() == testDAWG.getEquivalenceClassCount();
+        }
+        
+        MDAG controlTestDAWG = new MDAG(new ArrayList<String>(controlWordTreeSet));
+        assert testDAWG.getNodeCount() == controlTestDAWG.getNodeCount();
+        assert testDAWG.getNodeCount() == testDAWG.memoryReport().getNodeCount() - 1;
+        assert testDAWG.getTransitionCount() == controlTestDAWG.getTransitionCount();
+        
+        MDAG parallelTestDAWG = new MDAG(controlWordTreeSet, ForkJoinPool.commonPool());
+        assert parallelTestDAWG.getNodeCount() == controlTestDAWG.getNodeCount();
+        assert parallelTestDAWG.size() == controlWordTreeSet.size();
+        
+        //The counts remain available once the MDAG has been simplified, and are recounted when it is loaded from a file
+        MDAG snapshotDAWG = testDAWG.snapshot();
+        testDAWG.simplify();
+        File simplifiedMDAGFile = File.createTempFile("countDAWG", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        testDAWG.save(simplifiedMDAGFile);
+        
+        for(MDAG simplifiedDAWG : new MDAG[]{testDAWG, snapshotDAWG, MDAG.load(simplifiedMDAGFile)})
+        {
+            assert simplifiedDAWG.getNodeCount() == controlTestDAWG.getNodeCount();
+            assert simplifiedDAWG.getEquivalenceClassCount() == controlTestDAWG.getNodeCount();
+            assert simplifiedDAWG.getStringCount() == controlWordTreeSet.size();
+            assert simplifiedDAWG.getTransitionCount() == controlTestDAWG.getTransitionCount();
+        }
+    }
+    
+    @Test(expectedExceptions = IOException.class)
+    public void loadCorruptFileTest() throws IOException
+    {
+        File simplifiedMDAGFile = File.createTempFile("dawg2", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        dawg2.save(simplifiedMDAGFile);
+        
+        RandomAccessFile randomAccessFile = new RandomAccessFile(simplifiedMDAGFile, "rw");
+        randomAccessFile.seek(simplifiedMDAGFile.length() / 2);
+        int corruptedByte = randomAccessFile.read() ^ 0xFF;
+        randomAccessFile.seek(simplifiedMDAGFile.length() / 2);
+        randomAccessFile.write(corruptedByte);
+        randomAccessFile.close();
+        
+        MDAG.load(simplifiedMDAGFile);
+    }
+    
+    @Test(expectedExceptions = IOException.class)
+    public void loadUnsupportedVersionFileTest() throws IOException
+    {
+        File simplifiedMDAGFile = File.createTempFile("dawg2", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        dawg2.save(simplifiedMDAGFile);
+        
+        //The format version follows the magic number, as a little-endian int
+        RandomAccessFile randomAccessFile = new RandomAccessFile(simplifiedMDAGFile, "rw");
+        randomAccessFile.seek(4);
+        randomAccessFile.write(2);
+        randomAccessFile.close();
+        
+        MDAG.load(simplifiedMDAGFile, false);
+    }
+    
     @DataProvider(name = "searchDP")
     public Object[][] searchDataProvider() 
     {
@@ -247,6 +835,7 @@ public class DAWGTest
                     {"inter"},
                     {"ton"},
                     {"tion"},
+                    {""},
                 };
     }
     
@@ -297,4 +886,580 @@ public class DAWGTest
         assert dawg1.getStringsEndingWith(suffixStr).equals(controlSet);
         assert dawg2.getStringsEndingWith(suffixStr).equals(controlSet);
     }
+    
+    
+    @Test
+    public void suffixIndexTest()
+    {
+        MDAG indexedDAWG = new MDAG(wordArrayList);
+        indexedDAWG.createSuffixIndex();
+        assert indexedDAWG.hasSuffixIndex();
+        
+        //The index should be kept up to date with the MDAG, and simplified along with it
+        indexedDAWG.removeString(wordArrayList.get(0));
+        indexedDAWG.addString("zzzation");
+        
+        HashSet<String> controlWordHashSet = new HashSet<String>(wordArrayList);
+        controlWordHashSet.remove(wordArrayList.get(0));
+        controlWordHashSet.add("zzzation");
+        
+        for(int i = 0; i < 2; i++)
+        {
+            for(Object[] suffixArray : searchDataProvider())
+            {
+                String suffixStr = (String)suffixArray[0];
+                HashSet<String> controlSet = new HashSet<String>();
+                
+                for(String str : controlWordHashSet)
+                {
+                    if(str.endsWith(suffixStr))
+                        controlSet.add(str);
+                }
+                
+                assert indexedDAWG.getStringsEndingWith(suffixStr).equals(controlSet);
+            }
+            
+            indexedDAWG.simplify();
+        }
+    }
+    
+    
+    @Test
+    public void substringIndexTest()
+    {
+        MDAG indexedDAWG = new MDAG(wordArrayList);
+        indexedDAWG.createSubstringIndex();
+        assert indexedDAWG.hasSubstringIndex();
+        
+        //The index should be kept up to date with the MDAG, and simplified along with it
+        indexedDAWG.removeString(wordArrayList.get(0));
+        indexedDAWG.addString("intertonation");
+        indexedDAWG.applyBatch(Arrays.asList("nonononon", "tattat"), wordArrayList.subList(1, 100));
+        
+        HashSet<String> controlWordHashSet = new HashSet<String>(wordArrayList.subList(100, wordArrayList.size()));
+        controlWordHashSet.addAll(Arrays.asList("intertonation", "nonononon", "tattat"));
+        
+        for(int i = 0; i < 2; i++)
+        {
+            for(Object[] substringArray : searchDataProvider())
+            {
+                String substringStr = (String)substringArray[0];
+                HashSet<String> controlSet = new HashSet<String>();
+                
+                for(String str : controlWordHashSet)
+                {
+                    if(str.contains(substringStr))
+                        controlSet.add(str);
+                }
+                
+                //Each String should only be handed over once, even if it contains substringStr multiple times
+                final ArrayList<String> visitedStrArrayList = new ArrayList<String>();
+                indexedDAWG.visitStringsWithSubstring(substringStr, new MDAGVisitor() {
+                    public boolean visit(char[] charArray, int length)
+                    {
+                        visitedStrArrayList.add(new String(charArray, 0, length));
+                        return true;
+                    }
+                });
+                
+                assert visitedStrArrayList.size() == controlSet.size();
+                assert new HashSet<String>(visitedStrArrayList).equals(controlSet);
+                assert indexedDAWG.countStringsWithSubstring(substringStr) == controlSet.size();
+            }
+            
+            indexedDAWG.simplify();
+        }
+    }
+    
+    
+    @Test(dataProvider = "searchDP")
+    public void visitStringsStartingWithTest(final String prefixStr)
+    {
+        final ArrayList<String> visitedStrArrayList = new ArrayList<String>();
+        
+        MDAGVisitor limitedVisitor = new MDAGVisitor() {
+            public boolean visit(char[] charArray, int length)
+            {
+                visitedStrArrayList.add(new String(charArray, 0, length));
+                return visitedStrArrayList.size() < 10;
+            }
+        };
+        
+        HashSet<String> controlSet = dawg1.getStringsStartingWith(prefixStr);
+        
+        //Both forms of the MDAG should hand over Strings in lexicographical order, stopping once the visitor requests it
+        for(MDAG dawg : new MDAG[]{dawg1, dawg2})
+        {
+            visitedStrArrayList.clear();
+            boolean completed = dawg.visitStringsStartingWith(prefixStr, limitedVisitor);
+            
+            assert completed == (controlSet.size() < 10);
+            assert visitedStrArrayList.size() == Math.min(10, controlSet.size());
+            assert controlSet.containsAll(visitedStrArrayList);
+            
+            ArrayList<String> sortedStrArrayList = new ArrayList<String>(visitedStrArrayList);
+            Collections.sort(sortedStrArrayList);
+            assert sortedStrArrayList.equals(visitedStrArrayList);
+        }
+    }
+    
+    
+    @Test
+    public void indexOfStringAtTest() throws IOException
+    {
+        MDAG indexedDAWG = new MDAG(wordArrayList);
+        
+        //The positions should remain consistent with the lexicographically ordered set of Strings as the MDAG is modified
+        indexedDAWG.stringAt(0);
+        indexedDAWG.removeString(wordArrayList.get(0));
+        indexedDAWG.addString("");
+        indexedDAWG.addString("intertonation");
+        
+        TreeSet<String> controlWordTreeSet = new TreeSet<String>(wordArrayList);
+        controlWordTreeSet.remove(wordArrayList.get(0));
+        controlWordTreeSet.add("");
+        controlWordTreeSet.add("intertonation");
+        ArrayList<String> controlWordArrayList = new ArrayList<String>(controlWordTreeSet);
+        
+        File simplifiedMDAGFile = File.createTempFile("indexed", ".mdag");
+        simplifiedMDAGFile.deleteOnExit();
+        
+        for(int i = 0; i < 3; i++)
+        {
+            for(int j = 0; j < controlWordArrayList.size(); j++)
+            {
+                assert indexedDAWG.stringAt(j).equals(controlWordArrayList.get(j));
+                assert indexedDAWG.indexOf(controlWordArrayList.get(j)) == j;
+            }
+            
+            assert indexedDAWG.indexOf(wordArrayList.get(0)) == -1;
+            assert indexedDAWG.indexOf("intertonationz") == -1;
+            
+            try
+            {
+                indexedDAWG.stringAt(controlWordArrayList.size());
+                assert false;
+            }
+            catch(IndexOutOfBoundsException e) {}
+            
+            if(i == 0)
+                indexedDAWG.simplify();
+            else if(i == 1)
+            {
+                indexedDAWG.save(simplifiedMDAGFile);
+                indexedDAWG = MDAG.load(simplifiedMDAGFile);
+            }
+        }
+    }
+    
+    
+    @Test(dataProvider = "searchDP")
+    public void countStringsTest(String searchStr)
+    {
+        MDAG indexedDAWG = new MDAG(wordArrayList);
+        indexedDAWG.createSuffixIndex();
+        
+        //The counts should equal the sizes of the corresponding result sets, with or without an index, in either form of the MDAG
+        for(MDAG dawg : new MDAG[]{dawg1, dawg2, indexedDAWG})
+        {
+            assert dawg.size() == dawg.getAllStrings().size();
+            assert dawg.countStringsStartingWith(searchStr) == dawg.getStringsStartingWith(searchStr).size();
+            assert dawg.countStringsEndingWith(searchStr) == dawg.getStringsEndingWith(searchStr).size();
+            assert dawg.countStringsWithSubstring(searchStr) == dawg.getStringsWithSubstring(searchStr).size();
+        }
+        
+        //Strings which can partially match themselves should be counted correctly
+        for(String str : new String[]{"ss", "ana", "abab", "zzzzzz"})
+        {
+            assert dawg1.countStringsEndingWith(str) == dawg1.getStringsEndingWith(str).size();
+            assert dawg2.countStringsWithSubstring(str) == dawg2.getStringsWithSubstring(str).size();
+        }
+    }
+    
+    
+    private static int calculateEditDistance(String str1, String str2)
+    {
+        int[][] distanceMatrix = new int[str1.length() + 1][str2.length() + 1];
+        
+        for(int i = 0; i <= str1.length(); i++)
+        {
+            for(int j = 0; j <= str2.length(); j++)
+            {
+                if(i == 0 || j == 0)
+                    distanceMatrix[i][j] = i + j;
+                else
+                {
+                    int substitutionDistance = distanceMatrix[i - 1][j - 1] + (str1.charAt(i - 1) == str2.charAt(j - 1) ? 0 : 1);
+                    distanceMatrix[i][j] = Math.min(substitutionDistance, Math.min(distanceMatrix[i - 1][j], distanceMatrix[i][j - 1]) + 1);
+                }
+            }
+        }
+        
+        return distanceMatrix[str1.length()][str2.length()];
+    }
+    
+    
+    @Test
+    public void getStringsWithinEditDistanceTest()
+    {
+        for(String queryStr : new String[]{"", "a", "hello", "wrld", "abstration", "ssss"})
+        {
+            for(int maxEditCount = 0; maxEditCount <= 2; maxEditCount++)
+            {
+                HashSet<String> controlSet = new HashSet<String>();
+                
+                for(String str : wordArrayList)
+                {
+                    if(calculateEditDistance(str, queryStr) <= maxEditCount)
+                        controlSet.add(str);
+                }
+                
+                assert dawg1.getStringsWithinEditDistance(queryStr, maxEditCount).equals(controlSet);
+                assert dawg2.getStringsWithinEditDistance(queryStr, maxEditCount).equals(controlSet);
+            }
+        }
+        
+        //The empty String is within an edit distance of any String no longer than it
+        MDAG emptyStringDAWG = new MDAG(Arrays.asList("", "a", "ab", "b"));
+        assert emptyStringDAWG.getStringsWithinEditDistance("a", 1).equals(new HashSet<String>(Arrays.asList("", "a", "ab", "b")));
+        assert emptyStringDAWG.getStringsWithinEditDistance("ab", 1).equals(new HashSet<String>(Arrays.asList("a", "ab", "b")));
+        emptyStringDAWG.simplify();
+        assert emptyStringDAWG.getStringsWithinEditDistance("", 0).equals(new HashSet<String>(Arrays.asList("")));
+    }
+    
+    
+    @DataProvider(name = "regexDP")
+    public Object[][] regexDataProvider()
+    {
+        return new Object[][] {{"c.t.*"}, {"[^aeiou]+"}, {"(ab|cd)[a-z]{2,4}s?"}, {"s(es|ss)*ion"}, {"\\w{3}[0-9]*"}, 
+                                {"re(con|de|ex){1,2}.*ing"}, {"(?:un)?[dt]o+.*"}, {"a{2,}.*"}, {".*(z|q)[^u].*"}, {""}};
+    }
+    
+    
+    @Test(dataProvider = "regexDP")
+    public void getStringsMatchingRegexTest(String regex)
+    {
+        HashSet<String> controlSet = new HashSet<String>();
+        
+        for(String str : wordArrayList)
+        {
+            if(str.matches(regex))
+                controlSet.add(str);
+        }
+        
+        assert dawg1.getStringsMatchingRegex(regex).equals(controlSet);
+        assert dawg2.getStringsMatchingRegex(regex).equals(controlSet);
+    }
+    
+    
+    @Test
+    public void getStringsMatchingWildcardTest()
+    {
+        String[][] wildcardRegexArray = {{"c?t*", "c.t.*"}, {"*tion", ".*tion"}, {"[!a-m]??", "[^a-m].."}, 
+                                            {"*a*e*i*o*u*", ".*a.*e.*i.*o.*u.*"}, {"\\*", "\\*"}, {"abc", "abc"}, {"*", ".*"}, {"", ""}};
+        
+        for(String[] wildcardRegex : wildcardRegexArray)
+        {
+            HashSet<String> controlSet = dawg1.getStringsMatchingRegex(wildcardRegex[1]);
+            
+            assert dawg1.getStringsMatchingWildcard(wildcardRegex[0]).equals(controlSet);
+            assert dawg2.getStringsMatchingWildcard(wildcardRegex[0]).equals(controlSet);
+        }
+        
+        assert dawg2.getStringsMatchingWildcard("*").equals(new HashSet<String>(wordArrayList));
+        
+        //The empty String matches the patterns which match an empty sequence of chars
+        MDAG emptyStringDAWG = new MDAG(Arrays.asList("", "a", "b"));
+        assert emptyStringDAWG.getStringsMatchingRegex("a?").equals(new HashSet<String>(Arrays.asList("", "a")));
+        assert emptyStringDAWG.getStringsMatchingWildcard("*").equals(new HashSet<String>(Arrays.asList("", "a", "b")));
+        emptyStringDAWG.simplify();
+        assert emptyStringDAWG.getStringsMatchingWildcard("?").equals(new HashSet<String>(Arrays.asList("a", "b")));
+        assert emptyStringDAWG.getStringsMatchingRegex("(a|b)*").equals(new HashSet<String>(Arrays.asList("", "a", "b")));
+        
+        for(String malformedPattern : new String[]{"[abc", "a{2", "(ab", "ab)", "*a", "[z-a]", "a\\"})
+        {
+            try
+            {
+                dawg1.getStringsMatchingRegex(malformedPattern);
+                assert false;
+            }
+            catch(PatternSyntaxException e) {}
+        }
+    }
+    
+    
+    @Test
+    public void largePatternTest() throws InterruptedException
+    {
+        StringBuilder nestedGroupRegexStringBuilder = new StringBuilder();
+        StringBuilder stackedQuantifierRegexStringBuilder = new StringBuilder("a");
+        for(int i = 0; i < 10000; i++)
+        {
+            nestedGroupRegexStringBuilder.insert(0, '(').append(')');
+            stackedQuantifierRegexStringBuilder.append('?');
+        }
+        /////
+        
+        //Patterns too large or nested too deeply to be processed should be rejected rather than overflow the stack
+        for(String oversizedPattern : new String[]{"((a?){700}){700}", nestedGroupRegexStringBuilder.toString(), stackedQuantifierRegexStringBuilder.toString()})
+        {
+            try
+            {
+                dawg1.getStringsMatchingRegex(oversizedPattern);
+                assert false;
+            }
+            catch(PatternSyntaxException e) {}
+        }
+        /////
+        
+        //A pattern within the limits should be matchable on a thread with a small stack, despite its long chains of states that don't consume a char
+        final MDAG aDAWG = new MDAG(Arrays.asList("", "a", "aaaa", "ab", "b"));
+        final AtomicBoolean hasMatched = new AtomicBoolean(false);
+        Thread matchingThread = new Thread(null, new Runnable() {
+            public void run()
+            {
+                hasMatched.set(aDAWG.getStringsMatchingRegex("((a?){100}){300}").equals(new HashSet<String>(Arrays.asList("", "a", "aaaa"))));
+            }
+        }, "matchingThread", 1 << 18);
+        
+        matchingThread.start();
+        matchingThread.join();
+        assert hasMatched.get();
+    }
+    
+    
+    @Test
+    public void snapshotTest()
+    {
+        MDAG masterDAWG = new MDAG(wordArrayList);
+        masterDAWG.createSuffixIndex();
+        MDAG snapshotDAWG = masterDAWG.snapshot();
+        
+        //The master should remain modifiable, and modifications to it should not affect the snapshot
+        masterDAWG.removeString(wordArrayList.get(0));
+        masterDAWG.addString("intertonation");
+        MDAG secondSnapshotDAWG = masterDAWG.snapshot();
+        
+        assert snapshotDAWG.getAllStrings().equals(new HashSet<String>(wordArrayList));
+        assert snapshotDAWG.getStringsEndingWith("tion").equals(new MDAG(wordArrayList).getStringsEndingWith("tion"));
+        assert !secondSnapshotDAWG.contains(wordArrayList.get(0)) && secondSnapshotDAWG.contains("intertonation");
+        assert secondSnapshotDAWG.getAllStrings().equals(masterDAWG.getAllStrings());
+        assert secondSnapshotDAWG.getTransitionCount() == masterDAWG.getTransitionCount();
+        assert secondSnapshotDAWG.snapshot() == secondSnapshotDAWG;
+    }
+    
+    
+    @Test
+    public void incrementalSnapshotTest()
+    {
+        MDAG masterDAWG = new MDAG(wordArrayList);
+        HashSet<String> controlWordHashSet = new HashSet<String>(wordArrayList);
+        
+        MDAG firstSnapshotDAWG = masterDAWG.snapshot();
+        Random random = new Random(0);
+        
+        //Each snapshot should reflect all the changes made to the master before it, and be unaffected by those after it
+        for(int i = 0; i < 20; i++)
+        {
+            for(int j = 0; j < 500; j++)
+            {
+                String str = wordArrayList.get(random.nextInt(wordArrayList.size()));
+                
+                if(random.nextBoolean() && controlWordHashSet.contains(str))
+                {
+                    masterDAWG.removeString(str);
+                    controlWordHashSet.remove(str);
+                }
+                else
+                {
+                    masterDAWG.addString(str + "zq");
+                    controlWordHashSet.add(str + "zq");
+                }
+            }
+            
+            MDAG snapshotDAWG = masterDAWG.snapshot();
+            
+            assert snapshotDAWG.getAllStrings().equals(controlWordHashSet);
+            assert snapshotDAWG.size() == controlWordHashSet.size();
+            assert snapshotDAWG.getTransitionCount() == masterDAWG.getTransitionCount();
+            assert snapshotDAWG.getStringsStartingWith("con").equals(masterDAWG.getStringsStartingWith("con"));
+        }
+        /////
+        
+        assert firstSnapshotDAWG.getAllStrings().equals(new HashSet<String>(wordArrayList));
+        
+        masterDAWG.simplify();
+        assert masterDAWG.getAllStrings().equals(controlWordHashSet);
+    }
+    
+    
+    @Test
+    public void concurrentMDAGTest() throws InterruptedException
+    {
+        final ConcurrentMDAG concurrentDAWG = new ConcurrentMDAG(wordArrayList.subList(0, wordArrayList.size() / 2));
+        final List<String> addedStrList = wordArrayList.subList(wordArrayList.size() / 2, wordArrayList.size());
+        final AtomicBoolean hasFailed = new AtomicBoolean(false);
+        final AtomicInteger publishedAddedStrCount = new AtomicInteger(0);
+        
+        //Readers should always see a complete, consistent snapshot while the writer adds and publishes Strings
+        Thread[] readerThreadArray = new Thread[4];
+        for(int i = 0; i < readerThreadArray.length; i++)
+        {
+            readerThreadArray[i] = new Thread(new Runnable() {
+                public void run()
+                {
+                    while(publishedAddedStrCount.get() < addedStrList.size() && !hasFailed.get())
+                    {
+                        int minAddedStrCount = publishedAddedStrCount.get();
+                        MDAG publishedDAWG = concurrentDAWG.getPublishedMDAG();
+                        
+                        if(publishedDAWG.size() < wordArrayList.size() / 2 + minAddedStrCount 
+                            || (minAddedStrCount > 0 && !concurrentDAWG.contains(addedStrList.get(minAddedStrCount - 1))))
+                            hasFailed.set(true);
+                    }
+                }
+            });
+            readerThreadArray[i].start();
+        }
+        /////
+        
+        for(int i = 0; i < addedStrList.size(); i += 1000)
+        {
+            int onePastEndIndex = Math.min(i + 1000, addedStrList.size());
+            
+            concurrentDAWG.addStrings(addedStrList.subList(i, onePastEndIndex));
+            concurrentDAWG.publish();
+            publishedAddedStrCount.set(onePastEndIndex);
+        }
+        
+        for(Thread readerThread : readerThreadArray)
+            readerThread.join();
+        
+        assert !hasFailed.get();
+        assert concurrentDAWG.getPublishedMDAG().getAllStrings().equals(new HashSet<String>(wordArrayList));
+    }
+    
+    
+    @Test
+    public void deltaMDAGTest() throws InterruptedException
+    {
+        ExecutorService compactionExecutorService = Executors.newSingleThreadExecutor();
+        Executor rejectingExecutor = new Executor() {
+            public void execute(Runnable command)
+            {
+                throw new RejectedExecutionException();
+            }
+        };
+        
+        //The Strings in a DeltaMDAG should always be those in its base plus those added to and minus those removed from it,
+        //regardless of whether its delta is compacted on the modifying thread or in the background
+        for(Executor compactionExecutor : new Executor[]{null, compactionExecutorService, rejectingExecutor})
+        {
+            DeltaMDAG deltaDAWG = new DeltaMDAG(new MDAG(wordArrayList), 300, compactionExecutor);
+            HashSet<String> controlWordHashSet = new HashSet<String>(wordArrayList);
+            Random random = new Random(0);
+            
+            for(int i = 0; i < 2000; i++)
+            {
+                String str = wordArrayList.get(random.nextInt(2000)) + (random.nextBoolean() ? "" : "zq");
+                
+                if(random.nextBoolean())
+                {
+                    deltaDAWG.addString(str);
+                    controlWordHashSet.add(str);
+                }
+                else
+                {
+                    deltaDAWG.removeString(str);
+                    controlWordHashSet.remove(str);
+                }
+                
+                assert deltaDAWG.contains(str) == controlWordHashSet.contains(str);
+            }
+            
+            HashSet<String> controlPrefixSet = new HashSet<String>();
+            for(String str : controlWordHashSet)
+            {
+                if(str.startsWith("ab"))
+                    controlPrefixSet.add(str);
+            }
+            
+            assert deltaDAWG.size() == controlWordHashSet.size();
+            assert deltaDAWG.getAllStrings().equals(controlWordHashSet);
+            assert deltaDAWG.getStringsStartingWith("ab").equals(controlPrefixSet);
+            assert deltaDAWG.countStringsStartingWith("ab") == controlPrefixSet.size();
+            
+            //Wait for any background compaction to finish, so that compact() isn't a no-op
+            if(compactionExecutor == compactionExecutorService)
+            {
+                compactionExecutorService.shutdown();
+                assert compactionExecutorService.awaitTermination(1, TimeUnit.MINUTES);
+                assert deltaDAWG.getAllStrings().equals(controlWordHashSet);
+            }
+            
+            deltaDAWG.compact();
+            assert deltaDAWG.getDeltaSize() == 0;
+            assert deltaDAWG.getAllStrings().equals(controlWordHashSet);
+        }
+        /////
+        
+        //Hold the background compaction back until the modifications made while it is in progress have been made
+        final CountDownLatch compactionGateLatch = new CountDownLatch(1);
+        final ExecutorService gatedExecutorService = Executors.newSingleThreadExecutor();
+        Executor gatedExecutor = new Executor() {
+            public void execute(final Runnable command)
+            {
+                gatedExecutorService.execute(new Runnable() {
+                    public void run()
+                    {
+                        try
+                        {
+                            compactionGateLatch.await();
+                        }
+                        catch(InterruptedException e)
+                        {
+                            Thread.currentThread().interrupt();
+                        }
+                        
+                        command.run();
+                    }
+                });
+            }
+        };
+        
+        DeltaMDAG deltaDAWG = new DeltaMDAG(new MDAG(wordArrayList), 100, gatedExecutor);
+        HashSet<String> controlWordHashSet = new HashSet<String>(wordArrayList);
+        
+        //The 100th addition starts the compaction
+        for(int i = 0; i < 100; i++)
+        {
+            deltaDAWG.addString(wordArrayList.get(i) + "zq");
+            controlWordHashSet.add(wordArrayList.get(i) + "zq");
+        }
+        /////
+        
+        //Enough modifications arrive during the compaction for the delta of the new base to reach the threshold as soon as they are made to it
+        for(int i = 0; i < 150; i++)
+        {
+            deltaDAWG.addString(wordArrayList.get(i) + "qz");
+            deltaDAWG.removeString(wordArrayList.get(i));
+            deltaDAWG.removeString(wordArrayList.get(i) + "zq");
+            controlWordHashSet.add(wordArrayList.get(i) + "qz");
+            controlWordHashSet.remove(wordArrayList.get(i));
+            controlWordHashSet.remove(wordArrayList.get(i) + "zq");
+        }
+        /////
+        
+        assert deltaDAWG.getAllStrings().equals(controlWordHashSet);
+        
+        //The compaction started once the modifications have been made to the new base's delta is rejected by the shut
+        //down Executor, and so is carried out on the thread which completed the first one
+        gatedExecutorService.shutdown();
+        compactionGateLatch.countDown();
+        assert gatedExecutorService.awaitTermination(1, TimeUnit.MINUTES);
+        
+        assert deltaDAWG.getDeltaSize() == 0;
+        assert deltaDAWG.size() == controlWordHashSet.size();
+        assert deltaDAWG.getAllStrings().equals(controlWordHashSet);
+    }
 }